@@ -290,6 +290,65 @@ export async function markAllNotificationsAsRead(userId) {
   return response.json();
 }
 
+/**
+ * Subscribe to new notifications, AI recommendations and unread counts (Server-Sent Events)
+ * EventSource cannot send headers, so the Firebase token goes in the access_token parameter.
+ * The browser reconnects on its own (sending Last-Event-ID); if the server refuses the
+ * connection, e.g. once the token has expired, the stream is reopened with a fresh token.
+ * @param {number} userId - User ID
+ * @param {Object} handlers - onNotification, onRecommendation, onUnreadCount and onReopen callbacks
+ * @returns {Function} Closes the stream
+ */
+export function openNotificationStream(userId, handlers = {}) {
+  let eventSource = null;
+  let reopenTimer = null;
+  let closed = false;
+
+  const parse = (listener) => (event) => {
+    try {
+      listener?.(JSON.parse(event.data));
+    } catch (error) {
+      console.error('Error parsing notification stream event:', error, event.data);
+    }
+  };
+
+  const open = async (reopened) => {
+    let authToken = null;
+    try {
+      authToken = await auth.currentUser?.getIdToken();
+    } catch (error) {
+      console.error('Error getting Firebase token:', error);
+    }
+    if (closed) return;
+
+    const query = authToken ? `?access_token=${encodeURIComponent(authToken)}` : "";
+    eventSource = new EventSource(
+      `${API_BASE_URL}/api/achievements/notifications/${userId}/stream${query}`
+    );
+    eventSource.addEventListener("notification", parse(handlers.onNotification));
+    eventSource.addEventListener("recommendation", parse(handlers.onRecommendation));
+    eventSource.addEventListener("unread-count", parse(handlers.onUnreadCount));
+    eventSource.onerror = () => {
+      // CONNECTING means the browser is already retrying; CLOSED means it gave up
+      if (eventSource.readyState === EventSource.CLOSED && !closed) {
+        reopenTimer = setTimeout(() => open(true), 5000);
+      }
+    };
+    if (reopened) {
+      // Events sent while the stream was closed are not replayed
+      handlers.onReopen?.();
+    }
+  };
+
+  open(false);
+
+  return () => {
+    closed = true;
+    clearTimeout(reopenTimer);
+    eventSource?.close();
+  };
+}
+
 // ========================================
 // ACADEMIC GOALS
 // ========================================
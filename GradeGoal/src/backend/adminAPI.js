@@ -169,13 +169,20 @@ export async function deleteUserAccount(userId) {
 // ========================================
 
 /**
- * Get all courses (admin only)
- * @returns {Promise<Array>} Array of all courses
+ * Get one page of courses (admin only), newest first
+ * Pass the returned nextCursor to load the following page; it is null on the last page
+ * @param {string|null} cursor - Cursor of the page to load, or null for the first page
+ * @param {number} limit - Page size
+ * @returns {Promise<{courses: Array, nextCursor: string|null}>} Courses of the page and the next cursor
  */
-export async function getAllCourses() {
+export async function getCoursesPage(cursor = null, limit = 100) {
   const headers = await getAuthHeaders();
-  
-  const response = await fetch(`${API_BASE_URL}/api/courses/all`, {
+  const params = new URLSearchParams({ sortBy: "createdAt", limit: String(limit) });
+  if (cursor) {
+    params.set("cursor", cursor);
+  }
+
+  const response = await fetch(`${API_BASE_URL}/api/courses/all?${params}`, {
     method: "GET",
     headers,
   });
@@ -185,6 +192,29 @@ export async function getAllCourses() {
     throw new Error(text || `Failed to fetch courses with status ${response.status}`);
   }
 
+  return {
+    courses: await response.json(),
+    nextCursor: response.headers.get("X-Next-Cursor"),
+  };
+}
+
+/**
+ * Get course totals across all courses (admin only), aggregated by the server
+ * @returns {Promise<Object>} Total, active and archived course counts and the average course grade
+ */
+export async function getCourseStatistics() {
+  const headers = await getAuthHeaders();
+
+  const response = await fetch(`${API_BASE_URL}/api/courses/statistics`, {
+    method: "GET",
+    headers,
+  });
+
+  if (!response.ok) {
+    const text = await response.text().catch(() => "");
+    throw new Error(text || `Failed to fetch course statistics with status ${response.status}`);
+  }
+
   return response.json();
 }
 
@@ -211,16 +241,20 @@ export async function getAssessmentsByCategoryId(categoryId) {
 }
 
 /**
- * Get admin dashboard data
- * @returns {Promise<Object>} Dashboard data including users, courses, and statistics
+ * Get admin dashboard data with one page of courses
+ * Call again with the returned nextCursor to load the next page of courses
+ * @param {string|null} cursor - Cursor of the course page to load, or null for the first page
+ * @returns {Promise<Object>} Dashboard data including users, courses, statistics and nextCursor
  */
-export async function getAdminDashboardData() {
+export async function getAdminDashboardData(cursor = null) {
   try {
     // Fetch all data in parallel
-    const [users, courses] = await Promise.all([
+    const [users, coursePage, courseStatistics] = await Promise.all([
       getAllUsers(),
-      getAllCourses()
+      getCoursesPage(cursor),
+      getCourseStatistics()
     ]);
+    const courses = coursePage.courses;
 
     // Process users data (exclude admin users)
     const processedUsers = {};
@@ -336,16 +370,11 @@ export async function getAdminDashboardData() {
     // Calculate overall statistics (exclude admin users)
     const nonAdminUsers = users.filter(user => user.role !== 'ADMIN');
     
-    // Calculate average completion from courses
-    const coursesWithGrades = courses.filter(course => course.calculatedCourseGrade != null);
-    const averageCompletion = coursesWithGrades.length > 0 
-      ? coursesWithGrades.reduce((sum, course) => sum + getNumericGrade(course.calculatedCourseGrade), 0) / coursesWithGrades.length
-      : 0;
-    
+    // Totals cover every course, not just the loaded page
     const overallStats = {
       students: nonAdminUsers.length,
-      courses: courses.length,
-      completions: `${Math.round(averageCompletion)}%`
+      courses: courseStatistics.totalCourses,
+      completions: `${Math.round(courseStatistics.averageCompletion || 0)}%`
     };
 
     // Generate recent activity (exclude admin users)
@@ -360,7 +389,8 @@ export async function getAdminDashboardData() {
       recentActivity,
       historyRecords: recentActivity, // Same as recent activity for now
       students: processedUsers,
-      courses: processedCourses
+      courses: processedCourses,
+      nextCursor: coursePage.nextCursor
     };
   } catch (error) {
     console.error('Error fetching admin dashboard data:', error);
@@ -162,6 +162,29 @@ export async function getAIRecommendationsForCourse(userId, courseId) {
   return response.json();
 }
 
+/**
+ * Get a single recommendation with its full content
+ * @param {number} recommendationId - Recommendation ID
+ * @returns {Promise<Object>} Recommendation data
+ */
+export async function getRecommendation(recommendationId) {
+  const headers = await getAuthHeaders();
+  
+  const response = await fetch(`${API_BASE_URL}/api/recommendations/${recommendationId}`, {
+    method: "GET",
+    headers,
+  });
+  
+  if (!response.ok) {
+    const text = await response.text().catch(() => "");
+    throw new Error(
+      text || `Failed to get recommendation with status ${response.status}`
+    );
+  }
+  
+  return response.json();
+}
+
 /**
  * Mark recommendation as read
  * @param {number} recommendationId - Recommendation ID
@@ -77,6 +77,7 @@ export {
   getUnreadCount,
   markNotificationAsRead,
   markAllNotificationsAsRead,
+  openNotificationStream,
   createAcademicGoal,
   getAcademicGoalsByUserId,
   getAcademicGoalsByCourse,
@@ -97,6 +98,7 @@ export {
   saveAIAnalysis,
   getAIRecommendations,
   getAIRecommendationsForCourse,
+  getRecommendation,
   markRecommendationAsRead,
   dismissRecommendation,
   getAIAnalysis,
@@ -114,7 +116,8 @@ export {
   updateUserProfileAdmin,
   updateUserAccountStatus,
   deleteUserAccount,
-  getAllCourses,
+  getCoursesPage,
+  getCourseStatistics,
   getAdminDashboardData,
   getAssessmentsByCategoryId,
   sendNotificationToUser,
@@ -121,7 +121,7 @@ export async function updateCourse(id, courseData) {
 /**
  * Delete course
  * @param {number} id - Course ID
- * @returns {Promise<boolean>} True if deleted successfully
+ * @returns {Promise<Object>} Deletion result with the rows deleted per table (deletedRows)
  */
 export async function deleteCourse(id) {
   console.log('🗑️ [API] Attempting to delete course with id:', id);
@@ -150,8 +150,9 @@ export async function deleteCourse(id) {
     }
   }
   
-  console.log('🗑️ [API] Course deleted successfully');
-  return true;
+  const result = await response.json();
+  console.log('🗑️ [API] Course deleted successfully:', result.deletedRows);
+  return result;
 }
 
 // ========================================
@@ -131,14 +131,19 @@ const Overview = () => {
       }
       
       const headers = await getAuthHeaders();
-      const response = await fetch(`http://localhost:8080/api/admin/export/system-overview?${params.toString()}`, { headers });
+      const response = await fetch(`http://localhost:8080/api/admin/export/system-overview?${params.toString()}`, {
+        method: 'POST',
+        headers
+      });
       
       if (!response.ok) {
         const errorText = await response.text();
         throw new Error(`Failed to export system overview: ${errorText}`);
       }
       
-      const data = await response.json();
+      // The report is generated in the background; wait for the export job to finish
+      const { exportId } = await response.json();
+      const data = await waitForExport(exportId, adminUserId, headers);
       
       // Generate and download PDF
       await generateAndDownloadPDF(data);
@@ -152,6 +157,29 @@ const Overview = () => {
     }
   };
 
+  const waitForExport = async (exportId, userId, headers) => {
+    const baseUrl = `http://localhost:8080/api/exports/${exportId}`;
+    for (let attempt = 0; attempt < 120; attempt++) {
+      const statusResponse = await fetch(`${baseUrl}?userId=${userId}`, { headers });
+      if (!statusResponse.ok) {
+        throw new Error(`Failed to check export status (${statusResponse.status})`);
+      }
+      const { status } = await statusResponse.json();
+      if (status === 'COMPLETED') {
+        const fileResponse = await fetch(`${baseUrl}/download?userId=${userId}`, { headers });
+        if (!fileResponse.ok) {
+          throw new Error(`Failed to download export (${fileResponse.status})`);
+        }
+        return fileResponse.json();
+      }
+      if (status === 'FAILED') {
+        throw new Error('The export job failed');
+      }
+      await new Promise((resolve) => setTimeout(resolve, 1000));
+    }
+    throw new Error('Timed out waiting for the export');
+  };
+
   const generateAndDownloadPDF = async (data) => {
     // Create a comprehensive HTML document
     const htmlContent = generateHTMLReport(data);
@@ -1,4 +1,4 @@
-import { saveAIAnalysis, getAIRecommendationsForCourse, markRecommendationAsRead, dismissRecommendation } from "../../../backend/api";
+import { saveAIAnalysis, getAIRecommendationsForCourse, getRecommendation, markRecommendationAsRead, dismissRecommendation } from "../../../backend/api";
 /**
  * Save AI analysis data to recommendations table
  */
@@ -62,8 +62,12 @@ export const loadAIAnalysisFromDatabase = async (userId, courseId) => {
     const response = await getAIRecommendationsForCourse(userId, courseId);
     
     if (response.success && response.recommendations && response.recommendations.length > 0) {
-      // Get the most recent AI analysis recommendation
-      const latestRecommendation = response.recommendations[0];
+      // The list only carries summaries; load the content of the top one
+      const detail = await getRecommendation(response.recommendations[0].recommendationId);
+      if (!detail.success || !detail.recommendation) {
+        return null;
+      }
+      const latestRecommendation = detail.recommendation;
       
       const analysisData = {
         userId: latestRecommendation.userId,
@@ -3,6 +3,7 @@ import { FaBell, FaTimes, FaTrophy, FaCheckCircle } from "react-icons/fa";
 import { motion, AnimatePresence } from "framer-motion";
 import { useAchievementNotifications } from "../context/AchievementContext";
 import { auth } from "../../backend/firebase";
+import { openNotificationStream } from "../../backend/api";
 const NotificationBell = ({ userId }) => {
   const [notifications, setNotifications] = useState([]);
   const [unreadCount, setUnreadCount] = useState(0);
@@ -232,18 +233,49 @@ const NotificationBell = ({ userId }) => {
     return () => document.removeEventListener('mousedown', handleClickOutside);
   }, []);
 
-  // Fetch notifications on mount and periodically
+  // Fetch notifications on mount, then receive new ones and unread counts from the stream
   useEffect(() => {
-    if (userId) {
-      fetchNotifications();
-      fetchUnreadCount();
+    if (!userId) return;
+
+    fetchNotifications();
+    fetchUnreadCount();
+
+    if (typeof EventSource === "undefined") {
+      // No Server-Sent Events support: fall back to polling
+      const interval = setInterval(() => {
+        fetchNotifications();
+        fetchUnreadCount();
+      }, fastPolling ? 5000 : 30000); // Fast polling (5s) or normal polling (30s)
+      return () => clearInterval(interval);
     }
-    
-    const interval = setInterval(() => {
-      fetchNotifications(); // Use fetchNotifications instead of just fetchUnreadCount
-      fetchUnreadCount();
-    }, fastPolling ? 5000 : 30000); // Fast polling (5s) or normal polling (30s)
-    return () => clearInterval(interval);
+
+    const closeStream = openNotificationStream(userId, {
+      onNotification: (notification) => {
+        setNotifications(prev => prev.some(n => n.notificationId === notification.notificationId)
+          ? prev
+          : [notification, ...prev]);
+        previousNotificationCountRef.current += 1;
+        if (notification.notificationType === 'ACHIEVEMENT' && notification.actionData && !notification.isRead) {
+          try {
+            const actionData = JSON.parse(notification.actionData);
+            showAchievementNotification({
+              achievementId: actionData.achievementId,
+              achievementName: actionData.achievementName,
+              description: notification.message.replace(`You earned '${actionData.achievementName}' - `, ''),
+              pointsValue: actionData.points,
+              rarity: actionData.rarity,
+              category: actionData.category
+            });
+          } catch (error) {
+            console.error('Error parsing achievement notification:', error, notification);
+          }
+        }
+      },
+      onUnreadCount: (counts) => setUnreadCount(counts.notifications),
+      // Pick up whatever arrived while the stream was down
+      onReopen: fetchNotifications,
+    });
+    return closeStream;
   }, [userId]);
 
   // Toggle dropdown
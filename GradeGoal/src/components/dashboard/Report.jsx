@@ -155,18 +155,19 @@ const Report = () => {
       const fileName = `GradeGoal_Report_${Date.now()}.pdf`;
       pdf.save(fileName);
 
-      // Optional logging
+      // Upload the PDF as a raw body so the server can stream it to disk
       const headers = await getAuthHeaders();
-      await axios.post("http://localhost:8080/api/exports/log", {
-        userId: currentUser.userId,
-        exportType: "PDF_REPORT",
-        fileName,
-        filePath: `/exports/${fileName}`,
-        exportParameters: JSON.stringify(exportParams),
-        createdAt,
-        completedAt,
-        expiresAt,
-      }, { headers });
+      await axios.post("http://localhost:8080/api/exports/upload", pdf.output("blob"), {
+        headers: { ...headers, "Content-Type": "application/pdf" },
+        params: {
+          userId: currentUser.userId,
+          exportType: "PDF_REPORT",
+          fileName,
+          exportParameters: JSON.stringify(exportParams),
+          createdAt,
+          expiresAt,
+        },
+      });
 
       alert("✅ Report exported and logged successfully!");
     } catch (error) {
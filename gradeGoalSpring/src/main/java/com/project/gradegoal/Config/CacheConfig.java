@@ -0,0 +1,65 @@
+package com.project.gradegoal.Config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cache Configuration
+ *
+ * Application-level caches for computed results (statistics, derived
+ * views). Entity caching is handled separately by the Hibernate
+ * second-level cache in EntityCacheConfig.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String COURSE_STATISTICS = "courseStatistics";
+    public static final String AI_PREDICTION_STATISTICS = "aiPredictionStatistics";
+    public static final String SEMESTER_GPAS = "semesterGpas";
+    public static final String ACHIEVEMENT_ANALYTICS = "achievementAnalytics";
+
+    @Value("${gradegoal.cache.statistics.ttl-seconds:60}")
+    private long statisticsTtlSeconds;
+
+    @Value("${gradegoal.cache.achievement-analytics.ttl-seconds:30}")
+    private long achievementAnalyticsTtlSeconds;
+
+    @Value("${gradegoal.cache.semester-gpas.max-users:10000}")
+    private long semesterGpasMaxUsers;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        // Admin dashboard aggregates: a single entry each, refreshed after a short TTL
+        cacheManager.registerCustomCache(COURSE_STATISTICS, Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(statisticsTtlSeconds))
+            .maximumSize(1)
+            .build());
+        cacheManager.registerCustomCache(AI_PREDICTION_STATISTICS, Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(statisticsTtlSeconds))
+            .maximumSize(1)
+            .build());
+        cacheManager.registerCustomCache(ACHIEVEMENT_ANALYTICS, Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(achievementAnalyticsTtlSeconds))
+            .maximumSize(1)
+            .build());
+
+        // Per-user transcript GPAs: evicted on course changes, the TTL only bounds staleness
+        // after writes made outside the application
+        cacheManager.registerCustomCache(SEMESTER_GPAS, Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .maximumSize(semesterGpasMaxUsers)
+            .build());
+
+        return cacheManager;
+    }
+}
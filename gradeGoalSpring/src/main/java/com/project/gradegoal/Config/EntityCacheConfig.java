@@ -0,0 +1,33 @@
+package com.project.gradegoal.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Entity Cache Configuration
+ *
+ * Enables the Hibernate second-level cache and query cache backed by
+ * Caffeine through JCache. Region sizes and TTLs live in application.conf.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    @Value("${gradegoal.cache.statistics.enabled:true}")
+    private boolean statisticsEnabled;
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer() {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.provider",
+                "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "create");
+            // Needed for the hit-ratio figures on /api/admin/cache-statistics
+            properties.put("hibernate.generate_statistics", statisticsEnabled);
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.gradegoal.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Export Configuration
+ *
+ * Bounded executors for server-side export jobs and for the report
+ * sections they compute in parallel. Jobs beyond the queue capacity are
+ * rejected rather than piling up behind long exports. With virtual threads
+ * enabled the same limits apply, but the workers are virtual threads.
+ */
+@Configuration
+public class ExportConfig {
+
+    public static final String EXPORT_EXECUTOR = "exportExecutor";
+    public static final String EXPORT_SECTION_EXECUTOR = "exportSectionExecutor";
+
+    @Value("${gradegoal.exports.jobs.pool-size:2}")
+    private int poolSize;
+
+    @Value("${gradegoal.exports.jobs.queue-capacity:50}")
+    private int queueCapacity;
+
+    @Value("${gradegoal.exports.sections.pool-size:3}")
+    private int sectionPoolSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(name = EXPORT_EXECUTOR)
+    public ThreadPoolTaskExecutor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-");
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("export-").getVirtualThreadFactory());
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = EXPORT_SECTION_EXECUTOR)
+    public ThreadPoolTaskExecutor exportSectionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(sectionPoolSize);
+        executor.setMaxPoolSize(sectionPoolSize);
+        executor.setThreadNamePrefix("export-section-");
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("export-section-").getVirtualThreadFactory());
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
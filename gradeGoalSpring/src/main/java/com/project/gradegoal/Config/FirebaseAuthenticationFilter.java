@@ -28,11 +28,10 @@ public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                    FilterChain filterChain) throws ServletException, IOException {
         
-        String authToken = request.getHeader("Authorization");
+        String token = resolveToken(request);
         
-        if (authToken != null && authToken.startsWith("Bearer ")) {
+        if (token != null) {
             try {
-                String token = authToken.substring(7);
                 FirebaseToken decodedToken = firebaseAuth.verifyIdToken(token);
                 
                 // Create authentication object
@@ -47,4 +46,22 @@ public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+    
+    /**
+     * Read the ID token from the Authorization header. Browser EventSource
+     * cannot set headers, so event streams may pass it as access_token instead.
+     */
+    private String resolveToken(HttpServletRequest request) {
+        String authToken = request.getHeader("Authorization");
+        if (authToken != null && authToken.startsWith("Bearer ")) {
+            return authToken.substring(7);
+        }
+        if (request.getRequestURI().endsWith("/stream")) {
+            String queryToken = request.getParameter("access_token");
+            if (queryToken != null && !queryToken.isBlank()) {
+                return queryToken;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,37 @@
+package com.project.gradegoal.Config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Flyway Configuration
+ *
+ * The migrations in db/migration add indexes to the entity tables, so they
+ * must run after Hibernate's schema update rather than before it as Spring
+ * Boot would run them. Boot's own migration step is therefore a no-op and
+ * SchemaMigrationService migrates once the entity manager factory is up.
+ */
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Leave the migration to SchemaMigrationService
+     */
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigrationStrategy() {
+        return flyway -> { };
+    }
+
+    /**
+     * Hibernate has already created the entity tables when Flyway first runs, and existing
+     * databases predate the history table; baseline below V1 so every migration still applies
+     */
+    @Bean
+    public FlywayConfigurationCustomizer flywayBaselineCustomizer() {
+        return configuration -> configuration
+            .baselineOnMigrate(true)
+            .baselineVersion("0");
+    }
+}
@@ -0,0 +1,43 @@
+package com.project.gradegoal.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Notification Configuration
+ *
+ * Executor for the notification fan-out of the daily run. Each task sends
+ * one user's email and push notifications, which block on SMTP and FCM, so
+ * a shard's users are sent concurrently up to the pool size. With virtual
+ * threads enabled the workers are virtual threads and the pool can be
+ * much larger.
+ */
+@Configuration
+public class NotificationConfig {
+
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+
+    @Value("${gradegoal.notifications.fanout.pool-size:8}")
+    private int poolSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("notification-");
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("notification-").getVirtualThreadFactory());
+        }
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
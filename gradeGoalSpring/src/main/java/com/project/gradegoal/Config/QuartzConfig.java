@@ -0,0 +1,173 @@
+package com.project.gradegoal.Config;
+
+import com.project.gradegoal.Service.CustomEventReminderJob;
+import com.project.gradegoal.Service.DailyNotificationJob;
+import com.project.gradegoal.Service.NotificationShardJob;
+import com.project.gradegoal.Service.PointsLedgerCompactionJob;
+import org.quartz.CronScheduleBuilder;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.Properties;
+
+/**
+ * Quartz Configuration
+ *
+ * Runs the notification jobs and the points ledger compaction on a clustered
+ * Quartz scheduler backed by the application database, so each trigger fires
+ * on exactly one node. The
+ * daily notification run is split into user ID range shards which every
+ * node's worker threads claim, so more nodes finish the run sooner.
+ */
+@Configuration
+public class QuartzConfig {
+
+    public static final String NOTIFICATION_GROUP = "notifications";
+    public static final String NOTIFICATION_SHARD_GROUP = "notification-shards";
+    public static final String MAINTENANCE_GROUP = "maintenance";
+
+    public static final JobKey DAILY_NOTIFICATION_JOB = JobKey.jobKey("daily-notification", NOTIFICATION_GROUP);
+    public static final JobKey NOTIFICATION_SHARD_JOB = JobKey.jobKey("notification-shard", NOTIFICATION_GROUP);
+    public static final JobKey CUSTOM_EVENT_REMINDER_JOB = JobKey.jobKey("custom-event-reminder", NOTIFICATION_GROUP);
+    public static final JobKey POINTS_LEDGER_COMPACTION_JOB = JobKey.jobKey("points-ledger-compaction", MAINTENANCE_GROUP);
+
+    @Value("${notification.schedule.cron:0 0 9 * * ?}")
+    private String dailyNotificationCron;
+
+    @Value("${gradegoal.notifications.reminder-interval-ms:60000}")
+    private long reminderIntervalMs;
+
+    @Value("${gradegoal.points-ledger.compaction-interval-ms:5000}")
+    private long pointsLedgerCompactionIntervalMs;
+
+    @Value("${gradegoal.quartz.thread-count:5}")
+    private int threadCount;
+
+    @Value("${gradegoal.quartz.cluster-checkin-interval-ms:15000}")
+    private long clusterCheckinIntervalMs;
+
+    @Value("${gradegoal.quartz.misfire-threshold-ms:60000}")
+    private long misfireThresholdMs;
+
+    /**
+     * Switch the auto-configured scheduler to the clustered JDBC job store; the Quartz tables
+     * are created by the V2 schema migration, which has to run before the scheduler starts
+     */
+    @Bean
+    @DependsOn("schemaMigrationService")
+    public SchedulerFactoryBeanCustomizer quartzClusterCustomizer(DataSource dataSource,
+                                                                  PlatformTransactionManager transactionManager) {
+        return schedulerFactoryBean -> {
+            Properties properties = new Properties();
+            properties.setProperty("org.quartz.scheduler.instanceId", "AUTO");
+            properties.setProperty("org.quartz.jobStore.driverDelegateClass", "org.quartz.impl.jdbcjobstore.StdJDBCDelegate");
+            properties.setProperty("org.quartz.jobStore.tablePrefix", "QRTZ_");
+            properties.setProperty("org.quartz.jobStore.isClustered", "true");
+            properties.setProperty("org.quartz.jobStore.clusterCheckinInterval", String.valueOf(clusterCheckinIntervalMs));
+            properties.setProperty("org.quartz.jobStore.misfireThreshold", String.valueOf(misfireThresholdMs));
+            properties.setProperty("org.quartz.threadPool.threadCount", String.valueOf(threadCount));
+
+            schedulerFactoryBean.setSchedulerName("gradegoalScheduler");
+            schedulerFactoryBean.setDataSource(dataSource);
+            schedulerFactoryBean.setTransactionManager(transactionManager);
+            schedulerFactoryBean.setQuartzProperties(properties);
+            // Apply changed cron expressions and intervals to the triggers stored by earlier deployments
+            schedulerFactoryBean.setOverwriteExistingJobs(true);
+        };
+    }
+
+    @Bean
+    public JobDetail dailyNotificationJobDetail() {
+        return JobBuilder.newJob(DailyNotificationJob.class)
+            .withIdentity(DAILY_NOTIFICATION_JOB)
+            .withDescription("Schedules the user ID range shards of the daily assessment notification run")
+            .storeDurably()
+            .build();
+    }
+
+    /**
+     * Daily run; if the cluster was down at the scheduled time it runs once as soon as a node is back
+     */
+    @Bean
+    public Trigger dailyNotificationTrigger() {
+        return TriggerBuilder.newTrigger()
+            .forJob(DAILY_NOTIFICATION_JOB)
+            .withIdentity("daily-notification-trigger", NOTIFICATION_GROUP)
+            .withSchedule(CronScheduleBuilder.cronSchedule(dailyNotificationCron)
+                .withMisfireHandlingInstructionFireAndProceed())
+            .build();
+    }
+
+    /**
+     * Shard worker; shard triggers are created per run by the daily job. A shard whose node
+     * dies mid-run is re-run by another node.
+     */
+    @Bean
+    public JobDetail notificationShardJobDetail() {
+        return JobBuilder.newJob(NotificationShardJob.class)
+            .withIdentity(NOTIFICATION_SHARD_JOB)
+            .withDescription("Sends the daily assessment notifications of one user ID range")
+            .storeDurably()
+            .requestRecovery()
+            .build();
+    }
+
+    @Bean
+    public JobDetail customEventReminderJobDetail() {
+        return JobBuilder.newJob(CustomEventReminderJob.class)
+            .withIdentity(CUSTOM_EVENT_REMINDER_JOB)
+            .withDescription("Sends reminders for custom events starting soon")
+            .storeDurably()
+            .build();
+    }
+
+    /**
+     * Reminder poll; missed polls are skipped since every poll looks ahead several minutes
+     */
+    @Bean
+    public Trigger customEventReminderTrigger() {
+        return TriggerBuilder.newTrigger()
+            .forJob(CUSTOM_EVENT_REMINDER_JOB)
+            .withIdentity("custom-event-reminder-trigger", NOTIFICATION_GROUP)
+            .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                .withIntervalInMilliseconds(reminderIntervalMs)
+                .repeatForever()
+                .withMisfireHandlingInstructionNextWithRemainingCount())
+            .build();
+    }
+
+    @Bean
+    public JobDetail pointsLedgerCompactionJobDetail() {
+        return JobBuilder.newJob(PointsLedgerCompactionJob.class)
+            .withIdentity(POINTS_LEDGER_COMPACTION_JOB)
+            .withDescription("Folds settled points ledger entries into user progress")
+            .storeDurably()
+            .build();
+    }
+
+    /**
+     * Compaction poll; missed polls are skipped since the next one folds everything settled by then
+     */
+    @Bean
+    public Trigger pointsLedgerCompactionTrigger() {
+        return TriggerBuilder.newTrigger()
+            .forJob(POINTS_LEDGER_COMPACTION_JOB)
+            .withIdentity("points-ledger-compaction-trigger", MAINTENANCE_GROUP)
+            .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                .withIntervalInMilliseconds(pointsLedgerCompactionIntervalMs)
+                .repeatForever()
+                .withMisfireHandlingInstructionNextWithRemainingCount())
+            .build();
+    }
+}
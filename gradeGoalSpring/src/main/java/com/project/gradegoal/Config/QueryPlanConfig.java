@@ -0,0 +1,30 @@
+package com.project.gradegoal.Config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Query Plan Configuration
+ *
+ * Registers the statement inspector through which the query plan check
+ * captures the SQL of the hot repository queries. The inspector sees every
+ * statement Hibernate prepares, so it is only registered when the check is
+ * enabled with gradegoal.schema.verify-query-plans.
+ */
+@Configuration
+@ConditionalOnProperty(name = "gradegoal.schema.verify-query-plans", havingValue = "true")
+public class QueryPlanConfig {
+
+    @Bean
+    public SqlCaptureInspector sqlCaptureInspector() {
+        return new SqlCaptureInspector();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlCaptureCustomizer(SqlCaptureInspector sqlCaptureInspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCaptureInspector);
+    }
+}
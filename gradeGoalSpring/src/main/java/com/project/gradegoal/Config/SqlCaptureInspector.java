@@ -0,0 +1,55 @@
+package com.project.gradegoal.Config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that can record the SQL of a repository call
+ * instead of running it. The query plan check uses it to EXPLAIN exactly the
+ * SQL Hibernate generates for a repository query; outside a capture every
+ * statement passes through unchanged.
+ */
+public class SqlCaptureInspector implements StatementInspector {
+
+    private static final ThreadLocal<Boolean> CAPTURING = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        if (Boolean.TRUE.equals(CAPTURING.get())) {
+            // Abort the call before the statement reaches the database
+            throw new CapturedStatement(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Run a repository call and return the first SQL statement it would execute
+     * @param repositoryCall Call of the repository method to capture
+     * @return SQL with JDBC placeholders, as Hibernate would prepare it
+     */
+    public String capture(Runnable repositoryCall) {
+        CAPTURING.set(Boolean.TRUE);
+        try {
+            repositoryCall.run();
+        } catch (RuntimeException e) {
+            // Spring's exception translation may have wrapped the marker
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof CapturedStatement captured) {
+                    return captured.sql;
+                }
+            }
+            throw e;
+        } finally {
+            CAPTURING.remove();
+        }
+        throw new IllegalStateException("The repository call did not run any SQL (answered from a cache?)");
+    }
+
+    private static final class CapturedStatement extends RuntimeException {
+        private final String sql;
+
+        private CapturedStatement(String sql) {
+            super("Captured SQL statement", null, false, false);
+            this.sql = sql;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.project.gradegoal.Controller;
+
+import com.project.gradegoal.Entity.AIAssessmentPrediction;
+import com.project.gradegoal.Service.AIAssessmentPredictionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/ai-analysis")
+@CrossOrigin(origins = "*")
+public class AIAnalysisController {
+
+    @Autowired
+    private AIAssessmentPredictionService predictionService;
+
+    /**
+     * Save an AI prediction for an assessment (replaces the active one)
+     */
+    @PostMapping("/assessment-prediction/save")
+    public ResponseEntity<?> savePrediction(@RequestBody Map<String, Object> request) {
+        try {
+            AIAssessmentPrediction prediction = new AIAssessmentPrediction();
+            prediction.setUserId(Long.valueOf(request.get("userId").toString()));
+            prediction.setCourseId(Long.valueOf(request.get("courseId").toString()));
+            prediction.setAssessmentId(Long.valueOf(request.get("assessmentId").toString()));
+            prediction.setPredictedScore(toBigDecimal(request.get("predictedScore")));
+            prediction.setPredictedPercentage(toBigDecimal(request.get("predictedPercentage")));
+            prediction.setPredictedGpa(toBigDecimal(request.get("predictedGpa")));
+            prediction.setConfidenceLevel(toConfidenceLevel(request.get("confidenceLevel")));
+            prediction.setRecommendedScore(toBigDecimal(request.get("recommendedScore")));
+            prediction.setRecommendedPercentage(toBigDecimal(request.get("recommendedPercentage")));
+            Object reasoning = request.get("analysisReasoning");
+            prediction.setAnalysisReasoning(reasoning != null ? reasoning.toString() : null);
+
+            AIAssessmentPrediction saved = predictionService.savePrediction(prediction);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("prediction", saved);
+            return ResponseEntity.ok(response);
+        } catch (NullPointerException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("success", false, "error", "userId, courseId and assessmentId are required"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the active predictions of a course
+     */
+    @GetMapping("/course/{courseId}/user/{userId}/predictions")
+    public ResponseEntity<?> getCoursePredictions(@PathVariable Long courseId, @PathVariable Long userId) {
+        try {
+            List<AIAssessmentPrediction> predictions = predictionService.getActivePredictionsForCourse(userId, courseId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("predictions", predictions);
+            response.put("count", predictions.size());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the active prediction of an assessment
+     */
+    @GetMapping("/assessment/{assessmentId}/user/{userId}/prediction")
+    public ResponseEntity<?> getAssessmentPrediction(@PathVariable Long assessmentId, @PathVariable Long userId) {
+        try {
+            Optional<AIAssessmentPrediction> prediction = predictionService.getActivePrediction(userId, assessmentId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("exists", prediction.isPresent());
+            response.put("prediction", prediction.orElse(null));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Check whether an assessment has an active prediction
+     */
+    @GetMapping("/assessment/{assessmentId}/user/{userId}/exists")
+    public ResponseEntity<?> hasAssessmentPrediction(@PathVariable Long assessmentId, @PathVariable Long userId) {
+        try {
+            return ResponseEntity.ok(Map.of("success", true,
+                "exists", predictionService.hasActivePrediction(userId, assessmentId)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("success", false, "error", e.getMessage()));
+        }
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        return value != null ? new BigDecimal(value.toString()) : null;
+    }
+
+    /**
+     * Accepts HIGH/MEDIUM/LOW or a numeric confidence between 0 and 1
+     */
+    private AIAssessmentPrediction.ConfidenceLevel toConfidenceLevel(Object value) {
+        if (value == null) {
+            return AIAssessmentPrediction.ConfidenceLevel.MEDIUM;
+        }
+        if (value instanceof Number number) {
+            double confidence = number.doubleValue();
+            if (confidence >= 0.8) {
+                return AIAssessmentPrediction.ConfidenceLevel.HIGH;
+            }
+            return confidence >= 0.5 ? AIAssessmentPrediction.ConfidenceLevel.MEDIUM : AIAssessmentPrediction.ConfidenceLevel.LOW;
+        }
+        return AIAssessmentPrediction.ConfidenceLevel.valueOf(value.toString().toUpperCase());
+    }
+}
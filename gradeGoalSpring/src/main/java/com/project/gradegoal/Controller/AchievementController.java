@@ -1,13 +1,17 @@
 package com.project.gradegoal.Controller;
 
+import com.project.gradegoal.DTO.KeysetPage;
 import com.project.gradegoal.Entity.Achievement;
 import com.project.gradegoal.Entity.Notification;
 import com.project.gradegoal.Service.AchievementService;
 import com.project.gradegoal.Service.NotificationService;
+import com.project.gradegoal.Service.NotificationStreamService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
@@ -24,6 +28,9 @@ public class AchievementController {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+    
     /**
      * Check and award achievements for a user
      * Typically called after user actions (grade entry, goal achievement, etc.)
@@ -74,13 +81,18 @@ public class AchievementController {
     }
     
     /**
-     * Get notifications for a user
+     * Get notifications for a user, newest first, one keyset page at a time
+     * The cursor of the next page is returned in the X-Next-Cursor header
      */
     @GetMapping("/notifications/{userId}")
-    public ResponseEntity<?> getNotifications(@PathVariable Long userId) {
+    public ResponseEntity<?> getNotifications(@PathVariable Long userId,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit) {
         try {
-            List<Notification> notifications = notificationService.getUserNotifications(userId);
-            return ResponseEntity.ok(notifications);
+            return toPageResponse(notificationService.getNotificationFeed(
+                userId, cursor, KeysetPage.clampLimit(limit), false));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", "Invalid cursor"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("success", false, "error", e.getMessage()));
@@ -88,13 +100,17 @@ public class AchievementController {
     }
     
     /**
-     * Get unread notifications for a user
+     * Get unread notifications for a user, newest first, one keyset page at a time
      */
     @GetMapping("/notifications/{userId}/unread")
-    public ResponseEntity<?> getUnreadNotifications(@PathVariable Long userId) {
+    public ResponseEntity<?> getUnreadNotifications(@PathVariable Long userId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer limit) {
         try {
-            List<Notification> notifications = notificationService.getUnreadNotifications(userId);
-            return ResponseEntity.ok(notifications);
+            return toPageResponse(notificationService.getNotificationFeed(
+                userId, cursor, KeysetPage.clampLimit(limit), true));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", "Invalid cursor"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("success", false, "error", e.getMessage()));
@@ -115,6 +131,24 @@ public class AchievementController {
         }
     }
     
+    /**
+     * Stream new notifications, new AI recommendations and unread counts (Server-Sent Events)
+     * Reconnecting clients send Last-Event-ID to receive the events they missed
+     */
+    @GetMapping(value = "/notifications/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@PathVariable Long userId,
+                                          @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long resumeFrom = null;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeFrom = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                // Unknown ID: the client still gets a fresh unread-count snapshot
+            }
+        }
+        return notificationStreamService.subscribe(userId, resumeFrom);
+    }
+    
     /**
      * Mark notification as read
      */
@@ -135,12 +169,19 @@ public class AchievementController {
     @PutMapping("/notifications/{userId}/mark-all-read")
     public ResponseEntity<?> markAllAsRead(@PathVariable Long userId) {
         try {
-            notificationService.markAllAsRead(userId);
-            return ResponseEntity.ok(Map.of("success", true));
+            int updated = notificationService.markAllAsRead(userId);
+            return ResponseEntity.ok(Map.of("success", true, "updated", updated));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("success", false, "error", e.getMessage()));
         }
     }
+    
+    private ResponseEntity<List<Notification>> toPageResponse(KeysetPage<Notification> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(KeysetPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
 }
-
@@ -1,11 +1,15 @@
 package com.project.gradegoal.Controller;
 
+import com.project.gradegoal.DTO.AssessmentSummary;
+import com.project.gradegoal.DTO.KeysetPage;
 import com.project.gradegoal.Entity.Assessment;
 import com.project.gradegoal.Service.AssessmentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,11 +21,29 @@ public class AssessmentController {
     @Autowired
     private AssessmentService assessmentService;
 
+    /**
+     * List assessments with course and category names, one keyset page at a time
+     * The cursor of the next page is returned in the X-Next-Cursor header
+     */
     @GetMapping
-    public ResponseEntity<List<Assessment>> getAllAssessments() {
+    public ResponseEntity<List<AssessmentSummary>> getAllAssessments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Assessment.AssessmentStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo) {
         try {
-            List<Assessment> assessments = assessmentService.getAllAssessmentsWithCourseInfo();
-            return ResponseEntity.ok(assessments);
+            KeysetPage<AssessmentSummary> page = assessmentService.getAssessmentSummaries(
+                cursor, KeysetPage.clampLimit(limit), sortBy, userId, status, dueFrom, dueTo);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(KeysetPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(500).body(null);
         }
@@ -1,9 +1,10 @@
 package com.project.gradegoal.Controller;
 
+import com.project.gradegoal.DTO.CourseSummary;
+import com.project.gradegoal.DTO.KeysetPage;
 import com.project.gradegoal.Entity.Course;
 import com.project.gradegoal.Entity.AssessmentCategory;
 import com.project.gradegoal.Entity.User;
-import com.project.gradegoal.Repository.CourseRepository;
 import com.project.gradegoal.Service.CourseService;
 import com.project.gradegoal.Service.AssessmentCategoryService;
 import com.project.gradegoal.Service.UserService;
@@ -14,7 +15,6 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
-import java.util.HashMap;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -23,9 +23,6 @@ public class CourseControllerNew {
     @Autowired
     private CourseService courseService;
 
-    @Autowired
-    private CourseRepository courseRepository;
-
     @Autowired
     private AssessmentCategoryService assessmentCategoryService;
 
@@ -77,11 +74,24 @@ public class CourseControllerNew {
     // ADMIN ENDPOINTS
     // ========================================
 
+    /**
+     * List courses one keyset page at a time
+     * The cursor of the next page is returned in the X-Next-Cursor header
+     */
     @GetMapping("/all")
-    public ResponseEntity<List<Course>> getAllCourses() {
+    public ResponseEntity<List<CourseSummary>> getAllCourses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(required = false) Course.Semester semester,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) Boolean isActive) {
         try {
-            List<Course> courses = courseRepository.findAll();
-            return ResponseEntity.ok(courses);
+            KeysetPage<CourseSummary> page = courseService.getCourseSummaries(
+                cursor, KeysetPage.clampLimit(limit), sortBy, semester, academicYear, isActive, false);
+            return toPageResponse(page);
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(500).body(null);
         }
@@ -90,26 +100,8 @@ public class CourseControllerNew {
     @GetMapping("/statistics")
     public ResponseEntity<?> getCourseStatistics() {
         try {
-            // Create basic course statistics
-            List<Course> allCourses = courseRepository.findAll();
-            long totalCourses = allCourses.size();
-            long activeCourses = allCourses.stream()
-                .filter(course -> course.getIsActive() != null && course.getIsActive())
-                .count();
-            long archivedCourses = totalCourses - activeCourses;
-            
-            // Calculate average completion rate
-            double averageCompletion = allCourses.stream()
-                .filter(course -> course.getCalculatedCourseGrade() != null)
-                .mapToDouble(course -> course.getCalculatedCourseGrade().doubleValue())
-                .average()
-                .orElse(0.0);
-
-            Map<String, Object> stats = new HashMap<>();
-            stats.put("totalCourses", totalCourses);
-            stats.put("activeCourses", activeCourses);
-            stats.put("archivedCourses", archivedCourses);
-            stats.put("averageCompletion", Math.round(averageCompletion * 100.0) / 100.0);
+            // Aggregated in the database and cached briefly
+            Map<String, Object> stats = courseService.getCourseStatistics();
             
             return ResponseEntity.ok(stats);
         } catch (Exception e) {
@@ -336,15 +328,20 @@ public class CourseControllerNew {
         }
     }
 
+    /**
+     * Delete a course and its related data; the body reports the rows deleted per table
+     */
     @DeleteMapping("/{courseId}")
-    public ResponseEntity<String> deleteCourse(@PathVariable Long courseId) {
+    public ResponseEntity<?> deleteCourse(@PathVariable Long courseId) {
         try {
-            boolean deleted = courseService.deleteCourse(courseId);
-            if (deleted) {
-                return ResponseEntity.ok("Course deleted successfully");
-            } else {
+            Map<String, Integer> deletedRows = courseService.deleteCourseWithReport(courseId);
+            if (deletedRows == null) {
                 return ResponseEntity.status(404).body("Course not found");
             }
+            return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Course deleted successfully",
+                "deletedRows", deletedRows));
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Failed to delete course: " + e.getMessage());
         }
@@ -418,11 +415,22 @@ public class CourseControllerNew {
         }
     }
 
+    /**
+     * List courses that carry an AI prediction rating, one keyset page at a time
+     */
     @GetMapping("/ai-ratings")
-    public ResponseEntity<List<Course>> getCoursesWithAIRatings() {
+    public ResponseEntity<List<CourseSummary>> getCoursesWithAIRatings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(required = false) Course.Semester semester,
+            @RequestParam(required = false) String academicYear) {
         try {
-            List<Course> courses = courseRepository.findAll();
-            return ResponseEntity.ok(courses);
+            KeysetPage<CourseSummary> page = courseService.getCourseSummaries(
+                cursor, KeysetPage.clampLimit(limit), sortBy, semester, academicYear, null, true);
+            return toPageResponse(page);
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
         }
@@ -465,4 +473,12 @@ public class CourseControllerNew {
             return ResponseEntity.status(500).build();
         }
     }
+
+    private <T> ResponseEntity<List<T>> toPageResponse(KeysetPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(KeysetPage.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
 }
@@ -1,6 +1,9 @@
 package com.project.gradegoal.Controller;
 
+import com.project.gradegoal.Service.CourseGradesChangedEvent;
+import com.project.gradegoal.Service.EntityCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -11,6 +14,7 @@ import java.math.BigDecimal;
 import java.sql.CallableStatement;
 import java.sql.Types;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -25,6 +29,12 @@ public class DatabaseGradeController {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Calculate GPA from percentage using database function
      * Calls MySQL function: CalculateGPA(percentage)
@@ -215,6 +225,14 @@ public class DatabaseGradeController {
                 }
             );
             
+            // AddOrUpdateGrade recalculates course grades behind Hibernate's back
+            entityCacheService.evictAllCourses();
+            publishCourseGradesChanged(
+                "SELECT c.user_id, c.course_id FROM courses c " +
+                "INNER JOIN assessment_categories ac ON c.course_id = ac.course_id " +
+                "INNER JOIN assessments a ON ac.category_id = a.category_id " +
+                "WHERE a.assessment_id = ?", assessmentId);
+            
             response.put("success", true);
             response.put("gradeId", result.get("gradeId"));
             response.put("result", result.get("result"));
@@ -253,6 +271,9 @@ public class DatabaseGradeController {
                 }
             );
             
+            entityCacheService.evictCourse(courseId);
+            publishCourseGradesChanged("SELECT user_id, course_id FROM courses WHERE course_id = ?", courseId);
+            
             response.put("success", true);
             response.put("message", "Course grades updated successfully");
             return ResponseEntity.ok(response);
@@ -263,5 +284,18 @@ public class DatabaseGradeController {
             return ResponseEntity.ok(response);
         }
     }
-}
 
+    /**
+     * Refresh stored GPAs for the owner of the row a procedure just changed
+     * @param ownerQuery Query returning the user ID and course ID
+     * @param id Assessment or course ID bound to the query
+     */
+    private void publishCourseGradesChanged(String ownerQuery, Long id) {
+        List<Map<String, Object>> owners = jdbcTemplate.queryForList(ownerQuery, id);
+        if (!owners.isEmpty()) {
+            Map<String, Object> owner = owners.get(0);
+            eventPublisher.publishEvent(new CourseGradesChangedEvent(
+                ((Number) owner.get("user_id")).longValue(), ((Number) owner.get("course_id")).longValue()));
+        }
+    }
+}
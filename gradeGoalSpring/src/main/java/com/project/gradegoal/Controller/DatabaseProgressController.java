@@ -1,13 +1,10 @@
 package com.project.gradegoal.Controller;
 
+import com.project.gradegoal.Service.PointsLedgerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.CallableStatementCallback;
-import org.springframework.jdbc.core.CallableStatementCreator;
 
-import java.sql.CallableStatement;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,11 +18,11 @@ import java.util.Map;
 public class DatabaseProgressController {
 
     @Autowired
-    private JdbcTemplate jdbcTemplate;
+    private PointsLedgerService pointsLedgerService;
 
     /**
-     * Award points to user using database stored procedure
-     * Calls MySQL procedure: AwardPoints(user_id, points, activity_type)
+     * Award points to user
+     * Appended to the points ledger and folded into the user's total by the ledger compactor
      */
     @PostMapping("/award-points")
     public ResponseEntity<Map<String, Object>> awardPoints(@RequestBody Map<String, Object> request) {
@@ -36,19 +33,7 @@ public class DatabaseProgressController {
             Integer points = Integer.valueOf(request.get("points").toString());
             String activityType = request.get("activityType").toString();
             
-            jdbcTemplate.execute(
-                (CallableStatementCreator) con -> {
-                    CallableStatement cs = con.prepareCall("{ call AwardPoints(?, ?, ?) }");
-                    cs.setLong(1, userId);
-                    cs.setInt(2, points);
-                    cs.setString(3, activityType);
-                    return cs;
-                },
-                (CallableStatementCallback<Void>) cs -> {
-                    cs.execute();
-                    return null;
-                }
-            );
+            pointsLedgerService.append(userId, points, activityType);
             
             response.put("success", true);
             response.put("message", "Points awarded successfully");
@@ -1,12 +1,24 @@
 package com.project.gradegoal.Controller;
 
+import com.project.gradegoal.Entity.ExportLog;
+import com.project.gradegoal.Service.ExportFileService;
+import com.project.gradegoal.Service.ExportFormat;
+import com.project.gradegoal.Service.GradebookExportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.*;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.*;
-import java.io.File;
-import java.io.FileOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/exports")
@@ -14,10 +26,93 @@ import java.util.Map;
 public class ExportController {
 
     @Autowired
-    private JdbcTemplate jdbcTemplate;
+    private ExportFileService exportFileService;
 
-    private static final String EXPORT_DIR = "uploads/exports/";
+    @Autowired
+    private GradebookExportService gradebookExportService;
+
+    /**
+     * Start a server-side export of a user's gradebook (csv, ndjson or xlsx).
+     * Returns at once with the export id; poll /{exportId} for its status.
+     */
+    @PostMapping("/gradebook")
+    public ResponseEntity<?> startGradebookExport(@RequestParam Long userId,
+                                                  @RequestParam(defaultValue = "csv") String format) {
+        try {
+            ExportLog exportLog = gradebookExportService.startGradebookExport(userId, ExportFormat.fromName(format));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toStatusResponse(exportLog));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("success", false, "error", "Unsupported export format: " + format));
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("success", false, "error", "Too many exports in progress, try again later"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "error", "Failed to start export: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the status of an export
+     */
+    @GetMapping("/{exportId}")
+    public ResponseEntity<?> getExportStatus(@PathVariable Long exportId, @RequestParam Long userId) {
+        return exportFileService.findOwned(exportId, userId)
+                .<ResponseEntity<?>>map(exportLog -> ResponseEntity.ok(toStatusResponse(exportLog)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Upload an export file as the raw request body (application/pdf or
+     * application/octet-stream). The body is streamed to disk, never buffered.
+     */
+    @PostMapping(value = "/upload", consumes = {MediaType.APPLICATION_PDF_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> uploadExport(@RequestParam Long userId,
+                                          @RequestParam String exportType,
+                                          @RequestParam String fileName,
+                                          @RequestParam(required = false) String exportParameters,
+                                          @RequestParam(required = false) String createdAt,
+                                          @RequestParam(required = false) String expiresAt,
+                                          InputStream body) {
+        try {
+            ExportLog exportLog = exportFileService.storeExport(userId, exportType, fileName, body,
+                exportParameters, parseTimestamp(createdAt), parseTimestamp(expiresAt));
+            return ResponseEntity.ok(Map.of("success", true, "exportId", exportLog.getExportId()));
+        } catch (ExportFileService.ExportTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body(Map.of("success", false, "error", e.getMessage()));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("success", false, "error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("success", false, "error", "Failed to store export: " + e.getMessage()));
+        }
+    }
 
+    /**
+     * Download an export file. Range requests are answered with 206 partial
+     * content, and the file is streamed from disk in fixed-size chunks.
+     */
+    @GetMapping("/{exportId}/download")
+    public ResponseEntity<Resource> downloadExport(@PathVariable Long exportId, @RequestParam Long userId) {
+        Optional<ExportLog> exportLog = exportFileService.findDownloadable(exportId, userId);
+        if (exportLog.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaTypeFactory.getMediaType(exportLog.get().getFileName())
+                        .orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(exportLog.get().getFileName(), StandardCharsets.UTF_8).build().toString())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(new FileSystemResource(exportLog.get().getFilePath()));
+    }
+
+    /**
+     * Log an export from a JSON payload; fileData may carry the PDF as a
+     * base64 data URL (kept for older clients, prefer /upload)
+     */
     @PostMapping("/log")
     public ResponseEntity<String> logExport(@RequestBody Map<String, Object> payload) {
         try {
@@ -28,46 +123,53 @@ public class ExportController {
             Object exportParams = payload.get("exportParameters");
 
             String createdAt = (String) payload.get("createdAt");
-            String completedAt = (String) payload.get("completedAt");
             String expiresAt = (String) payload.get("expiresAt");
 
-            File dir = new File(EXPORT_DIR);
-            if (!dir.exists()) dir.mkdirs();
-
-            String filePath = EXPORT_DIR + fileName;
-
-            // 🧾 Save the PDF file from base64
+            // 🧾 Decode the PDF while streaming it to disk instead of materializing the bytes
+            InputStream content = null;
             if (fileBase64 != null && fileBase64.startsWith("data:application/pdf")) {
-                String base64Content = fileBase64.split(",")[1];
-                byte[] decodedBytes = java.util.Base64.getDecoder().decode(base64Content);
-                try (FileOutputStream fos = new FileOutputStream(filePath)) {
-                    fos.write(decodedBytes);
-                }
+                int dataStart = fileBase64.indexOf(',') + 1;
+                byte[] encoded = fileBase64.getBytes(StandardCharsets.US_ASCII);
+                content = Base64.getDecoder().wrap(
+                        new ByteArrayInputStream(encoded, dataStart, encoded.length - dataStart));
             }
 
-            // Insert full data into export_logs
-            String sql = """
-                INSERT INTO export_logs 
-                (user_id, export_type, file_name, file_path, export_parameters, status, created_at, completed_at, expires_at)
-                VALUES (?, ?, ?, ?, CAST(? AS JSON), 'COMPLETED', ?, ?, ?)
-                """;
-
-            jdbcTemplate.update(sql,
-                    userId,
-                    exportType,
-                    fileName,
-                    filePath,
-                    exportParams != null ? exportParams.toString() : "{}",
-                    createdAt,
-                    completedAt,
-                    expiresAt
-            );
+            exportFileService.storeExport(userId, exportType, fileName, content,
+                    exportParams != null ? exportParams.toString() : null,
+                    parseTimestamp(createdAt), parseTimestamp(expiresAt));
 
             return ResponseEntity.ok("✅ Export logged successfully with timestamps and parameters.");
+        } catch (ExportFileService.ExportTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                    .body("❌ Failed to log export: " + e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("❌ Failed to log export: " + e.getMessage());
         }
     }
-}
 
+    private Map<String, Object> toStatusResponse(ExportLog exportLog) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("exportId", exportLog.getExportId());
+        response.put("status", exportLog.getStatus());
+        response.put("fileName", exportLog.getFileName());
+        response.put("createdAt", exportLog.getCreatedAt());
+        response.put("completedAt", exportLog.getCompletedAt());
+        response.put("expiresAt", exportLog.getExpiresAt());
+        if (exportLog.getStatus() == ExportLog.ExportStatus.COMPLETED) {
+            response.put("downloadUrl", "/api/exports/" + exportLog.getExportId() + "/download?userId=" + exportLog.getUserId());
+        }
+        return response;
+    }
+
+    /**
+     * Accepts ISO timestamps and the "yyyy-MM-dd HH:mm:ss" form the web client sends
+     */
+    private LocalDateTime parseTimestamp(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return LocalDateTime.parse(value.trim().replace(' ', 'T'));
+    }
+}
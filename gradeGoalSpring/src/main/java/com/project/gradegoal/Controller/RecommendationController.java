@@ -1,6 +1,8 @@
 package com.project.gradegoal.Controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.gradegoal.DTO.KeysetPage;
+import com.project.gradegoal.DTO.RecommendationSummary;
 import com.project.gradegoal.Entity.Recommendation;
 import com.project.gradegoal.Service.RecommendationService;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Controller for managing recommendations
@@ -73,14 +76,16 @@ public class RecommendationController {
                 userId, courseId, analysisData, aiModel, confidence
             );
             
-            Recommendation saved = (Recommendation) result.get("recommendation");
             boolean isUpdate = (Boolean) result.get("isUpdate");
+            boolean unchanged = (Boolean) result.get("unchanged");
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("recommendationId", saved.getRecommendationId());
-            response.put("message", isUpdate ? "AI analysis updated successfully" : "AI analysis saved as recommendation successfully");
+            response.put("recommendationId", result.get("recommendationId"));
+            response.put("message", unchanged ? "AI analysis unchanged"
+                : isUpdate ? "AI analysis updated successfully" : "AI analysis saved as recommendation successfully");
             response.put("isUpdate", isUpdate);
+            response.put("unchanged", unchanged);
             
             return ResponseEntity.ok(response);
             
@@ -100,19 +105,19 @@ public class RecommendationController {
     }
     
     /**
-     * Get AI recommendations for a user
+     * Get AI recommendation summaries for a user, one keyset page at a time
+     * Content is not included; fetch GET /{recommendationId} to open one
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<Map<String, Object>> getAIRecommendationsForUser(@PathVariable Long userId) {
+    public ResponseEntity<Map<String, Object>> getAIRecommendationsForUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Recommendation> recommendations = recommendationService.getAIRecommendationsForUser(userId);
+            KeysetPage<RecommendationSummary> page = recommendationService.getAIRecommendationSummaries(
+                userId, null, cursor, KeysetPage.clampLimit(limit));
             
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("recommendations", recommendations);
-            response.put("count", recommendations.size());
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(toPageResponse(page));
             
         } catch (Exception e) {
             log.error("Error getting AI recommendations for user {}: {}", userId, e.getMessage(), e);
@@ -126,20 +131,18 @@ public class RecommendationController {
     }
     
     /**
-     * Get AI recommendations for a specific course
+     * Get AI recommendation summaries for a specific course, one keyset page at a time
      */
     @GetMapping("/user/{userId}/course/{courseId}")
     public ResponseEntity<Map<String, Object>> getAIRecommendationsForCourse(
-            @PathVariable Long userId, @PathVariable Long courseId) {
+            @PathVariable Long userId, @PathVariable Long courseId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Recommendation> recommendations = recommendationService.getAIRecommendationsForCourse(userId, courseId);
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("recommendations", recommendations);
-            response.put("count", recommendations.size());
+            KeysetPage<RecommendationSummary> page = recommendationService.getAIRecommendationSummaries(
+                userId, courseId, cursor, KeysetPage.clampLimit(limit));
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(toPageResponse(page));
             
         } catch (Exception e) {
             log.error("Error getting AI recommendations for user {} course {}: {}", userId, courseId, e.getMessage(), e);
@@ -159,12 +162,11 @@ public class RecommendationController {
     public ResponseEntity<Map<String, Object>> getAIAnalysisForCourse(
             @PathVariable Long userId, @PathVariable Long courseId) {
         try {
-            List<Recommendation> recommendations = recommendationService.getAIRecommendationsForCourse(userId, courseId);
-            
-            // Filter for AI_ANALYSIS type recommendations
-            List<Recommendation> aiAnalysisRecommendations = recommendations.stream()
-                .filter(rec -> rec.getRecommendationType() == Recommendation.RecommendationType.AI_ANALYSIS)
-                .collect(java.util.stream.Collectors.toList());
+            // There is at most one AI analysis per course; it is the only row whose content is needed here
+            List<Recommendation> aiAnalysisRecommendations = recommendationService
+                .getAIAnalysisForCourse(userId, courseId)
+                .map(List::of)
+                .orElse(List.of());
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -184,6 +186,36 @@ public class RecommendationController {
         }
     }
     
+    /**
+     * Get a single recommendation with its full content
+     */
+    @GetMapping("/{recommendationId}")
+    public ResponseEntity<Map<String, Object>> getRecommendation(@PathVariable Long recommendationId) {
+        try {
+            Optional<Recommendation> recommendation = recommendationService.getRecommendation(recommendationId);
+            
+            Map<String, Object> response = new HashMap<>();
+            if (recommendation.isEmpty()) {
+                response.put("success", false);
+                response.put("error", "Recommendation not found");
+                return ResponseEntity.status(404).body(response);
+            }
+            response.put("success", true);
+            response.put("recommendation", recommendation.get());
+            
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            log.error("Error getting recommendation {}: {}", recommendationId, e.getMessage(), e);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("error", e.getMessage());
+            
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
     /**
      * Mark recommendation as read
      */
@@ -233,4 +265,13 @@ public class RecommendationController {
             return ResponseEntity.badRequest().body(response);
         }
     }
+    
+    private Map<String, Object> toPageResponse(KeysetPage<RecommendationSummary> page) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("recommendations", page.getItems());
+        response.put("count", page.getItems().size());
+        response.put("nextCursor", page.getNextCursor());
+        return response;
+    }
 }
@@ -4,13 +4,24 @@ import com.project.gradegoal.Entity.Course;
 import com.project.gradegoal.Entity.UserProgress;
 import com.project.gradegoal.Repository.CourseRepository;
 import com.project.gradegoal.Service.DatabaseCalculationService;
+import com.project.gradegoal.Service.GpaHistoryService;
+import com.project.gradegoal.Service.PointsLedgerService;
+import com.project.gradegoal.Service.SemesterGpaService;
 import com.project.gradegoal.Service.UserProgressService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 
@@ -28,17 +39,29 @@ public class UserProgressController {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private SemesterGpaService semesterGpaService;
+
+    @Autowired
+    private GpaHistoryService gpaHistoryService;
+
+    @Autowired
+    private PointsLedgerService pointsLedgerService;
+
     /**
      * Get user progress by user ID
      * @param userId User ID
-     * @return UserProgress entity
+     * @return UserProgress entity, or 304 when the client's ETag is still current
      */
     @GetMapping("/{userId}")
-    public ResponseEntity<?> getUserProgress(@PathVariable Long userId) {
+    public ResponseEntity<?> getUserProgress(@PathVariable Long userId, WebRequest webRequest) {
         try {
-            UserProgress userProgress = userProgressService.getUserProgress(userId);
+            UserProgress userProgress = userProgressService.findUserProgress(userId);
+            if (userProgress == null) {
+                userProgress = userProgressService.getUserProgress(userId);
+            }
             if (userProgress != null) {
-                return ResponseEntity.ok(userProgress);
+                return toConditionalResponse(userProgress, webRequest);
             } else {
                 return ResponseEntity.status(404).body("User progress not found");
             }
@@ -87,6 +110,7 @@ public class UserProgressController {
         try {
             UserProgress userProgress = userProgressService.getUserProgress(userId);
             if (userProgress != null) {
+                userProgress = pointsLedgerService.withPendingPoints(userProgress);
                 Map<String, Object> response = new HashMap<>();
                 response.put("userProgress", userProgress);
                 response.put("rankTitle", userProgressService.getUserRankTitle(userProgress.getCurrentLevel()));
@@ -123,47 +147,30 @@ public class UserProgressController {
     }
 
     /**
-     * Get or create user progress with accurate GPA values
+     * Get user progress with GPA values
+     * GPAs are maintained whenever a course grade changes, so this is a plain read
      * @param userId User ID
-     * @return UserProgress entity with updated GPAs
+     * @return UserProgress entity, or 304 when the client's ETag is still current
      */
     @GetMapping("/{userId}/with-gpas")
-    public ResponseEntity<?> getUserProgressWithGPAs(@PathVariable Long userId) {
+    public ResponseEntity<?> getUserProgressWithGPAs(@PathVariable Long userId, WebRequest webRequest) {
         try {
+            UserProgress userProgress = userProgressService.findUserProgress(userId);
             
-            // First try to get existing user progress
-            UserProgress existingProgress = userProgressService.getUserProgress(userId);
-            
-            if (existingProgress == null) {
-                existingProgress = new UserProgress(userId);
-                existingProgress.setSemesterGpa(0.0);
-                existingProgress.setCumulativeGpa(0.0);
-                existingProgress = userProgressService.updateUserProgress(userId, existingProgress);
+            if (userProgress == null) {
+                // First visit: calculate once and store, later reads use the stored values
+                userProgress = databaseCalculationService.updateUserProgressGPAs(userId);
             }
             
-            // Try to update the GPAs, but don't fail if it doesn't work
-            try {
-                UserProgress updatedProgress = databaseCalculationService.updateUserProgressGPAs(userId);
-                if (updatedProgress != null) {
-                    return ResponseEntity.ok(updatedProgress);
-                } else {
-                    return ResponseEntity.ok(existingProgress);
-                }
-            } catch (Exception e) {
-                return ResponseEntity.ok(existingProgress);
+            if (userProgress != null) {
+                return toConditionalResponse(userProgress, webRequest);
             }
+            return ResponseEntity.ok(defaultUserProgress(userId));
             
         } catch (Exception e) {
             
             // Return a default user progress if everything fails
-            UserProgress defaultProgress = new UserProgress(userId);
-            defaultProgress.setSemesterGpa(0.0);
-            defaultProgress.setCumulativeGpa(0.0);
-            defaultProgress.setCurrentLevel(1);
-            defaultProgress.setTotalPoints(0);
-            defaultProgress.setStreakDays(0);
-            
-            return ResponseEntity.ok(defaultProgress);
+            return ResponseEntity.ok(defaultUserProgress(userId));
         }
     }
 
@@ -220,20 +227,18 @@ public class UserProgressController {
             result.put("userId", userId);
             result.put("academicYear", academicYear);
             
-            // Calculate GPA for each semester
+            // Every term's GPA comes from one grouped query, cached per user
+            Map<String, Map<String, Double>> transcript = semesterGpaService.getTranscriptGpas(userId);
+            Map<String, Double> yearGPAs = transcript.getOrDefault(academicYear, Map.of());
+            
             String[] semesters = {"FIRST", "SECOND", "THIRD", "SUMMER"};
             Map<String, Double> semesterGPAs = new HashMap<>();
-            
             for (String semester : semesters) {
-                try {
-                    BigDecimal gpa = databaseCalculationService.calculateSemesterGPA(userId, semester, academicYear);
-                    semesterGPAs.put(semester, gpa.doubleValue());
-                } catch (Exception e) {
-                    semesterGPAs.put(semester, 0.0);
-                }
+                semesterGPAs.put(semester, yearGPAs.getOrDefault(semester, 0.0));
             }
             
             result.put("semesterGPAs", semesterGPAs);
+            result.put("transcript", transcript);
             result.put("success", true);
             
             return ResponseEntity.ok(result);
@@ -248,6 +253,63 @@ public class UserProgressController {
         }
     }
 
+    /**
+     * Get recorded GPA history for a user, or for one of their courses
+     * @param userId User ID
+     * @param courseId Course ID (optional, omit for overall semester/cumulative GPA)
+     * @param from Start date, inclusive (optional, defaults to 90 days ago)
+     * @param to End date, inclusive (optional, defaults to today)
+     * @return Snapshots in chronological order and the cumulative GPA change over the range
+     */
+    @GetMapping("/{userId}/gpa-history")
+    public ResponseEntity<?> getGpaHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusDays(90);
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("userId", userId);
+            result.put("from", start);
+            result.put("to", end);
+            if (courseId != null) {
+                result.put("courseId", courseId);
+                result.put("snapshots", gpaHistoryService.getCourseHistory(courseId, start, end));
+            } else {
+                result.put("snapshots", gpaHistoryService.getUserHistory(userId, start, end));
+                result.put("cumulativeGpaDelta", gpaHistoryService.getCumulativeGpaDelta(userId, start, end));
+            }
+            result.put("success", true);
+            
+            return ResponseEntity.ok(result);
+            
+        } catch (Exception e) {
+            
+            Map<String, Object> errorResult = new HashMap<>();
+            errorResult.put("error", e.getMessage());
+            errorResult.put("success", false);
+            
+            return ResponseEntity.status(500).body(errorResult);
+        }
+    }
+
+    /**
+     * Get the most recent points awards for a user
+     * @param userId User ID
+     * @return Up to 50 ledger entries, newest first
+     */
+    @GetMapping("/{userId}/points-ledger")
+    public ResponseEntity<?> getPointsLedger(@PathVariable Long userId) {
+        try {
+            return ResponseEntity.ok(pointsLedgerService.getRecentEntries(userId));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("Failed to fetch points ledger");
+        }
+    }
+
     /**
      * Test endpoint to check database functions
      * @param userId User ID
@@ -284,4 +346,49 @@ public class UserProgressController {
             return ResponseEntity.status(500).body(errorResult);
         }
     }
+
+    /**
+     * Answer 304 when the client already has this version, otherwise the body with its ETag
+     */
+    private ResponseEntity<?> toConditionalResponse(UserProgress storedProgress, WebRequest webRequest) {
+        // Include points still waiting in the ledger
+        UserProgress userProgress = pointsLedgerService.withPendingPoints(storedProgress);
+        String eTag = progressETag(userProgress);
+        
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(CacheControl.noCache())
+            .body(userProgress);
+    }
+
+    /**
+     * SHA-256 of every returned field; updatedAt alone misses the ledger points and the bulk
+     * updates that do not touch it, and a 32-bit hash would let two versions share a tag
+     */
+    private String progressETag(UserProgress userProgress) {
+        String version = userProgress.getUserId() + "|" + userProgress.getTotalPoints() + "|" +
+            userProgress.getCurrentLevel() + "|" + userProgress.getPointsToNextLevel() + "|" +
+            userProgress.getStreakDays() + "|" + userProgress.getLastActivityDate() + "|" +
+            userProgress.getSemesterGpa() + "|" + userProgress.getCumulativeGpa() + "|" +
+            userProgress.getUpdatedAt();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(version.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private UserProgress defaultUserProgress(Long userId) {
+        UserProgress defaultProgress = new UserProgress(userId);
+        defaultProgress.setSemesterGpa(0.0);
+        defaultProgress.setCumulativeGpa(0.0);
+        defaultProgress.setCurrentLevel(1);
+        defaultProgress.setTotalPoints(0);
+        defaultProgress.setStreakDays(0);
+        return defaultProgress;
+    }
 }
@@ -0,0 +1,32 @@
+package com.project.gradegoal.DTO;
+
+import com.project.gradegoal.Entity.Assessment;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Assessment Summary DTO
+ * Flat projection of an assessment with its course and category names
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssessmentSummary {
+    private Long assessmentId;
+    private Long categoryId;
+    private Long courseId;
+    private Long userId;
+    private String assessmentName;
+    private BigDecimal maxPoints;
+    private LocalDate dueDate;
+    private Assessment.AssessmentStatus status;
+    private Assessment.SemesterTerm semesterTerm;
+    private String courseName;
+    private String categoryName;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,34 @@
+package com.project.gradegoal.DTO;
+
+import com.project.gradegoal.Entity.Course;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Course Summary DTO
+ * Flat projection of a course for admin listings (no lazy associations)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSummary {
+    private Long courseId;
+    private Long userId;
+    private String courseCode;
+    private String courseName;
+    private Course.Semester semester;
+    private String academicYear;
+    private String creationYearLevel;
+    private Integer creditHours;
+    private BigDecimal calculatedCourseGrade;
+    private BigDecimal courseGpa;
+    private Boolean isActive;
+    private Boolean isCompleted;
+    private Integer aiPredictionRating;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
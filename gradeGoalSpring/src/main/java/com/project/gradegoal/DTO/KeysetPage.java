@@ -0,0 +1,85 @@
+package com.project.gradegoal.DTO;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset Page DTO
+ * One page of a cursor-paginated listing. The cursor is opaque to clients
+ * and is passed back unchanged to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    /** Response header carrying the cursor of the next page; absent on the last page */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /** Default and maximum page sizes for listing endpoints */
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * Build a page from rows fetched with limit + 1 so that the presence of
+     * a following page is known without a COUNT query
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if (rows.size() > limit) {
+            List<T> items = rows.subList(0, limit);
+            return new KeysetPage<>(items, cursorOf.apply(items.get(limit - 1)));
+        }
+        return new KeysetPage<>(rows, null);
+    }
+
+    /**
+     * Clamp a client-supplied page size into [1, MAX_LIMIT]
+     */
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /** Timestamp part of the cursor of a row without a timestamp */
+    private static final String NULL_TIMESTAMP = "null";
+
+    /**
+     * Encode a (createdAt, id) position; ids break ties between equal timestamps.
+     * Rows without a timestamp sort after all others and get a null timestamp part.
+     */
+    public static String encodeCursor(LocalDateTime createdAt, Long id) {
+        return (createdAt != null ? createdAt.toString() : NULL_TIMESTAMP) + "_" + id;
+    }
+
+    /**
+     * Timestamp part of a cursor, or null when the cursor is a plain id or
+     * points into the rows without a timestamp
+     */
+    public static LocalDateTime cursorTimestamp(String cursor) {
+        if (cursor == null || !cursor.contains("_")) {
+            return null;
+        }
+        String timestamp = cursor.substring(0, cursor.indexOf('_'));
+        return NULL_TIMESTAMP.equals(timestamp) ? null : LocalDateTime.parse(timestamp);
+    }
+
+    /**
+     * Id part of a cursor, or null when no cursor was given
+     */
+    public static Long cursorId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        return Long.valueOf(cursor.substring(cursor.indexOf('_') + 1));
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.gradegoal.DTO;
+
+import com.project.gradegoal.Entity.Recommendation;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Recommendation Summary DTO
+ * List-view projection of a recommendation without the content and metadata
+ * JSON; the full recommendation is fetched on demand by ID
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationSummary {
+    private Long recommendationId;
+    private Long courseId;
+    private Recommendation.RecommendationType recommendationType;
+    private String title;
+    private Recommendation.Priority priority;
+    private LocalDateTime createdAt;
+    private Boolean isRead;
+    private Boolean isDismissed;
+}
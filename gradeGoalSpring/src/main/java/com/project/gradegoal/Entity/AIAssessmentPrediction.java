@@ -11,7 +11,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ai_assessment_predictions")
+@Table(name = "ai_assessment_predictions", indexes = {
+    @Index(name = "idx_ai_predictions_assessment_user_active", columnList = "assessment_id, user_id, is_active"),
+    @Index(name = "idx_ai_predictions_course_user_active", columnList = "course_id, user_id, is_active"),
+    @Index(name = "idx_ai_predictions_user_active_created", columnList = "user_id, is_active, created_at"),
+    @Index(name = "idx_ai_predictions_active_expires", columnList = "is_active, expires_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,6 +1,8 @@
 package com.project.gradegoal.Entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +11,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "achievements")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "achievement")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
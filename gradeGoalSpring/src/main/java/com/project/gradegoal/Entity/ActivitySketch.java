@@ -0,0 +1,83 @@
+package com.project.gradegoal.Entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * HyperLogLog registers of the users active in one time bucket (an hour,
+ * a day, or all time) for one activity type or for all types together.
+ * Rows are merged register-wise, so every node can fold in its own
+ * activity without coordinating with the others.
+ */
+@Entity
+@Table(name = "activity_sketches", indexes = {
+    @Index(name = "idx_activity_sketches_granularity_bucket", columnList = "granularity, bucket_start"),
+    @Index(name = "idx_activity_sketches_updated", columnList = "updated_at")
+})
+public class ActivitySketch {
+
+    public enum Granularity {
+        HOUR, DAY, TOTAL
+    }
+
+    @Id
+    @Column(name = "sketch_key", length = 160)
+    private String sketchKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "activity_type", nullable = false, length = 100)
+    private String activityType;
+
+    @Column(name = "registers", nullable = false, length = 4096)
+    private byte[] registers;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public ActivitySketch() {}
+
+    public ActivitySketch(String sketchKey, Granularity granularity, LocalDateTime bucketStart, String activityType) {
+        this.sketchKey = sketchKey;
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+        this.activityType = activityType;
+    }
+
+    public String getSketchKey() {
+        return sketchKey;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public String getActivityType() {
+        return activityType;
+    }
+
+    public byte[] getRegisters() {
+        return registers;
+    }
+
+    public void setRegisters(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,143 @@
+package com.project.gradegoal.Entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Point-in-time GPA reading, appended whenever GPAs are recalculated.
+ * Rows with a null course ID hold the user's overall semester and cumulative
+ * GPA; rows with a course ID hold that course's grade and GPA.
+ */
+@Entity
+@Table(name = "gpa_snapshots", indexes = {
+    @Index(name = "idx_gpa_snapshots_user_course_date", columnList = "user_id, course_id, snapshot_date"),
+    @Index(name = "idx_gpa_snapshots_course_date", columnList = "course_id, snapshot_date")
+})
+public class GpaSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "snapshot_id")
+    private Long snapshotId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(name = "semester_gpa")
+    private Double semesterGpa;
+
+    @Column(name = "cumulative_gpa")
+    private Double cumulativeGpa;
+
+    @Column(name = "course_grade", precision = 5, scale = 2)
+    private BigDecimal courseGrade;
+
+    @Column(name = "course_gpa", precision = 3, scale = 2)
+    private BigDecimal courseGpa;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    public GpaSnapshot() {
+        this.recordedAt = LocalDateTime.now();
+        this.snapshotDate = recordedAt.toLocalDate();
+    }
+
+    public static GpaSnapshot forUser(Long userId, Double semesterGpa, Double cumulativeGpa) {
+        GpaSnapshot snapshot = new GpaSnapshot();
+        snapshot.userId = userId;
+        snapshot.semesterGpa = semesterGpa;
+        snapshot.cumulativeGpa = cumulativeGpa;
+        return snapshot;
+    }
+
+    public static GpaSnapshot forCourse(Long userId, Long courseId, BigDecimal courseGrade, BigDecimal courseGpa) {
+        GpaSnapshot snapshot = new GpaSnapshot();
+        snapshot.userId = userId;
+        snapshot.courseId = courseId;
+        snapshot.courseGrade = courseGrade;
+        snapshot.courseGpa = courseGpa;
+        return snapshot;
+    }
+
+    // Getters and Setters
+    public Long getSnapshotId() {
+        return snapshotId;
+    }
+
+    public void setSnapshotId(Long snapshotId) {
+        this.snapshotId = snapshotId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public void setSnapshotDate(LocalDate snapshotDate) {
+        this.snapshotDate = snapshotDate;
+    }
+
+    public Double getSemesterGpa() {
+        return semesterGpa;
+    }
+
+    public void setSemesterGpa(Double semesterGpa) {
+        this.semesterGpa = semesterGpa;
+    }
+
+    public Double getCumulativeGpa() {
+        return cumulativeGpa;
+    }
+
+    public void setCumulativeGpa(Double cumulativeGpa) {
+        this.cumulativeGpa = cumulativeGpa;
+    }
+
+    public BigDecimal getCourseGrade() {
+        return courseGrade;
+    }
+
+    public void setCourseGrade(BigDecimal courseGrade) {
+        this.courseGrade = courseGrade;
+    }
+
+    public BigDecimal getCourseGpa() {
+        return courseGpa;
+    }
+
+    public void setCourseGpa(BigDecimal courseGpa) {
+        this.courseGpa = courseGpa;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
@@ -8,7 +8,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_id", columnList = "user_id, notification_id"),
+    @Index(name = "idx_notifications_user_read", columnList = "user_id, is_read"),
+    @Index(name = "idx_notifications_read_created", columnList = "is_read, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
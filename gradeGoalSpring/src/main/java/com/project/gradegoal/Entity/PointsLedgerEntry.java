@@ -0,0 +1,85 @@
+package com.project.gradegoal.Entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Insert-only record of a single points award. Entries are folded into
+ * UserProgress totals by the ledger compactor; entries above a user's
+ * ledger watermark have not been folded in yet.
+ */
+@Entity
+@Table(name = "points_ledger", indexes = {
+    @Index(name = "idx_points_ledger_user_entry", columnList = "user_id, entry_id")
+})
+public class PointsLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "points", nullable = false)
+    private Integer points;
+
+    @Column(name = "activity_type", length = 100)
+    private String activityType;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public PointsLedgerEntry() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public PointsLedgerEntry(Long userId, Integer points, String activityType) {
+        this();
+        this.userId = userId;
+        this.points = points;
+        this.activityType = activityType;
+    }
+
+    // Getters and Setters
+    public Long getEntryId() {
+        return entryId;
+    }
+
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getPoints() {
+        return points;
+    }
+
+    public void setPoints(Integer points) {
+        this.points = points;
+    }
+
+    public String getActivityType() {
+        return activityType;
+    }
+
+    public void setActivityType(String activityType) {
+        this.activityType = activityType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -8,7 +8,10 @@ import java.time.LocalDateTime;
  * Represents AI-generated and system recommendations for users
  */
 @Entity
-@Table(name = "recommendations")
+@Table(name = "recommendations", indexes = {
+    @Index(name = "idx_recommendations_user_ai_priority", columnList = "user_id, ai_generated, priority, created_at DESC"),
+    @Index(name = "idx_recommendations_ai_expires", columnList = "ai_generated, expires_at")
+})
 public class Recommendation {
 
     @Id
@@ -0,0 +1,53 @@
+package com.project.gradegoal.Entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Risk index entry of a student: average course grade, GPA trend and course
+ * count, refreshed whenever one of the student's course grades changes.
+ * Only students with at least one graded course have an entry.
+ */
+@Entity
+@Table(name = "student_risk_index", indexes = {
+    @Index(name = "idx_student_risk_index_average_user", columnList = "average_grade, user_id")
+})
+public class StudentRiskIndex {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "course_count", nullable = false)
+    private Integer courseCount;
+
+    @Column(name = "average_grade", precision = 5, scale = 2, nullable = false)
+    private BigDecimal averageGrade;
+
+    @Column(name = "trend")
+    private Double trend;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Integer getCourseCount() {
+        return courseCount;
+    }
+
+    public BigDecimal getAverageGrade() {
+        return averageGrade;
+    }
+
+    public Double getTrend() {
+        return trend;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
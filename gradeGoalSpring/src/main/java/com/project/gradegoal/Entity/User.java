@@ -1,6 +1,9 @@
 package com.project.gradegoal.Entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -15,6 +18,9 @@ import lombok.AccessLevel;
  */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@DynamicUpdate // last_login_at is written behind by LoginStreakService; don't overwrite it on unrelated saves
 @Getter
 @Setter
 @NoArgsConstructor
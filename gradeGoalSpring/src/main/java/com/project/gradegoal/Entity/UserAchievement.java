@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_achievements")
+@Table(name = "user_achievements", indexes = {
+    // Grouped award counts and per-rarity unique users are answered from this index alone
+    @Index(name = "idx_user_achievements_achievement_user", columnList = "achievement_id, user_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,11 +1,13 @@
 package com.project.gradegoal.Entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "user_progress")
+@DynamicUpdate // Only write changed columns so GPA/streak saves never overwrite concurrently awarded points
 public class UserProgress {
     
     @Id
@@ -36,6 +38,12 @@ public class UserProgress {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    /**
+     * Highest points_ledger entry already folded into totalPoints
+     */
+    @Column(name = "ledger_watermark")
+    private Long ledgerWatermark = 0L;
+    
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -57,6 +65,7 @@ public class UserProgress {
         this.streakDays = 0;
         this.semesterGpa = 0.00;
         this.cumulativeGpa = 0.00;
+        this.ledgerWatermark = 0L;
         this.lastActivityDate = LocalDate.now();
     }
     
@@ -133,6 +142,14 @@ public class UserProgress {
         this.updatedAt = updatedAt;
     }
     
+    public Long getLedgerWatermark() {
+        return ledgerWatermark;
+    }
+    
+    public void setLedgerWatermark(Long ledgerWatermark) {
+        this.ledgerWatermark = ledgerWatermark;
+    }
+    
     public User getUser() {
         return user;
     }
@@ -2,14 +2,21 @@ package com.project.gradegoal.Repository;
 
 import com.project.gradegoal.Entity.AIAssessmentPrediction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * AI Assessment Prediction Repository
+ * Expired predictions are deactivated by ExpirySweeperService, so reads
+ * only need the is_active flag rather than comparing expires_at.
+ */
 @Repository
 public interface AIAssessmentPredictionRepository extends JpaRepository<AIAssessmentPrediction, Long> {
     
@@ -17,35 +24,40 @@ public interface AIAssessmentPredictionRepository extends JpaRepository<AIAssess
      * Find AI prediction for a specific assessment
      */
     @Query("SELECT p FROM AIAssessmentPrediction p WHERE p.assessmentId = :assessmentId " +
-           "AND p.userId = :userId AND p.isActive = true " +
-           "AND (p.expiresAt IS NULL OR p.expiresAt > :now)")
+           "AND p.userId = :userId AND p.isActive = true")
     Optional<AIAssessmentPrediction> findActivePredictionByAssessment(
         @Param("assessmentId") Long assessmentId,
-        @Param("userId") Long userId,
-        @Param("now") LocalDateTime now
+        @Param("userId") Long userId
     );
     
     /**
      * Find all AI predictions for a course
      */
     @Query("SELECT p FROM AIAssessmentPrediction p WHERE p.courseId = :courseId " +
-           "AND p.userId = :userId AND p.isActive = true " +
-           "AND (p.expiresAt IS NULL OR p.expiresAt > :now) ORDER BY p.createdAt DESC")
+           "AND p.userId = :userId AND p.isActive = true ORDER BY p.createdAt DESC")
     List<AIAssessmentPrediction> findActivePredictionsByCourse(
         @Param("courseId") Long courseId,
-        @Param("userId") Long userId,
-        @Param("now") LocalDateTime now
+        @Param("userId") Long userId
     );
     
     /**
      * Find all AI predictions for a user
      */
     @Query("SELECT p FROM AIAssessmentPrediction p WHERE p.userId = :userId AND p.isActive = true " +
-           "AND (p.expiresAt IS NULL OR p.expiresAt > :now) ORDER BY p.createdAt DESC")
-    List<AIAssessmentPrediction> findActivePredictionsByUser(
-        @Param("userId") Long userId,
-        @Param("now") LocalDateTime now
-    );
+           "ORDER BY p.createdAt DESC")
+    List<AIAssessmentPrediction> findActivePredictionsByUser(@Param("userId") Long userId);
+    
+    /**
+     * Error of the predictions against the grades later recorded for their assessments, on a
+     * 0-1 scale; only predictions made before the grade count
+     * @return Single row: number of graded predictions, mean squared error (null when none are graded)
+     */
+    @Query(value = "SELECT COUNT(*) AS graded_predictions, " +
+                   "AVG(POW((p.predicted_percentage - g.percentage_score) / 100.0, 2)) AS mse " +
+                   "FROM ai_assessment_predictions p JOIN grades g ON g.assessment_id = p.assessment_id " +
+                   "WHERE p.predicted_percentage IS NOT NULL AND g.percentage_score IS NOT NULL " +
+                   "AND p.created_at <= g.created_at", nativeQuery = true)
+    List<Object[]> getPredictionErrorSummary();
     
     /**
      * Find expired predictions for cleanup
@@ -54,16 +66,36 @@ public interface AIAssessmentPredictionRepository extends JpaRepository<AIAssess
     List<AIAssessmentPrediction> findExpiredPredictions(@Param("now") LocalDateTime now);
     
     /**
-     * Deactivate expired predictions
+     * Deactivate the active predictions of an assessment before a new one is saved
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AIAssessmentPrediction p SET p.isActive = false, p.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE p.userId = :userId AND p.assessmentId = :assessmentId AND p.isActive = true")
+    int deactivateActivePredictions(@Param("userId") Long userId, @Param("assessmentId") Long assessmentId);
+    
+    /**
+     * Deactivate one chunk of expired predictions; runs in its own transaction
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE ai_assessment_predictions SET is_active = false, updated_at = :now " +
+                   "WHERE is_active = true AND expires_at < :now ORDER BY expires_at LIMIT :chunkSize",
+           nativeQuery = true)
+    int deactivateExpiredPredictions(@Param("now") LocalDateTime now, @Param("chunkSize") int chunkSize);
+    
+    /**
+     * Delete one chunk of predictions deactivated before the cutoff; runs in its own transaction
      */
-    @Query("UPDATE AIAssessmentPrediction p SET p.isActive = false WHERE p.expiresAt IS NOT NULL AND p.expiresAt < :now")
-    int deactivateExpiredPredictions(@Param("now") LocalDateTime now);
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM ai_assessment_predictions WHERE is_active = false AND updated_at < :cutoff " +
+                   "ORDER BY updated_at LIMIT :chunkSize", nativeQuery = true)
+    int deleteInactivePredictions(@Param("cutoff") LocalDateTime cutoff, @Param("chunkSize") int chunkSize);
     
     /**
      * Check if prediction exists for assessment
      */
     @Query("SELECT COUNT(p) > 0 FROM AIAssessmentPrediction p WHERE p.assessmentId = :assessmentId " +
-           "AND p.userId = :userId AND p.isActive = true " +
-           "AND (p.expiresAt IS NULL OR p.expiresAt > :now)")
-    boolean existsActivePrediction(@Param("assessmentId") Long assessmentId, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+           "AND p.userId = :userId AND p.isActive = true")
+    boolean existsActivePrediction(@Param("assessmentId") Long assessmentId, @Param("userId") Long userId);
 }
@@ -1,13 +1,17 @@
 package com.project.gradegoal.Repository;
 
+import com.project.gradegoal.DTO.RecommendationSummary;
 import com.project.gradegoal.Entity.Recommendation;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,21 +32,48 @@ public interface AIRecommendationRepository extends JpaRepository<Recommendation
             @Param("recommendationType") Recommendation.RecommendationType recommendationType);
 
     /**
-     * Find AI recommendations by user ID (with limit)
+     * Keyset page of AI recommendation summaries, highest priority first, then newest
+     * The priority column is a MySQL ENUM('HIGH','MEDIUM','LOW'), which sorts by
+     * declaration order, so the ORDER BY walks idx_recommendations_user_ai_priority.
+     * Rows without a priority sort before HIGH and rows without createdAt after
+     * the dated ones of their priority, as MySQL orders nulls.
+     * Rows after the cursor are those of a lower priority (every priority when the
+     * cursor is among the rows without one), or of the cursor's priority that are
+     * older (ties broken by ID). Pass a null beforeId for the first page and
+     * limit + 1 as the page size.
      */
-    @Query("SELECT r FROM Recommendation r WHERE r.userId = :userId AND r.aiGenerated = true ORDER BY " +
-           "CASE r.priority WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 WHEN 'LOW' THEN 3 END, r.createdAt DESC")
-    List<Recommendation> findByUserIdAndAiGeneratedTrueOrderByPriorityDescCreatedAtDesc(@Param("userId") Long userId, Pageable pageable);
+    @Query("SELECT new com.project.gradegoal.DTO.RecommendationSummary(r.recommendationId, r.courseId, " +
+           "r.recommendationType, r.title, r.priority, r.createdAt, r.isRead, r.isDismissed) " +
+           "FROM Recommendation r WHERE r.userId = :userId AND r.aiGenerated = true " +
+           "AND (:courseId IS NULL OR r.courseId = :courseId) " +
+           "AND (:beforeId IS NULL OR r.priority IN :lowerPriorities " +
+           "OR ((r.priority = :cursorPriority OR (:cursorPriority IS NULL AND r.priority IS NULL)) " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.recommendationId < :beforeId) " +
+           "OR (r.createdAt IS NULL AND (:createdAt IS NOT NULL OR r.recommendationId < :beforeId))))) " +
+           "ORDER BY r.priority, r.createdAt DESC, r.recommendationId DESC")
+    List<RecommendationSummary> findAISummaryPage(@Param("userId") Long userId,
+                                                  @Param("courseId") Long courseId,
+                                                  @Param("cursorPriority") Recommendation.Priority cursorPriority,
+                                                  @Param("lowerPriorities") Collection<Recommendation.Priority> lowerPriorities,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("beforeId") Long beforeId,
+                                                  Pageable pageable);
 
     /**
-     * Find AI recommendations by user ID and course ID (with limit)
+     * Extend the expiry of an unchanged recommendation without rewriting its content
+     * @return 0 if the recommendation is gone or its content hash has changed
      */
-    @Query("SELECT r FROM Recommendation r WHERE r.userId = :userId AND r.courseId = :courseId AND r.aiGenerated = true ORDER BY " +
-           "CASE r.priority WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 WHEN 'LOW' THEN 3 END, r.createdAt DESC")
-    List<Recommendation> findByUserIdAndCourseIdAndAiGeneratedTrueOrderByPriorityDescCreatedAtDesc(
-            @Param("userId") Long userId, 
-            @Param("courseId") Long courseId, 
-            Pageable pageable);
+    @Transactional
+    @Modifying
+    @Query("UPDATE Recommendation r SET r.expiresAt = :expiresAt " +
+           "WHERE r.recommendationId = :recommendationId AND r.aiPromptHash = :contentHash")
+    int extendExpiry(@Param("recommendationId") Long recommendationId, @Param("contentHash") String contentHash,
+                     @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Whether a recommendation still exists with the given content hash
+     */
+    boolean existsByRecommendationIdAndAiPromptHash(Long recommendationId, String aiPromptHash);
 
     /**
      * Find all AI recommendations for a user
@@ -59,12 +90,34 @@ public interface AIRecommendationRepository extends JpaRepository<Recommendation
      */
     List<Recommendation> findByAiGeneratedTrueAndExpiresAtBefore(LocalDateTime now);
 
+    /**
+     * Delete one chunk of expired AI recommendations; runs in its own transaction
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM recommendations WHERE ai_generated = true AND expires_at < :now " +
+                   "ORDER BY expires_at LIMIT :chunkSize", nativeQuery = true)
+    int deleteExpiredAIRecommendations(@Param("now") LocalDateTime now, @Param("chunkSize") int chunkSize);
+
     /**
      * Count unread AI recommendations for a user
      */
     @Query("SELECT COUNT(r) FROM Recommendation r WHERE r.userId = :userId AND r.aiGenerated = true AND r.isRead = false AND r.isDismissed = false")
     long countUnreadAIRecommendations(@Param("userId") Long userId);
 
+    /**
+     * Count unread AI recommendations for several users at once (userId, count)
+     */
+    @Query("SELECT r.userId, COUNT(r) FROM Recommendation r WHERE r.userId IN :userIds AND r.aiGenerated = true AND r.isRead = false AND r.isDismissed = false GROUP BY r.userId")
+    List<Object[]> countUnreadAIRecommendationsByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * AI recommendations of several users created since a point in time (stream fan-out across nodes)
+     */
+    @Query("SELECT r FROM Recommendation r WHERE r.userId IN :userIds AND r.aiGenerated = true AND r.createdAt >= :since")
+    List<Recommendation> findAIRecommendationsCreatedSince(@Param("userIds") Collection<Long> userIds,
+                                                           @Param("since") LocalDateTime since);
+
     /**
      * Count unread AI recommendations for a user and course
      */
@@ -128,6 +181,17 @@ public interface AIRecommendationRepository extends JpaRepository<Recommendation
            "WHERE r.userId = :userId AND r.courseId = :courseId AND r.aiGenerated = true AND r.isDismissed = false")
     Object[] getAIRecommendationStatsByCourse(@Param("userId") Long userId, @Param("courseId") Long courseId, @Param("sevenDaysAgo") LocalDateTime sevenDaysAgo);
 
+    /**
+     * System-wide AI recommendation metrics for the admin dashboard, computed in the database
+     * so that the content and metadata blobs are never transferred
+     * @return Single row: total, successful generations, average confidence
+     */
+    @Query(value = "SELECT COUNT(*) AS total, " +
+                   "SUM(CASE WHEN ai_generated = 1 AND ai_confidence > 0 AND TRIM(content) <> '' THEN 1 ELSE 0 END) AS successful, " +
+                   "AVG(ai_confidence) AS avg_confidence " +
+                   "FROM recommendations", nativeQuery = true)
+    List<Object[]> getSystemAIRecommendationMetrics();
+
     /**
      * Delete expired AI recommendations
      */
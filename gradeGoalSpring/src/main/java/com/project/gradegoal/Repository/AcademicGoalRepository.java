@@ -66,6 +66,16 @@ public interface AcademicGoalRepository extends JpaRepository<AcademicGoal, Long
      * @return count of achieved academic goals
      */
     long countByIsAchievedTrue();
+
+    /**
+     * Goal coverage of courses for the admin overview export
+     * @return Single row: courses with goals, with an achieved goal, with a goal in progress
+     */
+    @Query(value = "SELECT COUNT(DISTINCT g.course_id), " +
+                   "COUNT(DISTINCT CASE WHEN g.is_achieved = 1 THEN g.course_id END), " +
+                   "COUNT(DISTINCT CASE WHEN g.is_achieved IS NULL OR g.is_achieved = 0 THEN g.course_id END) " +
+                   "FROM academic_goals g JOIN courses c ON c.course_id = g.course_id", nativeQuery = true)
+    List<Object[]> getCourseGoalCoverage();
     
     /**
      * Count academic goals by achievement date range
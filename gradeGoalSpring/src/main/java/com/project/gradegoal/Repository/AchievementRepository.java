@@ -2,6 +2,8 @@ package com.project.gradegoal.Repository;
 
 import com.project.gradegoal.Entity.Achievement;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +12,7 @@ import java.util.Optional;
 @Repository
 public interface AchievementRepository extends JpaRepository<Achievement, Integer> {
     
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Achievement> findByIsActiveTrue();
     
     List<Achievement> findByCategory(Achievement.AchievementCategory category);
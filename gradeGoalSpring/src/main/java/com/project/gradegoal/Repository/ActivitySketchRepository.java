@@ -0,0 +1,40 @@
+package com.project.gradegoal.Repository;
+
+import com.project.gradegoal.Entity.ActivitySketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ActivitySketchRepository extends JpaRepository<ActivitySketch, String> {
+
+    /**
+     * Read a sketch row and hold its lock until the merged registers are written back
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ActivitySketch s WHERE s.sketchKey = :sketchKey")
+    Optional<ActivitySketch> findForUpdate(@Param("sketchKey") String sketchKey);
+
+    /**
+     * Sketches written since the last sync (by this node or another)
+     */
+    List<ActivitySketch> findByUpdatedAtAfter(LocalDateTime updatedAt);
+
+    /**
+     * Drop buckets of one granularity that fell out of retention
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ActivitySketch s WHERE s.granularity = :granularity AND s.bucketStart < :cutoff")
+    int deleteBucketsBefore(@Param("granularity") ActivitySketch.Granularity granularity,
+                            @Param("cutoff") LocalDateTime cutoff);
+}
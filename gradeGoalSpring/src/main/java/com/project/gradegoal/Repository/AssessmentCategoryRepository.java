@@ -2,6 +2,8 @@ package com.project.gradegoal.Repository;
 
 import com.project.gradegoal.Entity.AssessmentCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -11,8 +13,10 @@ import java.util.List;
 @Repository
 public interface AssessmentCategoryRepository extends JpaRepository<AssessmentCategory, Long> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<AssessmentCategory> findByCourseId(Long courseId);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<AssessmentCategory> findByCourseIdOrderByOrderSequence(Long courseId);
 
     AssessmentCategory findByCourseIdAndCategoryName(Long courseId, String categoryName);
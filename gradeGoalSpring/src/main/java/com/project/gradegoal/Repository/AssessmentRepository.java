@@ -1,12 +1,15 @@
 package com.project.gradegoal.Repository;
 
+import com.project.gradegoal.DTO.AssessmentSummary;
 import com.project.gradegoal.Entity.Assessment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -34,7 +37,8 @@ public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
 
     long countByCategoryIdAndStatus(Long categoryId, Assessment.AssessmentStatus status);
 
-    @Query("SELECT a FROM Assessment a WHERE a.dueDate < :currentDate AND a.status != 'COMPLETED' AND a.status != 'CANCELLED'")
+    // Open statuses listed explicitly (rather than excluding COMPLETED and CANCELLED) so the status,due_date index serves it
+    @Query("SELECT a FROM Assessment a WHERE a.dueDate < :currentDate AND a.status IN ('UPCOMING', 'OVERDUE')")
     List<Assessment> findOverdueAssessments(@Param("currentDate") LocalDate currentDate);
 
     @Query("SELECT a FROM Assessment a WHERE a.dueDate BETWEEN :currentDate AND :futureDate AND a.status = 'UPCOMING'")
@@ -55,5 +59,51 @@ public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
            "WHERE c.userId = :userId AND a.dueDate IS NOT NULL")
     List<Assessment> findByUserId(@Param("userId") Long userId);
 
+    // ========================================
+    // KEYSET PAGINATION
+    // ========================================
+
+    String ASSESSMENT_SUMMARY_SELECT = "SELECT new com.project.gradegoal.DTO.AssessmentSummary(a.assessmentId, a.categoryId, " +
+           "c.courseId, c.userId, a.assessmentName, a.maxPoints, a.dueDate, a.status, a.semesterTerm, c.courseName, " +
+           "ac.categoryName, a.createdAt) FROM Assessment a " +
+           "JOIN AssessmentCategory ac ON a.categoryId = ac.categoryId " +
+           "JOIN Course c ON ac.courseId = c.courseId ";
+
+    String ASSESSMENT_SUMMARY_FILTERS = "AND (:userId IS NULL OR c.userId = :userId) " +
+           "AND (:status IS NULL OR a.status = :status) " +
+           "AND (:dueFrom IS NULL OR a.dueDate >= :dueFrom) " +
+           "AND (:dueTo IS NULL OR a.dueDate <= :dueTo) ";
+
+    /**
+     * Assessment summaries after the given id, ascending by id (pass 0 for the first page)
+     */
+    @Query(ASSESSMENT_SUMMARY_SELECT + "WHERE a.assessmentId > :afterId " + ASSESSMENT_SUMMARY_FILTERS +
+           "ORDER BY a.assessmentId ASC")
+    List<AssessmentSummary> findSummariesAfterId(@Param("afterId") Long afterId,
+                                                 @Param("userId") Long userId,
+                                                 @Param("status") Assessment.AssessmentStatus status,
+                                                 @Param("dueFrom") LocalDate dueFrom,
+                                                 @Param("dueTo") LocalDate dueTo,
+                                                 Pageable pageable);
+
+    /**
+     * Assessment summaries older than the given (createdAt, id) position, newest first
+     * (pass nulls for the first page). Rows without createdAt come last, as MySQL
+     * sorts nulls last in descending order; a null createdAt with an id is a
+     * position among them.
+     */
+    @Query(ASSESSMENT_SUMMARY_SELECT + "WHERE (:beforeId IS NULL OR a.createdAt < :createdAt " +
+           "OR (a.createdAt = :createdAt AND a.assessmentId < :beforeId) " +
+           "OR (a.createdAt IS NULL AND (:createdAt IS NOT NULL OR a.assessmentId < :beforeId))) " +
+           ASSESSMENT_SUMMARY_FILTERS +
+           "ORDER BY a.createdAt DESC, a.assessmentId DESC")
+    List<AssessmentSummary> findSummariesBeforeCreatedAt(@Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("beforeId") Long beforeId,
+                                                         @Param("userId") Long userId,
+                                                         @Param("status") Assessment.AssessmentStatus status,
+                                                         @Param("dueFrom") LocalDate dueFrom,
+                                                         @Param("dueTo") LocalDate dueTo,
+                                                         Pageable pageable);
+
     void deleteByCategoryId(Long categoryId);
 }
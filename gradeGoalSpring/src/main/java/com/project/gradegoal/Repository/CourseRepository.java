@@ -1,7 +1,11 @@
 package com.project.gradegoal.Repository;
 
+import com.project.gradegoal.DTO.CourseSummary;
 import com.project.gradegoal.Entity.Course;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.repository.query.Param;
@@ -15,8 +19,10 @@ import java.util.Optional;
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Course> findByUserId(Long userId);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Course> findByUserIdAndIsActiveTrue(Long userId);
 
     List<Course> findByUserIdAndSemester(Long userId, Course.Semester semester);
@@ -61,6 +67,17 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
      * @return count of active courses
      */
     long countByIsActiveTrue();
+
+    long countByIsActiveFalse();
+
+    long countByCalculatedCourseGradeLessThan(BigDecimal grade);
+
+    /**
+     * Count non-admin users who have at least one course
+     */
+    @Query(value = "SELECT COUNT(DISTINCT c.user_id) FROM courses c JOIN users u ON u.user_id = c.user_id " +
+                   "WHERE u.role <> 'ADMIN'", nativeQuery = true)
+    long countNonAdminUsersWithCourses();
     
     /**
      * Count courses by creation date range
@@ -87,6 +104,104 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
      */
     List<Course> findByUserIdAndCreatedAtBetween(Long userId, LocalDateTime startDate, LocalDateTime endDate);
 
+    // ========================================
+    // KEYSET PAGINATION
+    // ========================================
+
+    String COURSE_SUMMARY_SELECT = "SELECT new com.project.gradegoal.DTO.CourseSummary(c.courseId, c.userId, c.courseCode, " +
+           "c.courseName, c.semester, c.academicYear, c.creationYearLevel, c.creditHours, c.calculatedCourseGrade, " +
+           "c.courseGpa, c.isActive, c.isCompleted, c.aiPredictionRating, c.createdAt, c.updatedAt) FROM Course c ";
+
+    String COURSE_SUMMARY_FILTERS = "AND (:semester IS NULL OR c.semester = :semester) " +
+           "AND (:academicYear IS NULL OR c.academicYear = :academicYear) " +
+           "AND (:isActive IS NULL OR c.isActive = :isActive) " +
+           "AND (:ratedOnly = false OR c.aiPredictionRating IS NOT NULL) ";
+
+    /**
+     * Course summaries after the given id, ascending by id (pass 0 for the first page)
+     */
+    @Query(COURSE_SUMMARY_SELECT + "WHERE c.courseId > :afterId " + COURSE_SUMMARY_FILTERS + "ORDER BY c.courseId ASC")
+    List<CourseSummary> findSummariesAfterId(@Param("afterId") Long afterId,
+                                             @Param("semester") Course.Semester semester,
+                                             @Param("academicYear") String academicYear,
+                                             @Param("isActive") Boolean isActive,
+                                             @Param("ratedOnly") boolean ratedOnly,
+                                             Pageable pageable);
+
+    /**
+     * Course summaries older than the given (createdAt, id) position, newest first
+     * (pass nulls for the first page). Rows without createdAt come last, as MySQL
+     * sorts nulls last in descending order; a null createdAt with an id is a
+     * position among them.
+     */
+    @Query(COURSE_SUMMARY_SELECT + "WHERE (:beforeId IS NULL OR c.createdAt < :createdAt " +
+           "OR (c.createdAt = :createdAt AND c.courseId < :beforeId) " +
+           "OR (c.createdAt IS NULL AND (:createdAt IS NOT NULL OR c.courseId < :beforeId))) " +
+           COURSE_SUMMARY_FILTERS +
+           "ORDER BY c.createdAt DESC, c.courseId DESC")
+    List<CourseSummary> findSummariesBeforeCreatedAt(@Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("beforeId") Long beforeId,
+                                                     @Param("semester") Course.Semester semester,
+                                                     @Param("academicYear") String academicYear,
+                                                     @Param("isActive") Boolean isActive,
+                                                     @Param("ratedOnly") boolean ratedOnly,
+                                                     Pageable pageable);
+
+    // ========================================
+    // AGGREGATE STATISTICS
+    // ========================================
+
+    /**
+     * Course count and average course grade of one user
+     * @return Single row: course count, graded course count, average calculated course grade
+     */
+    @Query("SELECT COUNT(c), COUNT(c.calculatedCourseGrade), AVG(c.calculatedCourseGrade) FROM Course c WHERE c.userId = :userId")
+    List<Object[]> getCourseGradeSummary(@Param("userId") Long userId);
+
+    /**
+     * Course count and average course grade per non-admin user, in user ID order
+     * @return Rows of: user ID, course count, graded course count, average calculated course grade
+     */
+    @Query(value = "SELECT c.user_id, COUNT(*), COUNT(c.calculated_course_grade), AVG(c.calculated_course_grade) " +
+                   "FROM courses c JOIN users u ON u.user_id = c.user_id " +
+                   "WHERE u.role <> 'ADMIN' AND c.user_id > :afterUserId " +
+                   "GROUP BY c.user_id ORDER BY c.user_id LIMIT :chunkSize", nativeQuery = true)
+    List<Object[]> getCourseGradeSummariesAfter(@Param("afterUserId") Long afterUserId, @Param("chunkSize") int chunkSize);
+
+    /**
+     * Course totals for the admin dashboard
+     * @return Single row: total courses, active courses, average calculated course grade
+     */
+    @Query("SELECT COUNT(c), SUM(CASE WHEN c.isActive = true THEN 1 ELSE 0 END), AVG(c.calculatedCourseGrade) FROM Course c")
+    List<Object[]> getCourseStatistics();
+
+    /**
+     * Summary of AI prediction ratings given on course completion
+     * @return Single row: number of rated courses, average rating
+     */
+    @Query("SELECT COUNT(c), AVG(c.aiPredictionRating) FROM Course c WHERE c.aiPredictionRating IS NOT NULL")
+    List<Object[]> getAIPredictionRatingSummary();
+
+    /**
+     * AI prediction ratings bucketed by day of last update, newest bucket first
+     * @return Rows of: bucket date, number of ratings, sum of ratings
+     */
+    @Query(value = "SELECT DATE(updated_at) AS bucket, COUNT(*) AS ratings, SUM(ai_prediction_rating) AS rating_sum " +
+                   "FROM courses WHERE ai_prediction_rating IS NOT NULL AND updated_at IS NOT NULL " +
+                   "GROUP BY DATE(updated_at) ORDER BY bucket DESC", nativeQuery = true)
+    List<Object[]> getAIPredictionRatingsByDay();
+
+    /**
+     * Credit-weighted GPA inputs for every term a user has courses in
+     * @param userId User ID
+     * @return Rows of: academic year, semester, sum of GPA x credit hours, sum of credit hours
+     */
+    @Query("SELECT c.academicYear, c.semester, SUM(c.courseGpa * c.creditHours), SUM(c.creditHours) " +
+           "FROM Course c WHERE c.userId = :userId AND c.isActive = true " +
+           "AND c.courseGpa IS NOT NULL AND c.creditHours IS NOT NULL " +
+           "GROUP BY c.academicYear, c.semester ORDER BY c.academicYear, c.semester")
+    List<Object[]> getSemesterGpaTotalsByUserId(@Param("userId") Long userId);
+
     // ========================================
     // DATABASE FUNCTION CALLS
     // ========================================
@@ -1,10 +1,12 @@
 package com.project.gradegoal.Repository;
 
 import com.project.gradegoal.Entity.ExportLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -17,6 +19,8 @@ public interface ExportLogRepository extends JpaRepository<ExportLog, Long> {
     @Query("SELECT e FROM ExportLog e WHERE e.status = 'COMPLETED' ORDER BY e.createdAt DESC")
     List<ExportLog> findCompletedExports();
     
+    List<ExportLog> findByExpiresAtBeforeAndFilePathIsNotNullOrderByExpiresAtAsc(LocalDateTime cutoff, Pageable pageable);
+    
     @Query("SELECT COUNT(e) FROM ExportLog e WHERE e.userId = :userId AND e.exportType = :exportType")
     long countByUserIdAndExportType(Long userId, String exportType);
 }
@@ -0,0 +1,73 @@
+package com.project.gradegoal.Repository;
+
+import com.project.gradegoal.Entity.GpaSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface GpaSnapshotRepository extends JpaRepository<GpaSnapshot, Long> {
+
+    // ========================================
+    // LATEST / EARLIEST READINGS
+    // ========================================
+
+    GpaSnapshot findFirstByUserIdAndCourseIdIsNullOrderBySnapshotIdDesc(Long userId);
+
+    GpaSnapshot findFirstByUserIdAndCourseIdIsNullAndCumulativeGpaGreaterThanOrderBySnapshotIdAsc(Long userId, Double cumulativeGpa);
+
+    GpaSnapshot findFirstByCourseIdOrderBySnapshotIdDesc(Long courseId);
+
+    GpaSnapshot findFirstByUserIdAndCourseIdIsNullAndSnapshotDateLessThanEqualOrderBySnapshotIdDesc(Long userId, LocalDate date);
+
+    GpaSnapshot findFirstByUserIdAndCourseIdIsNullAndSnapshotDateGreaterThanEqualOrderBySnapshotIdAsc(Long userId, LocalDate date);
+
+    // ========================================
+    // RANGE QUERIES
+    // ========================================
+
+    List<GpaSnapshot> findByUserIdAndCourseIdIsNullAndSnapshotDateBetweenOrderBySnapshotIdAsc(Long userId, LocalDate from, LocalDate to);
+
+    List<GpaSnapshot> findByCourseIdAndSnapshotDateBetweenOrderBySnapshotIdAsc(Long courseId, LocalDate from, LocalDate to);
+
+    /**
+     * Average cumulative GPA over a half-open date window
+     * @return Average, or null when there are no readings in the window
+     */
+    @Query("SELECT AVG(s.cumulativeGpa) FROM GpaSnapshot s WHERE s.userId = :userId AND s.courseId IS NULL " +
+           "AND s.snapshotDate >= :from AND s.snapshotDate < :to")
+    Double averageCumulativeGpa(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // ========================================
+    // DOWNSAMPLING
+    // ========================================
+
+    /**
+     * Keep only the last reading per user, course and day for days before the cutoff
+     */
+    @Modifying
+    @Query(value = "DELETE s FROM gpa_snapshots s " +
+                   "INNER JOIN gpa_snapshots newer ON newer.user_id = s.user_id " +
+                   "AND newer.course_id <=> s.course_id " +
+                   "AND newer.snapshot_date = s.snapshot_date " +
+                   "AND newer.snapshot_id > s.snapshot_id " +
+                   "WHERE s.snapshot_date < :cutoff", nativeQuery = true)
+    int downsampleToDaily(@Param("cutoff") LocalDate cutoff);
+
+    /**
+     * Keep only the last reading per user, course and ISO week for weeks before the cutoff
+     */
+    @Modifying
+    @Query(value = "DELETE s FROM gpa_snapshots s " +
+                   "INNER JOIN gpa_snapshots newer ON newer.user_id = s.user_id " +
+                   "AND newer.course_id <=> s.course_id " +
+                   "AND YEARWEEK(newer.snapshot_date, 3) = YEARWEEK(s.snapshot_date, 3) " +
+                   "AND newer.snapshot_id > s.snapshot_id " +
+                   "WHERE s.snapshot_date < :cutoff AND newer.snapshot_date < :cutoff", nativeQuery = true)
+    int downsampleToWeekly(@Param("cutoff") LocalDate cutoff);
+}
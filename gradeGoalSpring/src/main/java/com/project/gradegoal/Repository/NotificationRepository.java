@@ -1,18 +1,59 @@
 package com.project.gradegoal.Repository;
 
 import com.project.gradegoal.Entity.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     
-    List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
-    
-    List<Notification> findByUserIdAndIsReadOrderByCreatedAtDesc(Long userId, Boolean isRead);
+    /**
+     * Keyset page of a user's notifications, newest first
+     * Pass a null beforeId for the first page and limit + 1 as the page size
+     */
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId " +
+           "AND (:beforeId IS NULL OR n.notificationId < :beforeId) " +
+           "AND (:unreadOnly = false OR n.isRead = false) " +
+           "ORDER BY n.notificationId DESC")
+    List<Notification> findFeedPage(@Param("userId") Long userId,
+                                    @Param("beforeId") Long beforeId,
+                                    @Param("unreadOnly") boolean unreadOnly,
+                                    Pageable pageable);
     
     long countByUserIdAndIsRead(Long userId, Boolean isRead);
+    
+    @Query("SELECT n.userId, COUNT(n) FROM Notification n WHERE n.userId IN :userIds AND n.isRead = false GROUP BY n.userId")
+    List<Object[]> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+    
+    /**
+     * Notifications of several users created since a point in time (stream fan-out across nodes)
+     */
+    List<Notification> findByUserIdInAndCreatedAtGreaterThanEqual(Collection<Long> userIds, LocalDateTime since);
+    
+    /**
+     * Mark every unread notification of a user as read in one statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = :readAt WHERE n.userId = :userId AND n.isRead = false")
+    int markAllAsReadByUserId(@Param("userId") Long userId, @Param("readAt") LocalDateTime readAt);
+    
+    /**
+     * Delete one chunk of read notifications created before the cutoff.
+     * Runs in its own transaction so each chunk commits and releases its locks.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM notifications WHERE is_read = true AND created_at < :cutoff " +
+                   "ORDER BY created_at LIMIT :chunkSize", nativeQuery = true)
+    int deleteReadCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("chunkSize") int chunkSize);
 }
 
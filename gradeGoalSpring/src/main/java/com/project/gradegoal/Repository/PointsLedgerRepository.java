@@ -0,0 +1,58 @@
+package com.project.gradegoal.Repository;
+
+import com.project.gradegoal.Entity.PointsLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PointsLedgerRepository extends JpaRepository<PointsLedgerEntry, Long> {
+
+    /**
+     * Most recent awards for a user (audit trail)
+     */
+    List<PointsLedgerEntry> findTop50ByUserIdOrderByEntryIdDesc(Long userId);
+
+    /**
+     * Points recorded for a user that are not yet folded into user_progress
+     * @param userId User ID
+     * @param afterEntryId The user's ledger watermark
+     * @return Sum of points above the watermark (0 if none)
+     */
+    @Query("SELECT COALESCE(SUM(l.points), 0) FROM PointsLedgerEntry l WHERE l.userId = :userId AND l.entryId > :afterEntryId")
+    Long sumPointsAfter(@Param("userId") Long userId, @Param("afterEntryId") Long afterEntryId);
+
+    /**
+     * Highest entry recorded before the settle cutoff
+     * @param afterEntryId Only entries above this ID are looked at
+     * @param settledBefore Settle cutoff
+     * @return Entry ID, or null if there is none
+     */
+    @Query("SELECT MAX(l.entryId) FROM PointsLedgerEntry l WHERE l.entryId > :afterEntryId AND l.createdAt < :settledBefore")
+    Long findLastEntryIdBefore(@Param("afterEntryId") Long afterEntryId, @Param("settledBefore") LocalDateTime settledBefore);
+
+    /**
+     * Lowest entry recorded at or after the settle cutoff
+     * @param afterEntryId Only entries above this ID are looked at
+     * @param settledBefore Settle cutoff
+     * @return Entry ID, or null if there is none
+     */
+    @Query("SELECT MIN(l.entryId) FROM PointsLedgerEntry l WHERE l.entryId > :afterEntryId AND l.createdAt >= :settledBefore")
+    Long findFirstEntryIdSince(@Param("afterEntryId") Long afterEntryId, @Param("settledBefore") LocalDateTime settledBefore);
+
+    /**
+     * Un-compacted points per user, limited to entries up to the settled ledger prefix
+     * @param settledThrough Every entry ID up to this one is settled
+     * @return Rows of: user ID, sum of points, current ledger watermark
+     */
+    @Query(value = "SELECT l.user_id, SUM(l.points), COALESCE(p.ledger_watermark, 0) FROM points_ledger l " +
+                   "LEFT JOIN user_progress p ON p.user_id = l.user_id " +
+                   "WHERE l.entry_id > COALESCE(p.ledger_watermark, 0) AND l.entry_id <= :settledThrough " +
+                   "GROUP BY l.user_id, p.ledger_watermark LIMIT :maxUsers", nativeQuery = true)
+    List<Object[]> findCompactableTotals(@Param("settledThrough") Long settledThrough,
+                                         @Param("maxUsers") int maxUsers);
+}
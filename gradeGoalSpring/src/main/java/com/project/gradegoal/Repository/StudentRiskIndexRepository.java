@@ -0,0 +1,58 @@
+package com.project.gradegoal.Repository;
+
+import com.project.gradegoal.Entity.StudentRiskIndex;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StudentRiskIndexRepository extends JpaRepository<StudentRiskIndex, Long> {
+
+    /**
+     * Students below a grade threshold, lowest average first, one keyset page at a time
+     * @param threshold Exclusive upper bound of the average grade
+     * @param cursorGrade Average grade of the last row of the previous page, or null for the first page
+     * @param afterId User ID of the last row of the previous page (ties on the average)
+     */
+    @Query("SELECT r FROM StudentRiskIndex r WHERE r.averageGrade < :threshold " +
+           "AND (:cursorGrade IS NULL OR r.averageGrade > :cursorGrade " +
+           "OR (r.averageGrade = :cursorGrade AND r.userId > :afterId)) " +
+           "ORDER BY r.averageGrade ASC, r.userId ASC")
+    List<StudentRiskIndex> findAtRiskPage(@Param("threshold") BigDecimal threshold,
+                                          @Param("cursorGrade") BigDecimal cursorGrade,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
+    long countByAverageGradeLessThan(BigDecimal threshold);
+
+    /**
+     * Insert or replace a student's entry without reading it first
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO student_risk_index (user_id, course_count, average_grade, trend, updated_at) " +
+                   "VALUES (:userId, :courseCount, :averageGrade, :trend, :updatedAt) " +
+                   "ON DUPLICATE KEY UPDATE course_count = VALUES(course_count), average_grade = VALUES(average_grade), " +
+                   "trend = VALUES(trend), updated_at = VALUES(updated_at)", nativeQuery = true)
+    int upsert(@Param("userId") Long userId,
+               @Param("courseCount") int courseCount,
+               @Param("averageGrade") BigDecimal averageGrade,
+               @Param("trend") Double trend,
+               @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Remove entries a full rebuild did not touch (students without graded courses any more)
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StudentRiskIndex r WHERE r.updatedAt < :cutoff")
+    int deleteNotUpdatedSince(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -47,6 +47,20 @@ public interface UserAchievementRepository extends JpaRepository<UserAchievement
     @Query("SELECT COUNT(ua) FROM UserAchievement ua WHERE ua.achievementId = :achievementId")
     long countByAchievementId(@Param("achievementId") Integer achievementId);
     
+    /**
+     * Number of awards per achievement, one grouped pass over user_achievements
+     * @return Rows of: achievement ID, award count (achievements never awarded are absent)
+     */
+    @Query("SELECT ua.achievementId, COUNT(ua) FROM UserAchievement ua GROUP BY ua.achievementId")
+    List<Object[]> countAwardsGroupedByAchievement();
+
+    /**
+     * Unique users holding at least one achievement of each rarity
+     * @return Rows of: rarity, unique user count (rarities never awarded are absent)
+     */
+    @Query("SELECT a.rarity, COUNT(DISTINCT ua.userId) FROM UserAchievement ua JOIN Achievement a ON ua.achievementId = a.achievementId GROUP BY a.rarity")
+    List<Object[]> countUniqueUsersGroupedByRarity();
+    
     /**
      * Count total unique users who have earned any achievement
      */
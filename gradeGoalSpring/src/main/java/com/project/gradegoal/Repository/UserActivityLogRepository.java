@@ -52,10 +52,18 @@ public interface UserActivityLogRepository extends JpaRepository<UserActivityLog
      * Find top N recent activities ordered by timestamp
      */
     List<UserActivityLog> findTop10ByOrderByCreatedAtDesc();
+
+    List<UserActivityLog> findTop25ByOrderByCreatedAtDesc();
     
     /**
      * Find activities created after specified date
      */
     List<UserActivityLog> findByCreatedAtAfter(LocalDateTime createdAt);
+
+    /**
+     * Number and latest time of AI activities, as a single row
+     */
+    @Query("SELECT COUNT(ual), MAX(ual.createdAt) FROM UserActivityLog ual WHERE LOWER(ual.activityType) LIKE '%ai%'")
+    List<Object[]> getAIUsageSummary();
 }
 
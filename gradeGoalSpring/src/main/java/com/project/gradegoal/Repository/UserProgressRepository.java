@@ -7,6 +7,9 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
 public interface UserProgressRepository extends JpaRepository<UserProgress, Long> {
     
@@ -24,6 +27,70 @@ public interface UserProgressRepository extends JpaRepository<UserProgress, Long
      */
     boolean existsByUserId(Long userId);
 
+    // ========================================
+    // ATOMIC POINT ACCOUNTING
+    // ========================================
+
+    /**
+     * Add points in place; the row stays locked until the surrounding transaction ends
+     * @return number of rows updated (0 if the user has no progress row)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE user_progress SET total_points = total_points + :points, " +
+                   "last_activity_date = CURRENT_DATE, updated_at = NOW() WHERE user_id = :userId", nativeQuery = true)
+    int incrementTotalPoints(@Param("userId") Long userId, @Param("points") Integer points);
+
+    /**
+     * Read total points and level straight from the row
+     * @return Single row: total points, current level
+     */
+    @Query(value = "SELECT total_points, current_level FROM user_progress WHERE user_id = :userId", nativeQuery = true)
+    List<Object[]> findPointsAndLevel(@Param("userId") Long userId);
+
+    /**
+     * Apply a level change, its bonus points and the new distance to the next level
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE user_progress SET current_level = :level, total_points = total_points + :bonus, " +
+                   "points_to_next_level = :pointsToNextLevel WHERE user_id = :userId", nativeQuery = true)
+    int updateLevel(@Param("userId") Long userId, @Param("level") Integer level,
+                    @Param("bonus") Integer bonus, @Param("pointsToNextLevel") Integer pointsToNextLevel);
+
+    /**
+     * Record that ledger entries up to the given ID are folded into total_points
+     * Only moves the watermark if it is still where the caller read it, so a fold is applied once
+     * @return number of rows updated (0 if the watermark moved in the meantime)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE user_progress SET ledger_watermark = :watermark " +
+                   "WHERE user_id = :userId AND COALESCE(ledger_watermark, 0) = :previousWatermark", nativeQuery = true)
+    int advanceLedgerWatermark(@Param("userId") Long userId, @Param("previousWatermark") Long previousWatermark,
+                               @Param("watermark") Long watermark);
+
+    // ========================================
+    // LOGIN STREAK
+    // ========================================
+
+    /**
+     * Read streak days and last activity date straight from the row
+     * @return Single row: streak days, last activity date (empty if no progress row)
+     */
+    @Query(value = "SELECT streak_days, last_activity_date FROM user_progress WHERE user_id = :userId", nativeQuery = true)
+    List<Object[]> findStreakState(@Param("userId") Long userId);
+
+    /**
+     * Apply a day's streak transition in one statement: +1 after yesterday, unchanged for today, otherwise reset to 1
+     * streak_days is assigned first so it is evaluated against the previous last_activity_date
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE user_progress SET " +
+                   "streak_days = CASE WHEN last_activity_date = :today THEN streak_days " +
+                   "WHEN last_activity_date = :yesterday THEN streak_days + 1 ELSE 1 END, " +
+                   "last_activity_date = :today, updated_at = NOW() " +
+                   "WHERE user_id = :userId", nativeQuery = true)
+    int applyStreakTransition(@Param("userId") Long userId, @Param("today") LocalDate today,
+                              @Param("yesterday") LocalDate yesterday);
+
     // ========================================
     // DATABASE PROCEDURE CALLS
     // ========================================
@@ -2,6 +2,8 @@ package com.project.gradegoal.Repository;
 
 import com.project.gradegoal.Entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -88,4 +90,23 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return count of users created between dates and not having the specified role
      */
     long countByCreatedAtBetweenAndRoleNot(LocalDateTime startDate, LocalDateTime endDate, String role);
+    
+    /**
+     * Lowest and highest ID of the users to notify (email address and email or push notifications enabled), as a single row
+     * @return list with one row of [minUserId, maxUserId]; both null when there is no such user
+     */
+    @Query("SELECT MIN(u.userId), MAX(u.userId) FROM User u WHERE u.email IS NOT NULL AND u.email <> '' " +
+           "AND (u.emailNotificationsEnabled = true OR u.pushNotificationsEnabled = true)")
+    List<Object[]> getNotifiableUserIdRange();
+    
+    /**
+     * Find the users to notify within a user ID range
+     * @param fromUserId First user ID (inclusive)
+     * @param toUserId Last user ID (inclusive)
+     * @return users with an email address and email or push notifications enabled, by ID
+     */
+    @Query("SELECT u FROM User u WHERE u.userId BETWEEN :fromUserId AND :toUserId " +
+           "AND u.email IS NOT NULL AND u.email <> '' " +
+           "AND (u.emailNotificationsEnabled = true OR u.pushNotificationsEnabled = true) ORDER BY u.userId")
+    List<User> findNotifiableUsersInRange(@Param("fromUserId") Long fromUserId, @Param("toUserId") Long toUserId);
 }
\ No newline at end of file
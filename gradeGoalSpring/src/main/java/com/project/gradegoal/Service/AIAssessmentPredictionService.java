@@ -0,0 +1,294 @@
+package com.project.gradegoal.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.project.gradegoal.Entity.AIAssessmentPrediction;
+import com.project.gradegoal.Repository.AIAssessmentPredictionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * AI Assessment Prediction Service
+ *
+ * Read-through cache in front of the active AI prediction queries. An entry
+ * lives until the prediction's own expiresAt (capped by a maximum TTL), and
+ * "no prediction" answers are cached for a short time, so existence checks on
+ * assessment and course screens are answered from memory. Entries are dropped
+ * after a prediction is saved and after grades of the assessment change.
+ *
+ * Assessments and courses belong to a single user, so the caches are keyed by
+ * assessment and course ID and invalidated by key. Changes that only identify
+ * the user bump a per-user generation instead; entries loaded under an older
+ * generation are treated as missing.
+ */
+@Service
+public class AIAssessmentPredictionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIAssessmentPredictionService.class);
+
+    @Autowired
+    private AIAssessmentPredictionRepository predictionRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${gradegoal.ai-predictions.ttl-days:7}")
+    private int predictionTtlDays;
+
+    @Value("${gradegoal.ai-predictions.cache.max-ttl-minutes:60}")
+    private long maxTtlMinutes;
+
+    @Value("${gradegoal.ai-predictions.cache.negative-ttl-minutes:10}")
+    private long negativeTtlMinutes;
+
+    @Value("${gradegoal.ai-predictions.cache.max-size:20000}")
+    private long maxSize;
+
+    private Cache<Long, CachedPrediction> assessmentCache;
+
+    private Cache<Long, CachedCoursePredictions> courseCache;
+
+    // Course of each assessment in a cached course entry; outlives the entry, which expires within the max TTL
+    private Cache<Long, Long> courseOfAssessment;
+
+    private Cache<Long, Long> userGenerations;
+
+    private TransactionTemplate saveTransaction;
+
+    @PostConstruct
+    void buildCaches() {
+        assessmentCache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(expiringAt((CachedPrediction cached) -> cached.prediction != null
+                ? ttlUntil(cached.prediction.getExpiresAt())
+                : Duration.ofMinutes(negativeTtlMinutes)))
+            .build();
+        courseCache = Caffeine.newBuilder()
+            .maximumSize(maxSize / 10)
+            .expireAfter(expiringAt((CachedCoursePredictions cached) -> cached.predictions.stream()
+                .map(prediction -> ttlUntil(prediction.getExpiresAt()))
+                .min(Duration::compareTo)
+                .orElse(Duration.ofMinutes(negativeTtlMinutes))))
+            .build();
+        courseOfAssessment = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(maxTtlMinutes))
+            .build();
+        // A generation outlives every entry loaded before it was bumped, so expiring it is safe
+        userGenerations = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(maxTtlMinutes))
+            .build();
+        saveTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Get the active prediction for an assessment
+     * @param userId User ID
+     * @param assessmentId Assessment ID
+     * @return Active, unexpired prediction if one exists
+     */
+    public Optional<AIAssessmentPrediction> getActivePrediction(Long userId, Long assessmentId) {
+        CachedPrediction cached = assessmentCache.get(assessmentId, key -> loadPrediction(userId, assessmentId));
+        if (!cached.userId.equals(userId) || cached.generation != generationOf(userId)) {
+            cached = loadPrediction(userId, assessmentId);
+            assessmentCache.put(assessmentId, cached);
+        }
+        return Optional.ofNullable(cached.prediction).filter(this::isUnexpired);
+    }
+
+    /**
+     * Whether an assessment has an active prediction (answered from memory when cached)
+     */
+    public boolean hasActivePrediction(Long userId, Long assessmentId) {
+        return getActivePrediction(userId, assessmentId).isPresent();
+    }
+
+    /**
+     * Get the active predictions of every assessment in a course, newest first
+     * @param userId User ID
+     * @param courseId Course ID
+     * @return Active, unexpired predictions
+     */
+    public List<AIAssessmentPrediction> getActivePredictionsForCourse(Long userId, Long courseId) {
+        CachedCoursePredictions cached = courseCache.get(courseId, key -> loadCoursePredictions(userId, courseId));
+        if (!cached.userId.equals(userId) || cached.generation != generationOf(userId)) {
+            cached = loadCoursePredictions(userId, courseId);
+            courseCache.put(courseId, cached);
+        }
+        return cached.predictions.stream().filter(this::isUnexpired).toList();
+    }
+
+    /**
+     * Save a new prediction for an assessment, replacing the active one
+     *
+     * A unique key allows one active prediction per user and assessment. When a
+     * concurrent save wins the race, this save is retried in a new transaction,
+     * so the later prediction replaces the earlier one.
+     * @param prediction Prediction to save (userId, courseId and assessmentId required)
+     * @return Saved prediction
+     */
+    public AIAssessmentPrediction savePrediction(AIAssessmentPrediction prediction) {
+        try {
+            return saveTransaction.execute(status -> replaceActivePrediction(prediction));
+        } catch (DataIntegrityViolationException e) {
+            logger.info("🔁 Concurrent AI prediction save for user {} assessment {}, retrying",
+                prediction.getUserId(), prediction.getAssessmentId());
+            return saveTransaction.execute(status -> replaceActivePrediction(prediction));
+        }
+    }
+
+    private AIAssessmentPrediction replaceActivePrediction(AIAssessmentPrediction prediction) {
+        predictionRepository.deactivateActivePredictions(prediction.getUserId(), prediction.getAssessmentId());
+
+        prediction.setId(null);
+        prediction.setIsActive(true);
+        if (prediction.getExpiresAt() == null) {
+            prediction.setExpiresAt(LocalDateTime.now().plusDays(predictionTtlDays));
+        }
+        AIAssessmentPrediction saved = predictionRepository.saveAndFlush(prediction);
+
+        eventPublisher.publishEvent(new AssessmentPredictionChangedEvent(
+            saved.getUserId(), saved.getCourseId(), saved.getAssessmentId()));
+        logger.info("🔮 AI prediction saved for user {} assessment {}", saved.getUserId(), saved.getAssessmentId());
+        return saved;
+    }
+
+    /**
+     * Drop cached reads once a saved prediction is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPredictionChanged(AssessmentPredictionChangedEvent event) {
+        assessmentCache.invalidate(event.getAssessmentId());
+        courseCache.invalidate(event.getCourseId());
+    }
+
+    /**
+     * Drop cached predictions of an assessment whose grades changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssessmentGradeChanged(AssessmentGradeChangedEvent event) {
+        Long assessmentId = event.getAssessmentId();
+        if (assessmentId == null) {
+            return;
+        }
+        assessmentCache.invalidate(assessmentId);
+        Long courseId = courseOfAssessment.getIfPresent(assessmentId);
+        if (courseId != null) {
+            courseCache.invalidate(courseId);
+        }
+    }
+
+    /**
+     * Grades written through stored procedures only identify the user and course
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseGradesChanged(CourseGradesChangedEvent event) {
+        Long userId = event.getUserId();
+        if (userId == null) {
+            return;
+        }
+        userGenerations.asMap().merge(userId, 1L, Long::sum);
+    }
+
+    private CachedPrediction loadPrediction(Long userId, Long assessmentId) {
+        // Read the generation first, so a bump during the query leaves the entry stale rather than current
+        long generation = generationOf(userId);
+        return new CachedPrediction(userId, generation,
+            predictionRepository.findActivePredictionByAssessment(assessmentId, userId).orElse(null));
+    }
+
+    private CachedCoursePredictions loadCoursePredictions(Long userId, Long courseId) {
+        long generation = generationOf(userId);
+        List<AIAssessmentPrediction> predictions = predictionRepository.findActivePredictionsByCourse(courseId, userId);
+        // Warm the per-assessment entries from the same read
+        for (AIAssessmentPrediction prediction : predictions) {
+            courseOfAssessment.put(prediction.getAssessmentId(), courseId);
+            assessmentCache.asMap().putIfAbsent(prediction.getAssessmentId(),
+                new CachedPrediction(userId, generation, prediction));
+        }
+        return new CachedCoursePredictions(userId, generation, predictions);
+    }
+
+    private long generationOf(Long userId) {
+        Long generation = userGenerations.getIfPresent(userId);
+        return generation != null ? generation : 0L;
+    }
+
+    private boolean isUnexpired(AIAssessmentPrediction prediction) {
+        return prediction.getExpiresAt() == null || prediction.getExpiresAt().isAfter(LocalDateTime.now());
+    }
+
+    private Duration ttlUntil(LocalDateTime expiresAt) {
+        Duration maxTtl = Duration.ofMinutes(maxTtlMinutes);
+        if (expiresAt == null) {
+            return maxTtl;
+        }
+        Duration remaining = Duration.between(LocalDateTime.now(), expiresAt);
+        if (remaining.isNegative()) {
+            return Duration.ZERO;
+        }
+        return remaining.compareTo(maxTtl) < 0 ? remaining : maxTtl;
+    }
+
+    private static <K, V> Expiry<K, V> expiringAt(Function<V, Duration> ttl) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(K key, V value, long currentTime) {
+                return ttl.apply(value).toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+                return ttl.apply(value).toNanos();
+            }
+
+            @Override
+            public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static final class CachedPrediction {
+        private final Long userId;
+        private final long generation;
+        private final AIAssessmentPrediction prediction;
+
+        private CachedPrediction(Long userId, long generation, AIAssessmentPrediction prediction) {
+            this.userId = userId;
+            this.generation = generation;
+            this.prediction = prediction;
+        }
+    }
+
+    private static final class CachedCoursePredictions {
+        private final Long userId;
+        private final long generation;
+        private final List<AIAssessmentPrediction> predictions;
+
+        private CachedCoursePredictions(Long userId, long generation, List<AIAssessmentPrediction> predictions) {
+            this.userId = userId;
+            this.generation = generation;
+            this.predictions = predictions;
+        }
+    }
+}
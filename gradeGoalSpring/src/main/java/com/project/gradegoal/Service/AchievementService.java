@@ -2,11 +2,14 @@ package com.project.gradegoal.Service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.gradegoal.Config.CacheConfig;
 import com.project.gradegoal.Entity.*;
 import com.project.gradegoal.Repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,6 +48,12 @@ public class AchievementService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private GpaHistoryService gpaHistoryService;
+    
+    @Autowired
+    private PointsLedgerService pointsLedgerService;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     /**
@@ -281,14 +290,19 @@ public class AchievementService {
     }
     
     private boolean checkGPAImprovement(Long userId, double improvementNeeded) {
+        // Compare against the first graded cumulative GPA when history exists
+        Double improvement = gpaHistoryService.getCumulativeGpaImprovement(userId);
+        if (improvement != null) {
+            return improvement >= improvementNeeded;
+        }
+        
         UserProgress progress = userProgressRepository.findByUserId(userId);
         if (progress == null) return false;
         
-        // This would need historical GPA tracking - simplified for now
-        // Check if current semester GPA is higher than cumulative by threshold
+        // No history yet - check if current semester GPA is higher than cumulative by threshold
         if (progress.getSemesterGpa() != null && progress.getCumulativeGpa() != null) {
-            double improvement = progress.getSemesterGpa() - progress.getCumulativeGpa();
-            return improvement >= improvementNeeded;
+            double semesterImprovement = progress.getSemesterGpa() - progress.getCumulativeGpa();
+            return semesterImprovement >= improvementNeeded;
         }
         
         return false;
@@ -373,34 +387,8 @@ public class AchievementService {
         userAchievement.setEarnedAt(LocalDateTime.now());
         userAchievementRepository.save(userAchievement);
         
-        // Award points to user and check for level up
-        UserProgressService.LevelUpResult levelUpResult = userProgressService.awardPointsWithLevelUpCheck(userId, achievement.getPointsValue());
-        
-        // If user leveled up, check for additional achievements and send level-up notification
-        if (levelUpResult.isLeveledUp()) {
-            Integer newLevel = levelUpResult.getProgress().getCurrentLevel();
-            logger.info("User {} leveled up to level {} after earning achievement '{}'", 
-                userId, newLevel, achievement.getAchievementName());
-            
-            // Send level-up notification
-            try {
-                String rankTitle = userProgressService.getUserRankTitle(newLevel);
-                notificationService.sendLevelUpNotification(userId, newLevel, rankTitle);
-                logger.info("Level-up notification sent for user {} to level {}", userId, newLevel);
-            } catch (Exception e) {
-                logger.error("Error sending level-up notification for user {}", userId, e);
-            }
-            
-            // Check for level-based achievements
-            try {
-                List<Achievement> newAchievements = checkAndAwardAchievements(userId);
-                if (!newAchievements.isEmpty()) {
-                    logger.info("User {} earned {} additional achievements after leveling up", userId, newAchievements.size());
-                }
-            } catch (Exception e) {
-                logger.error("Error checking achievements after level up for user {}", userId, e);
-            }
-        }
+        // Record the points; level-ups are handled when the ledger is compacted
+        pointsLedgerService.append(userId, achievement.getPointsValue(), "ACHIEVEMENT_EARNED");
         
         // Send notifications based on rarity
         notificationService.sendAchievementNotification(userId, achievement);
@@ -408,6 +396,35 @@ public class AchievementService {
         logger.info("Awarded achievement '{}' to user {}", achievement.getAchievementName(), userId);
     }
     
+    /**
+     * Send the level-up notification and check level-based achievements
+     */
+    @EventListener
+    public void onLevelUp(LevelUpEvent event) {
+        Long userId = event.getUserId();
+        Integer newLevel = event.getNewLevel();
+        logger.info("User {} leveled up to level {}", userId, newLevel);
+        
+        // Send level-up notification
+        try {
+            String rankTitle = userProgressService.getUserRankTitle(newLevel);
+            notificationService.sendLevelUpNotification(userId, newLevel, rankTitle);
+            logger.info("Level-up notification sent for user {} to level {}", userId, newLevel);
+        } catch (Exception e) {
+            logger.error("Error sending level-up notification for user {}", userId, e);
+        }
+        
+        // Check for level-based achievements
+        try {
+            List<Achievement> newAchievements = checkAndAwardAchievements(userId);
+            if (!newAchievements.isEmpty()) {
+                logger.info("User {} earned {} additional achievements after leveling up", userId, newAchievements.size());
+            }
+        } catch (Exception e) {
+            logger.error("Error checking achievements after level up for user {}", userId, e);
+        }
+    }
+    
     /**
      * Get all achievements for a user
      */
@@ -465,6 +482,60 @@ public class AchievementService {
         }).collect(Collectors.toList());
     }
     
+    /**
+     * Award statistics of the achievement catalog for the admin views. Award
+     * counts come from grouped queries and are joined with the catalog here,
+     * so the cost does not grow with the number of awards.
+     * @return Map with per-achievement holder counts ("achievements") and
+     *         totals per rarity
+     */
+    @Cacheable(CacheConfig.ACHIEVEMENT_ANALYTICS)
+    @Transactional(readOnly = true)
+    public Map<String, Object> getAchievementAnalytics() {
+        Map<Integer, Long> holdersByAchievement = new HashMap<>();
+        for (Object[] row : userAchievementRepository.countAwardsGroupedByAchievement()) {
+            holdersByAchievement.put((Integer) row[0], ((Number) row[1]).longValue());
+        }
+
+        List<Map<String, Object>> achievements = new ArrayList<>();
+        Map<String, Long> achievementsByRarity = new HashMap<>();
+        Map<String, Long> awardsByRarity = new HashMap<>();
+        long totalUnlocked = 0;
+        for (Achievement achievement : achievementRepository.findAll()) {
+            String rarity = achievement.getRarity().toString();
+            long holders = holdersByAchievement.getOrDefault(achievement.getAchievementId(), 0L);
+
+            Map<String, Object> data = new HashMap<>();
+            data.put("achievementId", achievement.getAchievementId());
+            data.put("name", achievement.getAchievementName());
+            data.put("description", achievement.getDescription());
+            data.put("rarity", rarity);
+            data.put("holders", holders);
+            achievements.add(data);
+
+            achievementsByRarity.merge(rarity, 1L, Long::sum);
+            awardsByRarity.merge(rarity, holders, Long::sum);
+            totalUnlocked += holders;
+        }
+
+        Map<String, Long> uniqueUsersByRarity = new HashMap<>();
+        for (Achievement.AchievementRarity rarity : Achievement.AchievementRarity.values()) {
+            uniqueUsersByRarity.put(rarity.toString(), 0L);
+        }
+        for (Object[] row : userAchievementRepository.countUniqueUsersGroupedByRarity()) {
+            uniqueUsersByRarity.put(row[0].toString(), ((Number) row[1]).longValue());
+        }
+
+        Map<String, Object> analytics = new HashMap<>();
+        analytics.put("achievements", achievements);
+        analytics.put("totalAchievements", achievements.size());
+        analytics.put("totalUnlocked", totalUnlocked);
+        analytics.put("achievementsByRarity", achievementsByRarity);
+        analytics.put("awardsByRarity", awardsByRarity);
+        analytics.put("uniqueUsersByRarity", uniqueUsersByRarity);
+        return analytics;
+    }
+    
     // Helper methods
     
     private int getIntValue(Object value) {
@@ -0,0 +1,369 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.ActivitySketch;
+import com.project.gradegoal.Entity.ActivitySketch.Granularity;
+import com.project.gradegoal.Entity.UserActivityLog;
+import com.project.gradegoal.Repository.ActivitySketchRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Active User Sketch Service
+ *
+ * Keeps HyperLogLog sketches of the users active per hour, per day and in
+ * total, overall and per activity type, updated as activities are logged.
+ * Distinct-user counts over a window (DAU/WAU/MAU, last 24 hours, users of
+ * a feature) merge a handful of in-memory sketches instead of loading and
+ * de-duplicating activity log rows; estimates carry about 2% standard
+ * error. Sketches are merged into the activity_sketches table every flush,
+ * which also brings in the activity recorded by other nodes.
+ */
+@Service
+public class ActiveUserSketchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveUserSketchService.class);
+
+    private static final String ALL_TYPES = "*";
+    private static final String OTHER_TYPES = "other";
+    private static final String UNKNOWN_TYPE = "unknown";
+    private static final LocalDateTime ALL_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // Re-read rows slightly older than the last sync to cover commits that were in flight and clock skew
+    private static final long SYNC_OVERLAP_MINUTES = 5;
+
+    // MySQL Connector/J streams rows one at a time only with this fetch size
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private static final String BACKFILL_SQL =
+        "SELECT user_id, activity_type, created_at FROM user_activity_log WHERE created_at IS NOT NULL";
+
+    private record SketchKey(Granularity granularity, LocalDateTime bucketStart, String activityType) {
+        String id() {
+            return granularity + "|" + bucketStart + "|" + activityType;
+        }
+    }
+
+    private final Map<SketchKey, HyperLogLog> sketches = new ConcurrentHashMap<>();
+    private final Set<SketchKey> dirty = ConcurrentHashMap.newKeySet();
+    private final Set<String> activityTypes = ConcurrentHashMap.newKeySet();
+    private volatile LocalDateTime lastSync;
+
+    @Autowired
+    private ActivitySketchRepository sketchRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${gradegoal.activity-sketches.hourly-retention-hours:48}")
+    private int hourlyRetentionHours;
+
+    @Value("${gradegoal.activity-sketches.daily-retention-days:90}")
+    private int dailyRetentionDays;
+
+    @Value("${gradegoal.activity-sketches.max-activity-types:50}")
+    private int maxActivityTypes;
+
+    /**
+     * Count a user as active at a point in time
+     * @param userId Active user
+     * @param activityType Activity type; types beyond the configured limit are counted as "other"
+     * @param createdAt Activity time
+     */
+    public void record(Long userId, String activityType, LocalDateTime createdAt) {
+        if (userId == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime at = createdAt != null ? createdAt : now;
+        LocalDateTime hour = at.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime day = at.toLocalDate().atStartOfDay();
+        boolean hourRetained = !hour.isBefore(hourlyCutoff(now));
+        boolean dayRetained = !day.isBefore(dailyCutoff(now));
+
+        for (String type : List.of(ALL_TYPES, trackedType(activityType))) {
+            if (hourRetained) {
+                add(new SketchKey(Granularity.HOUR, hour, type), userId);
+            }
+            if (dayRetained) {
+                add(new SketchKey(Granularity.DAY, day, type), userId);
+            }
+            add(new SketchKey(Granularity.TOTAL, ALL_TIME, type), userId);
+        }
+    }
+
+    /**
+     * Count the users of a batch of saved activities as active
+     */
+    public void recordAll(Collection<UserActivityLog> activities) {
+        for (UserActivityLog activity : activities) {
+            record(activity.getUserId(), activity.getActivityType(), activity.getCreatedAt());
+        }
+    }
+
+    /**
+     * Estimated distinct users active in the last hours, including the current hour
+     * @param hours Window length, capped at the hourly retention
+     * @param typeFilter Activity types to include, or null for all activity
+     */
+    public long distinctUsersLastHours(int hours, Predicate<String> typeFilter) {
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        int span = Math.max(1, Math.min(hours, hourlyRetentionHours));
+        List<LocalDateTime> buckets = new ArrayList<>(span);
+        for (int i = 0; i < span; i++) {
+            buckets.add(currentHour.minusHours(i));
+        }
+        return union(Granularity.HOUR, buckets, typeFilter).estimate();
+    }
+
+    /**
+     * Estimated distinct users active between two days (inclusive)
+     * @param typeFilter Activity types to include, or null for all activity
+     */
+    public long distinctUsersBetween(LocalDate from, LocalDate to, Predicate<String> typeFilter) {
+        List<LocalDateTime> buckets = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            buckets.add(day.atStartOfDay());
+        }
+        return union(Granularity.DAY, buckets, typeFilter).estimate();
+    }
+
+    /**
+     * Estimated distinct users who ever logged a matching activity
+     * @param typeFilter Activity types to include, or null for all activity
+     */
+    public long distinctUsersAllTime(Predicate<String> typeFilter) {
+        return union(Granularity.TOTAL, List.of(ALL_TIME), typeFilter).estimate();
+    }
+
+    /**
+     * DAU/WAU/MAU overall and per activity type, with sketch statistics
+     */
+    public Map<String, Object> getActiveUserSummary() {
+        LocalDate today = LocalDate.now();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("last24Hours", distinctUsersLastHours(24, null));
+        summary.put("dailyActiveUsers", distinctUsersBetween(today, today, null));
+        summary.put("weeklyActiveUsers", distinctUsersBetween(today.minusDays(6), today, null));
+        summary.put("monthlyActiveUsers", distinctUsersBetween(today.minusDays(29), today, null));
+        summary.put("allTimeActiveUsers", distinctUsersAllTime(null));
+
+        Map<String, Object> byActivityType = new TreeMap<>();
+        for (String type : activityTypes) {
+            Predicate<String> only = type::equals;
+            Map<String, Object> typeSummary = new LinkedHashMap<>();
+            typeSummary.put("dailyActiveUsers", distinctUsersBetween(today, today, only));
+            typeSummary.put("weeklyActiveUsers", distinctUsersBetween(today.minusDays(6), today, only));
+            typeSummary.put("monthlyActiveUsers", distinctUsersBetween(today.minusDays(29), today, only));
+            typeSummary.put("allTimeActiveUsers", distinctUsersAllTime(only));
+            byActivityType.put(type, typeSummary);
+        }
+        summary.put("byActivityType", byActivityType);
+
+        int registers = 1 << HyperLogLog.DEFAULT_PRECISION;
+        summary.put("standardError", Math.round(1.04 / Math.sqrt(registers) * 10000) / 10000.0);
+        summary.put("sketches", sketches.size());
+        summary.put("sketchMemoryBytes", (long) sketches.size() * registers);
+        summary.put("lastSync", lastSync != null ? lastSync.toString() : null);
+        return summary;
+    }
+
+    /**
+     * Load the persisted sketches, or build them from the activity log on first start
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime syncStart = LocalDateTime.now();
+        List<ActivitySketch> rows = sketchRepository.findAll();
+        if (rows.isEmpty()) {
+            backfill();
+        } else {
+            rows.forEach(this::mergeRow);
+            logger.info("📊 Loaded {} activity sketches", sketches.size());
+        }
+        lastSync = syncStart;
+        flush();
+    }
+
+    /**
+     * Merge changed sketches into the database and pick up sketches other nodes changed
+     */
+    @Scheduled(fixedDelayString = "${gradegoal.activity-sketches.flush-interval-ms:60000}",
+               initialDelayString = "${gradegoal.activity-sketches.flush-interval-ms:60000}")
+    public void flush() {
+        if (lastSync == null) {
+            return;
+        }
+        LocalDateTime syncStart = LocalDateTime.now();
+        List<SketchKey> pending = new ArrayList<>(dirty);
+        dirty.removeAll(pending);
+        // Lock rows in a fixed order so concurrent flushes on two nodes cannot deadlock
+        pending.sort(Comparator.comparing(SketchKey::id));
+
+        try {
+            sketchRepository.findByUpdatedAtAfter(lastSync.minusMinutes(SYNC_OVERLAP_MINUTES))
+                .forEach(this::mergeRow);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                for (SketchKey key : pending) {
+                    HyperLogLog sketch = sketches.get(key);
+                    if (sketch == null) {
+                        continue;
+                    }
+                    ActivitySketch row = sketchRepository.findForUpdate(key.id())
+                        .orElseGet(() -> new ActivitySketch(key.id(), key.granularity(), key.bucketStart(), key.activityType()));
+                    if (row.getRegisters() != null) {
+                        sketch.merge(HyperLogLog.fromBytes(row.getRegisters()));
+                    }
+                    row.setRegisters(sketch.toBytes());
+                    row.setUpdatedAt(syncStart);
+                    sketchRepository.save(row);
+                }
+            });
+            lastSync = syncStart;
+        } catch (Exception e) {
+            // Merging is idempotent, so the next flush simply retries
+            dirty.addAll(pending);
+            logger.warn("⚠️ Could not flush {} activity sketches: {}", pending.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Drop hourly and daily sketches that fell out of retention
+     */
+    @Scheduled(cron = "${gradegoal.activity-sketches.prune-cron:0 5 * * * *}")
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now();
+        int evicted = sketches.size();
+        sketches.keySet().removeIf(key -> isExpired(key, now));
+        dirty.removeIf(key -> isExpired(key, now));
+        evicted -= sketches.size();
+
+        int deleted = sketchRepository.deleteBucketsBefore(Granularity.HOUR, hourlyCutoff(now))
+            + sketchRepository.deleteBucketsBefore(Granularity.DAY, dailyCutoff(now));
+        if (evicted > 0 || deleted > 0) {
+            logger.info("🧹 Pruned activity sketches: {} evicted from memory, {} rows deleted", evicted, deleted);
+        }
+    }
+
+    /**
+     * Rebuild every sketch from the activity log, streaming it row by row
+     */
+    private void backfill() {
+        long started = System.currentTimeMillis();
+        long[] rows = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(BACKFILL_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAMING_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            record(resultSet.getLong("user_id"), resultSet.getString("activity_type"),
+                resultSet.getTimestamp("created_at").toLocalDateTime());
+            rows[0]++;
+        });
+        logger.info("📊 Built {} activity sketches from {} activity log rows in {} ms",
+            sketches.size(), rows[0], System.currentTimeMillis() - started);
+    }
+
+    private void add(SketchKey key, Long userId) {
+        if (sketches.computeIfAbsent(key, k -> new HyperLogLog()).add(userId)) {
+            dirty.add(key);
+        }
+    }
+
+    private void mergeRow(ActivitySketch row) {
+        SketchKey key = new SketchKey(row.getGranularity(), row.getBucketStart(), row.getActivityType());
+        if (isExpired(key, LocalDateTime.now())) {
+            return;
+        }
+        if (!ALL_TYPES.equals(key.activityType())) {
+            activityTypes.add(key.activityType());
+        }
+        sketches.computeIfAbsent(key, k -> new HyperLogLog()).merge(HyperLogLog.fromBytes(row.getRegisters()));
+    }
+
+    private HyperLogLog union(Granularity granularity, List<LocalDateTime> buckets, Predicate<String> typeFilter) {
+        Collection<String> types = typeFilter == null
+            ? List.of(ALL_TYPES)
+            : activityTypes.stream().filter(typeFilter).toList();
+        HyperLogLog union = new HyperLogLog();
+        for (LocalDateTime bucket : buckets) {
+            for (String type : types) {
+                HyperLogLog sketch = sketches.get(new SketchKey(granularity, bucket, type));
+                if (sketch != null) {
+                    union.merge(sketch);
+                }
+            }
+        }
+        return union;
+    }
+
+    /**
+     * Activity type a sketch is kept under; caps the number of per-type sketches
+     */
+    private String trackedType(String activityType) {
+        String type = activityType == null || activityType.isBlank() ? UNKNOWN_TYPE : activityType.trim();
+        if (type.length() > 100) {
+            type = type.substring(0, 100);
+        }
+        if (activityTypes.contains(type)) {
+            return type;
+        }
+        if (activityTypes.size() < maxActivityTypes) {
+            activityTypes.add(type);
+            return type;
+        }
+        activityTypes.add(OTHER_TYPES);
+        return OTHER_TYPES;
+    }
+
+    private boolean isExpired(SketchKey key, LocalDateTime now) {
+        return switch (key.granularity()) {
+            case HOUR -> key.bucketStart().isBefore(hourlyCutoff(now));
+            case DAY -> key.bucketStart().isBefore(dailyCutoff(now));
+            case TOTAL -> false;
+        };
+    }
+
+    private LocalDateTime hourlyCutoff(LocalDateTime now) {
+        return now.truncatedTo(ChronoUnit.HOURS).minusHours(hourlyRetentionHours);
+    }
+
+    private LocalDateTime dailyCutoff(LocalDateTime now) {
+        return now.toLocalDate().minusDays(dailyRetentionDays).atStartOfDay();
+    }
+}
@@ -0,0 +1,21 @@
+package com.project.gradegoal.Service;
+
+/**
+ * Assessment Grade Changed Event
+ *
+ * Published when a grade of an assessment is created, updated or deleted.
+ * Consumed by {@link AIAssessmentPredictionService} to drop cached
+ * predictions for that assessment.
+ */
+public class AssessmentGradeChangedEvent {
+
+    private final Long assessmentId;
+
+    public AssessmentGradeChangedEvent(Long assessmentId) {
+        this.assessmentId = assessmentId;
+    }
+
+    public Long getAssessmentId() {
+        return assessmentId;
+    }
+}
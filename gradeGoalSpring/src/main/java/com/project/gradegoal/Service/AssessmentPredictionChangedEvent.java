@@ -0,0 +1,34 @@
+package com.project.gradegoal.Service;
+
+/**
+ * Assessment Prediction Changed Event
+ *
+ * Published when an AI assessment prediction is saved, so cached reads are
+ * dropped only once the new prediction is committed.
+ */
+public class AssessmentPredictionChangedEvent {
+
+    private final Long userId;
+
+    private final Long courseId;
+
+    private final Long assessmentId;
+
+    public AssessmentPredictionChangedEvent(Long userId, Long courseId, Long assessmentId) {
+        this.userId = userId;
+        this.courseId = courseId;
+        this.assessmentId = assessmentId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Long getAssessmentId() {
+        return assessmentId;
+    }
+}
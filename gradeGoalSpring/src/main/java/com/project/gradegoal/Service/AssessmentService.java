@@ -1,5 +1,7 @@
 package com.project.gradegoal.Service;
 
+import com.project.gradegoal.DTO.AssessmentSummary;
+import com.project.gradegoal.DTO.KeysetPage;
 import com.project.gradegoal.Entity.Assessment;
 import com.project.gradegoal.Entity.AssessmentCategory;
 import com.project.gradegoal.Entity.Course;
@@ -13,6 +15,7 @@ import com.project.gradegoal.Repository.UserAnalyticsRepository;
 import com.project.gradegoal.Repository.GradeRepository;
 import com.project.gradegoal.Repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -130,6 +133,37 @@ public class AssessmentService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Get one page of assessment summaries using keyset pagination
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Maximum number of assessments to return
+     * @param sortBy "id" (ascending) or "createdAt" (newest first)
+     * @param userId Optional owner filter
+     * @param status Optional status filter
+     * @param dueFrom Optional inclusive lower bound on due date
+     * @param dueTo Optional inclusive upper bound on due date
+     * @return Page of assessment summaries with the cursor of the next page
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<AssessmentSummary> getAssessmentSummaries(String cursor, int limit, String sortBy, Long userId,
+                                                                Assessment.AssessmentStatus status,
+                                                                LocalDate dueFrom, LocalDate dueTo) {
+        PageRequest fetchWindow = PageRequest.of(0, limit + 1);
+
+        if ("createdAt".equals(sortBy)) {
+            List<AssessmentSummary> rows = assessmentRepository.findSummariesBeforeCreatedAt(
+                KeysetPage.cursorTimestamp(cursor), KeysetPage.cursorId(cursor),
+                userId, status, dueFrom, dueTo, fetchWindow);
+            return KeysetPage.of(rows, limit,
+                assessment -> KeysetPage.encodeCursor(assessment.getCreatedAt(), assessment.getAssessmentId()));
+        }
+
+        Long afterId = KeysetPage.cursorId(cursor);
+        List<AssessmentSummary> rows = assessmentRepository.findSummariesAfterId(
+            afterId != null ? afterId : 0L, userId, status, dueFrom, dueTo, fetchWindow);
+        return KeysetPage.of(rows, limit, assessment -> assessment.getAssessmentId().toString());
+    }
+    
     /**
      * Get assessment by ID
      * @param assessmentId Assessment's ID
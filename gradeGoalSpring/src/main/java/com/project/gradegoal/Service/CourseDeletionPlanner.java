@@ -0,0 +1,86 @@
+package com.project.gradegoal.Service;
+
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Course Deletion Planner
+ *
+ * Deletes a course and everything hanging off it with a fixed number of
+ * set-based DELETE statements, children first, instead of loading every
+ * category, assessment and grade into the persistence context.
+ */
+@Service
+public class CourseDeletionPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseDeletionPlanner.class);
+
+    private static final String ASSESSMENTS_OF_COURSE =
+        "SELECT a.assessment_id FROM assessments a " +
+        "INNER JOIN assessment_categories ac ON a.category_id = ac.category_id " +
+        "WHERE ac.course_id = :courseId";
+
+    private static final String CATEGORIES_OF_COURSE =
+        "SELECT ac.category_id FROM assessment_categories ac WHERE ac.course_id = :courseId";
+
+    /**
+     * Delete statements in dependency order (table name -> statement).
+     * Every statement is keyed on the course ID only, so the number of
+     * round trips does not depend on how many rows the course owns.
+     */
+    private static final Map<String, String> PLAN = new LinkedHashMap<>();
+
+    static {
+        PLAN.put("grades", "DELETE FROM grades WHERE assessment_id IN (" + ASSESSMENTS_OF_COURSE + ")");
+        PLAN.put("calendar_events", "DELETE FROM calendar_events WHERE assessment_id IN (" + ASSESSMENTS_OF_COURSE + ")");
+        PLAN.put("ai_assessment_predictions", "DELETE FROM ai_assessment_predictions WHERE course_id = :courseId");
+        PLAN.put("assessments", "DELETE FROM assessments WHERE category_id IN (" + CATEGORIES_OF_COURSE + ")");
+        PLAN.put("assessment_categories", "DELETE FROM assessment_categories WHERE course_id = :courseId");
+        PLAN.put("user_analytics", "DELETE FROM user_analytics WHERE course_id = :courseId");
+        PLAN.put("academic_goals", "DELETE FROM academic_goals WHERE course_id = :courseId");
+        PLAN.put("recommendations", "DELETE FROM recommendations WHERE course_id = :courseId");
+        PLAN.put("notifications", "DELETE FROM notifications WHERE course_id = :courseId");
+        PLAN.put("gpa_snapshots", "DELETE FROM gpa_snapshots WHERE course_id = :courseId");
+        PLAN.put("courses", "DELETE FROM courses WHERE course_id = :courseId");
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Execute the deletion plan for a course
+     * @param courseId Course ID to delete
+     * @return Number of rows deleted per table, in execution order
+     */
+    @Transactional
+    public Map<String, Integer> deleteCourse(Long courseId) {
+        // Push pending changes out before bypassing the persistence context
+        entityManager.flush();
+
+        Map<String, Integer> deletedRows = new LinkedHashMap<>();
+        for (Map.Entry<String, String> step : PLAN.entrySet()) {
+            // Declaring the affected table keeps the rest of the second-level cache intact
+            int rows = entityManager.createNativeQuery(step.getValue())
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(step.getKey())
+                .setParameter("courseId", courseId)
+                .executeUpdate();
+            deletedRows.put(step.getKey(), rows);
+        }
+
+        // Managed entities of the deleted course are now stale
+        entityManager.clear();
+
+        logger.info("🗑️ Course {} deletion plan executed: {}", courseId, deletedRows);
+        return deletedRows;
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.gradegoal.Service;
+
+/**
+ * Course Grades Changed Event
+ *
+ * Published whenever something that feeds a user's GPA changes: a course
+ * grade or GPA, credit hours, semester, active flag, or a course being
+ * deleted. Consumed by {@link UserProgressGpaMaintainer}.
+ */
+public class CourseGradesChangedEvent {
+
+    private final Long userId;
+
+    private final Long courseId;
+
+    public CourseGradesChangedEvent(Long userId) {
+        this(userId, null);
+    }
+
+    public CourseGradesChangedEvent(Long userId, Long courseId) {
+        this.userId = userId;
+        this.courseId = courseId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * @return Course that changed, or null when the change is not tied to a surviving course
+     */
+    public Long getCourseId() {
+        return courseId;
+    }
+}
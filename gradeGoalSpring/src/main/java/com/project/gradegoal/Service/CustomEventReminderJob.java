@@ -0,0 +1,22 @@
+package com.project.gradegoal.Service;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+/**
+ * Quartz job of the custom event reminder poll. Never runs on two nodes at
+ * once, so a reminder is not sent twice.
+ */
+@DisallowConcurrentExecution
+public class CustomEventReminderJob extends QuartzJobBean {
+
+    @Autowired
+    private NotificationSchedulerService notificationSchedulerService;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) {
+        notificationSchedulerService.checkCustomEventReminders();
+    }
+}
@@ -7,6 +7,7 @@ import com.project.gradegoal.Repository.CustomEventRepository;
 import com.project.gradegoal.Repository.UserRepository;
 import com.project.gradegoal.Repository.NotificationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
@@ -37,6 +38,9 @@ public class CustomEventService {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Create a new custom event
      */
@@ -218,7 +222,8 @@ public class CustomEventService {
             notification.setPriority(Notification.NotificationPriority.valueOf(priority));
             notification.setIsRead(false);
             
-            notificationRepository.save(notification);
+            Notification saved = notificationRepository.save(notification);
+            eventPublisher.publishEvent(InboxEvent.notificationCreated(userId, saved));
             logger.info("In-app notification created for custom event: {}", title);
         } catch (Exception e) {
             logger.error("Failed to create in-app notification for custom event", e);
@@ -0,0 +1,33 @@
+package com.project.gradegoal.Service;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+/**
+ * Quartz job of the daily notification run. Only splits the run into
+ * user ID range shards; the shards are sent by {@link NotificationShardJob}
+ * on whichever cluster nodes pick them up.
+ */
+@DisallowConcurrentExecution
+public class DailyNotificationJob extends QuartzJobBean {
+
+    @Autowired
+    private NotificationSchedulerService notificationSchedulerService;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
+        try {
+            // The scheduled fire time names the shard triggers, so retrying a run does not schedule pending shards twice
+            long runId = context.getScheduledFireTime() != null
+                ? context.getScheduledFireTime().getTime()
+                : context.getFireTime().getTime();
+            notificationSchedulerService.scheduleNotificationShards(runId);
+        } catch (SchedulerException e) {
+            throw new JobExecutionException(e);
+        }
+    }
+}
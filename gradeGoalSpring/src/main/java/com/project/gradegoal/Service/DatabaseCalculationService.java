@@ -5,6 +5,7 @@ import com.project.gradegoal.Entity.UserProgress;
 import com.project.gradegoal.Repository.CourseRepository;
 import com.project.gradegoal.Repository.UserProgressRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,10 +34,10 @@ public class DatabaseCalculationService {
     private AssessmentService assessmentService;
     
     @Autowired
-    private UserProgressService userProgressService;
-    
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
-    private NotificationService notificationService;
+    private PointsLedgerService pointsLedgerService;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -412,26 +413,14 @@ public class DatabaseCalculationService {
     }
 
     /**
-     * Award points to user using UserProgressService (includes level-up notifications)
+     * Award points to user through the points ledger
+     * Level-up notifications are sent when the ledger is compacted
      * @param userId User ID
      * @param points Points to award
      * @param activityType Activity type
      */
-    @Transactional
     public void awardPoints(Long userId, Integer points, String activityType) {
-        try {
-            // Use UserProgressService to award points and handle level-up notifications
-            UserProgressService.LevelUpResult levelUpResult = userProgressService.awardPointsWithLevelUpCheck(userId, points);
-            
-            // If user leveled up, send level-up notification
-            if (levelUpResult.isLeveledUp()) {
-                Integer newLevel = levelUpResult.getProgress().getCurrentLevel();
-                String rankTitle = userProgressService.getUserRankTitle(newLevel);
-                notificationService.sendLevelUpNotification(userId, newLevel, rankTitle);
-            }
-            
-        } catch (Exception e) {
-        }
+        pointsLedgerService.append(userId, points, activityType);
     }
 
 
@@ -499,6 +488,7 @@ public class DatabaseCalculationService {
                 
                 // Save updated course
                 Course savedCourse = courseRepository.save(course);
+                eventPublisher.publishEvent(new CourseGradesChangedEvent(savedCourse.getUserId(), savedCourse.getCourseId()));
                 return savedCourse;
             } else {
                 return null;
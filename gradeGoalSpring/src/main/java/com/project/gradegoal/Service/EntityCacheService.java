@@ -0,0 +1,93 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.Course;
+import com.project.gradegoal.Entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entity Cache Service
+ *
+ * Thin wrapper around the Hibernate second-level cache. Writes that go
+ * through JPA invalidate the cache automatically; writes made by stored
+ * procedures over plain JDBC must evict explicitly through this service.
+ */
+@Service
+public class EntityCacheService {
+
+    private static final String[] ENTITY_REGIONS = {"course", "assessment-category", "user", "achievement"};
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evict a single course from the second-level cache
+     * @param courseId Course ID
+     */
+    public void evictCourse(Long courseId) {
+        if (courseId != null) {
+            entityManagerFactory.getCache().evict(Course.class, courseId);
+        }
+    }
+
+    /**
+     * Evict every cached course (used when the affected course is unknown)
+     */
+    public void evictAllCourses() {
+        entityManagerFactory.getCache().evict(Course.class);
+    }
+
+    /**
+     * Evict users from the second-level cache after a bulk JDBC update
+     * @param userIds User IDs
+     */
+    public void evictUsers(Iterable<Long> userIds) {
+        for (Long userId : userIds) {
+            entityManagerFactory.getCache().evict(User.class, userId);
+        }
+    }
+
+    /**
+     * Get hit/miss statistics per cache region
+     * @return Map of region name to its statistics, plus query cache totals
+     */
+    public Map<String, Object> getCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : ENTITY_REGIONS) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                regions.put(region, toMap(regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                    regionStatistics.getPutCount()));
+            }
+        }
+        result.put("regions", regions);
+        result.put("queryCache", toMap(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+            statistics.getQueryCachePutCount()));
+        result.put("secondLevelCache", toMap(statistics.getSecondLevelCacheHitCount(),
+            statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+
+        return result;
+    }
+
+    private Map<String, Object> toMap(long hits, long misses, long puts) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("hits", hits);
+        map.put("misses", misses);
+        map.put("puts", puts);
+        long lookups = hits + misses;
+        map.put("hitRatio", lookups > 0 ? Math.round((double) hits / lookups * 1000.0) / 10.0 : 0.0);
+        return map;
+    }
+}
@@ -0,0 +1,110 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Repository.AIAssessmentPredictionRepository;
+import com.project.gradegoal.Repository.AIRecommendationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Expiry Sweeper Service
+ *
+ * Periodically deactivates expired AI assessment predictions, deletes
+ * predictions that have been inactive past the retention period, and
+ * deletes expired AI recommendations. Work is done in bounded chunks,
+ * each committed on its own, so the sweep never holds long locks.
+ */
+@Service
+public class ExpirySweeperService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpirySweeperService.class);
+
+    private final AtomicLong predictionsDeactivated = new AtomicLong();
+    private final AtomicLong predictionsDeleted = new AtomicLong();
+    private final AtomicLong recommendationsDeleted = new AtomicLong();
+    private final AtomicLong sweepRuns = new AtomicLong();
+    private volatile LocalDateTime lastSweepAt;
+    private volatile long lastSweepMillis;
+
+    @Autowired
+    private AIAssessmentPredictionRepository predictionRepository;
+
+    @Autowired
+    private AIRecommendationRepository recommendationRepository;
+
+    @Value("${gradegoal.expiry-sweeper.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${gradegoal.expiry-sweeper.max-chunks:50}")
+    private int maxChunks;
+
+    @Value("${gradegoal.expiry-sweeper.inactive-retention-days:30}")
+    private int inactiveRetentionDays;
+
+    /**
+     * Run one sweep over both tables
+     */
+    @Scheduled(fixedDelayString = "${gradegoal.expiry-sweeper.interval-ms:600000}",
+               initialDelayString = "${gradegoal.expiry-sweeper.initial-delay-ms:60000}")
+    public void sweep() {
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime inactiveCutoff = now.minusDays(inactiveRetentionDays);
+
+        int deactivated = inChunks(limit -> predictionRepository.deactivateExpiredPredictions(now, limit));
+        int deletedPredictions = inChunks(limit -> predictionRepository.deleteInactivePredictions(inactiveCutoff, limit));
+        int deletedRecommendations = inChunks(limit -> recommendationRepository.deleteExpiredAIRecommendations(now, limit));
+
+        predictionsDeactivated.addAndGet(deactivated);
+        predictionsDeleted.addAndGet(deletedPredictions);
+        recommendationsDeleted.addAndGet(deletedRecommendations);
+        sweepRuns.incrementAndGet();
+        lastSweepAt = now;
+        lastSweepMillis = System.currentTimeMillis() - started;
+
+        if (deactivated + deletedPredictions + deletedRecommendations > 0) {
+            logger.info("🧹 Expiry sweep: {} predictions deactivated, {} predictions and {} recommendations deleted in {} ms",
+                deactivated, deletedPredictions, deletedRecommendations, lastSweepMillis);
+        }
+    }
+
+    /**
+     * Get sweep totals since startup
+     */
+    public Map<String, Object> getSweepStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("runs", sweepRuns.get());
+        statistics.put("predictionsDeactivated", predictionsDeactivated.get());
+        statistics.put("predictionsDeleted", predictionsDeleted.get());
+        statistics.put("recommendationsDeleted", recommendationsDeleted.get());
+        statistics.put("lastSweepAt", lastSweepAt);
+        statistics.put("lastSweepMillis", lastSweepMillis);
+        statistics.put("chunkSize", chunkSize);
+        return statistics;
+    }
+
+    /**
+     * Repeat a chunked statement until it affects fewer rows than a full chunk
+     * or the per-run cap is reached; the rest is picked up by the next sweep
+     */
+    private int inChunks(IntUnaryOperator chunk) {
+        int total = 0;
+        for (int i = 0; i < maxChunks; i++) {
+            int affected = chunk.applyAsInt(chunkSize);
+            total += affected;
+            if (affected < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,268 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Config.ExportConfig;
+import com.project.gradegoal.Entity.ExportLog;
+import com.project.gradegoal.Repository.ExportLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Export File Service
+ *
+ * Stores exported report files and their export_logs rows. Uploads are
+ * streamed from the request straight into a file channel with a size cap,
+ * so a report is never held in memory. Server-generated exports run as
+ * jobs on the export executor and report their progress through the
+ * export_logs status. A scheduled cleaner removes the files of expired exports;
+ * their export_logs rows stay as the audit trail.
+ */
+@Service
+public class ExportFileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportFileService.class);
+
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+
+    @Autowired
+    private ExportLogRepository exportLogRepository;
+
+    @Autowired
+    @Qualifier(ExportConfig.EXPORT_EXECUTOR)
+    private TaskExecutor exportExecutor;
+
+    @Value("${gradegoal.exports.dir:uploads/exports}")
+    private String exportDir;
+
+    @Value("${gradegoal.exports.max-bytes:52428800}")
+    private long maxBytes;
+
+    @Value("${gradegoal.exports.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${gradegoal.exports.cleanup-batch:200}")
+    private int cleanupBatch;
+
+    /**
+     * Thrown when an upload exceeds gradegoal.exports.max-bytes
+     */
+    public static class ExportTooLargeException extends RuntimeException {
+        public ExportTooLargeException(long maxBytes) {
+            super("Export exceeds the maximum size of " + maxBytes + " bytes");
+        }
+    }
+
+    /**
+     * Stream an export file to disk and log it as completed
+     * @param userId Owner of the export
+     * @param exportType Export type name (see ExportLog.ExportType)
+     * @param fileName File name supplied by the client (sanitized before use)
+     * @param content File content, or null to log the export without a file; closed once read
+     * @param exportParameters Export parameters as JSON, or null
+     * @param createdAt When the client started the export, or null for now
+     * @param expiresAt When the export may be removed, or null for the default retention
+     * @return Saved export log
+     */
+    public ExportLog storeExport(Long userId, String exportType, String fileName, InputStream content,
+                                 String exportParameters, LocalDateTime createdAt, LocalDateTime expiresAt)
+            throws IOException {
+        ExportLog.ExportType type = ExportLog.ExportType.valueOf(exportType);
+        String safeName = sanitizeFileName(fileName);
+
+        Path target = null;
+        if (content != null) {
+            Path userDir = Paths.get(exportDir, String.valueOf(userId));
+            Files.createDirectories(userDir);
+            target = userDir.resolve(UUID.randomUUID() + "-" + safeName);
+            long size = writeCapped(content, target);
+            logger.info("📄 Stored export {} for user {} ({} bytes)", safeName, userId, size);
+        }
+
+        ExportLog exportLog = new ExportLog();
+        exportLog.setUserId(userId);
+        exportLog.setExportType(type);
+        exportLog.setFileName(safeName);
+        exportLog.setFilePath(target != null ? target.toString() : null);
+        exportLog.setExportParameters(exportParameters != null && !exportParameters.isBlank() ? exportParameters : "{}");
+        exportLog.setStatus(ExportLog.ExportStatus.COMPLETED);
+        exportLog.setCreatedAt(createdAt != null ? createdAt : LocalDateTime.now());
+        exportLog.setCompletedAt(LocalDateTime.now());
+        exportLog.setExpiresAt(expiresAt != null ? expiresAt : LocalDateTime.now().plusDays(retentionDays));
+        return exportLogRepository.save(exportLog);
+    }
+
+    /**
+     * Writes the content of a server-generated export
+     */
+    @FunctionalInterface
+    public interface ExportContent {
+        void writeTo(OutputStream out) throws Exception;
+    }
+
+    /**
+     * Log a server-generated export as PENDING and run it in the background.
+     * The job moves the log to PROCESSING, then COMPLETED or FAILED.
+     * @param userId Owner of the export
+     * @param exportType Export type
+     * @param fileName File name (sanitized before use)
+     * @param exportParameters Export parameters as JSON, or null
+     * @param content Writes the export file; runs on the export executor
+     * @return Pending export log
+     * @throws org.springframework.core.task.TaskRejectedException when the job queue is full
+     */
+    public ExportLog submitExport(Long userId, ExportLog.ExportType exportType, String fileName,
+                                  String exportParameters, ExportContent content) {
+        String safeName = sanitizeFileName(fileName);
+        Path target = Paths.get(exportDir, String.valueOf(userId)).resolve(UUID.randomUUID() + "-" + safeName);
+
+        ExportLog exportLog = new ExportLog();
+        exportLog.setUserId(userId);
+        exportLog.setExportType(exportType);
+        exportLog.setFileName(safeName);
+        exportLog.setFilePath(target.toString());
+        exportLog.setExportParameters(exportParameters != null && !exportParameters.isBlank() ? exportParameters : "{}");
+        exportLog.setStatus(ExportLog.ExportStatus.PENDING);
+        exportLog.setCreatedAt(LocalDateTime.now());
+        exportLog.setExpiresAt(LocalDateTime.now().plusDays(retentionDays));
+        ExportLog saved = exportLogRepository.save(exportLog);
+
+        try {
+            exportExecutor.execute(() -> runExport(saved, target, content));
+        } catch (RuntimeException e) {
+            saved.setStatus(ExportLog.ExportStatus.FAILED);
+            exportLogRepository.save(saved);
+            throw e;
+        }
+        return saved;
+    }
+
+    private void runExport(ExportLog exportLog, Path target, ExportContent content) {
+        long started = System.currentTimeMillis();
+        exportLog.setStatus(ExportLog.ExportStatus.PROCESSING);
+        exportLogRepository.save(exportLog);
+        try {
+            Files.createDirectories(target.getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target, StandardOpenOption.CREATE_NEW))) {
+                content.writeTo(out);
+            }
+            exportLog.setStatus(ExportLog.ExportStatus.COMPLETED);
+            exportLog.setCompletedAt(LocalDateTime.now());
+            logger.info("📦 Export {} for user {} completed in {} ms ({} bytes)", exportLog.getExportId(),
+                exportLog.getUserId(), System.currentTimeMillis() - started, Files.size(target));
+        } catch (Exception e) {
+            logger.error("❌ Export {} for user {} failed: {}", exportLog.getExportId(), exportLog.getUserId(), e.getMessage(), e);
+            exportLog.setStatus(ExportLog.ExportStatus.FAILED);
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException ignored) {
+                // The cleaner removes the file once the export expires
+            }
+        }
+        exportLogRepository.save(exportLog);
+    }
+
+    /**
+     * Find an export owned by a user, whatever its status
+     */
+    public Optional<ExportLog> findOwned(Long exportId, Long userId) {
+        return exportLogRepository.findById(exportId)
+            .filter(exportLog -> exportLog.getUserId().equals(userId));
+    }
+
+    /**
+     * Find a downloadable export file
+     * @param exportId Export log ID
+     * @param userId Requesting user; must own the export
+     * @return Export log whose file exists and has not expired
+     */
+    public Optional<ExportLog> findDownloadable(Long exportId, Long userId) {
+        return findOwned(exportId, userId)
+            .filter(exportLog -> exportLog.getStatus() == ExportLog.ExportStatus.COMPLETED)
+            .filter(exportLog -> exportLog.getExpiresAt() == null || exportLog.getExpiresAt().isAfter(LocalDateTime.now()))
+            .filter(exportLog -> exportLog.getFilePath() != null && Files.isReadable(Paths.get(exportLog.getFilePath())));
+    }
+
+    /**
+     * Delete expired export files in batches. The log rows are the export audit trail
+     * and are kept; their file path is cleared once the file is gone.
+     */
+    @Scheduled(cron = "${gradegoal.exports.cleanup-cron:0 0 * * * *}")
+    public void cleanExpiredExports() {
+        int removed = 0;
+        int cleared;
+        List<ExportLog> expired;
+        do {
+            expired = exportLogRepository.findByExpiresAtBeforeAndFilePathIsNotNullOrderByExpiresAtAsc(
+                LocalDateTime.now(), PageRequest.of(0, cleanupBatch));
+            cleared = 0;
+            for (ExportLog exportLog : expired) {
+                try {
+                    Files.deleteIfExists(Paths.get(exportLog.getFilePath()));
+                    exportLog.setFilePath(null);
+                    cleared++;
+                } catch (IOException e) {
+                    // Path kept so the next run retries the file
+                    logger.warn("Could not delete expired export file {}: {}", exportLog.getFilePath(), e.getMessage());
+                }
+            }
+            exportLogRepository.saveAll(expired);
+            removed += cleared;
+        } while (expired.size() == cleanupBatch && cleared > 0);
+
+        if (removed > 0) {
+            logger.info("🧹 Removed {} expired export files", removed);
+        }
+    }
+
+    /**
+     * Copy the stream into the target file through a file channel, failing
+     * (and removing the partial file) once the size cap is passed
+     */
+    private long writeCapped(InputStream content, Path target) throws IOException {
+        long position = 0;
+        try (ReadableByteChannel source = Channels.newChannel(content);
+             FileChannel destination = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long transferred;
+            while ((transferred = destination.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                position += transferred;
+                if (position > maxBytes) {
+                    throw new ExportTooLargeException(maxBytes);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        return position;
+    }
+
+    private String sanitizeFileName(String fileName) {
+        String name = fileName != null
+            ? fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1)
+            : "";
+        name = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.isBlank() || name.startsWith(".") ? "export-" + System.currentTimeMillis() + ".pdf" : name;
+    }
+}
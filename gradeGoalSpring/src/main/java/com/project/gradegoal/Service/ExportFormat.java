@@ -0,0 +1,51 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.ExportLog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output formats of server-side tabular exports
+ */
+public enum ExportFormat {
+    CSV("csv", ExportLog.ExportType.CSV_GRADES),
+    NDJSON("ndjson", ExportLog.ExportType.JSON_BACKUP),
+    XLSX("xlsx", ExportLog.ExportType.CSV_GRADES);
+
+    private final String extension;
+    private final ExportLog.ExportType exportType;
+
+    ExportFormat(String extension, ExportLog.ExportType exportType) {
+        this.extension = extension;
+        this.exportType = exportType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Export type recorded in export_logs (its column is a fixed enum, so the
+     * format itself is kept in the export parameters)
+     */
+    public ExportLog.ExportType getExportType() {
+        return exportType;
+    }
+
+    public ExportRowWriter open(OutputStream out) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvExportRowWriter(out);
+            case NDJSON -> new NdjsonExportRowWriter(out);
+            case XLSX -> new XlsxExportRowWriter(out);
+        };
+    }
+
+    /**
+     * Parse a format name, case-insensitively
+     * @throws IllegalArgumentException for unknown formats
+     */
+    public static ExportFormat fromName(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.gradegoal.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Forward-only writer for tabular exports. Rows are written as they are
+ * read and never buffered, so memory use does not depend on export size.
+ * Values are Strings, Numbers, Booleans or null.
+ */
+public interface ExportRowWriter extends Closeable {
+
+    /**
+     * Start a new section (a CSV block, an NDJSON record type or an XLSX sheet)
+     * @param name Section name
+     * @param columns Column names of the rows that follow
+     */
+    void startSection(String name, List<String> columns) throws IOException;
+
+    /**
+     * Write one row of the current section
+     */
+    void writeRow(Object[] values) throws IOException;
+}
@@ -0,0 +1,171 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.Course;
+import com.project.gradegoal.Entity.GpaSnapshot;
+import com.project.gradegoal.Entity.UserProgress;
+import com.project.gradegoal.Repository.CourseRepository;
+import com.project.gradegoal.Repository.GpaSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * GPA History Service
+ *
+ * Append-only time series of GPA readings per user and per course. A reading
+ * is appended whenever stored GPAs are recalculated and the value actually
+ * changed; a nightly job downsamples old readings to one per day and then
+ * one per week so the series stays small.
+ */
+@Service
+public class GpaHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GpaHistoryService.class);
+
+    @Autowired
+    private GpaSnapshotRepository gpaSnapshotRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Value("${gradegoal.gpa-history.daily-after-days:7}")
+    private int dailyAfterDays;
+
+    @Value("${gradegoal.gpa-history.weekly-after-days:90}")
+    private int weeklyAfterDays;
+
+    /**
+     * Append the user's current semester and cumulative GPA if they changed
+     * @param progress Freshly recalculated user progress
+     */
+    @Transactional
+    public void recordUserSnapshot(UserProgress progress) {
+        GpaSnapshot latest = gpaSnapshotRepository.findFirstByUserIdAndCourseIdIsNullOrderBySnapshotIdDesc(progress.getUserId());
+        if (latest != null
+                && Objects.equals(latest.getSemesterGpa(), progress.getSemesterGpa())
+                && Objects.equals(latest.getCumulativeGpa(), progress.getCumulativeGpa())) {
+            return;
+        }
+        gpaSnapshotRepository.save(GpaSnapshot.forUser(progress.getUserId(),
+            progress.getSemesterGpa(), progress.getCumulativeGpa()));
+    }
+
+    /**
+     * Append a course's current grade and GPA if they changed
+     * @param courseId Course ID
+     */
+    @Transactional
+    public void recordCourseSnapshot(Long courseId) {
+        Optional<Course> courseOpt = courseRepository.findById(courseId);
+        if (!courseOpt.isPresent()) {
+            return;
+        }
+        Course course = courseOpt.get();
+        GpaSnapshot latest = gpaSnapshotRepository.findFirstByCourseIdOrderBySnapshotIdDesc(courseId);
+        if (latest != null
+                && sameDecimal(latest.getCourseGrade(), course.getCalculatedCourseGrade())
+                && sameDecimal(latest.getCourseGpa(), course.getCourseGpa())) {
+            return;
+        }
+        gpaSnapshotRepository.save(GpaSnapshot.forCourse(course.getUserId(), courseId,
+            course.getCalculatedCourseGrade(), course.getCourseGpa()));
+    }
+
+    /**
+     * Get a user's overall GPA readings in a date range (inclusive)
+     */
+    @Transactional(readOnly = true)
+    public List<GpaSnapshot> getUserHistory(Long userId, LocalDate from, LocalDate to) {
+        return gpaSnapshotRepository.findByUserIdAndCourseIdIsNullAndSnapshotDateBetweenOrderBySnapshotIdAsc(userId, from, to);
+    }
+
+    /**
+     * Get a course's grade and GPA readings in a date range (inclusive)
+     */
+    @Transactional(readOnly = true)
+    public List<GpaSnapshot> getCourseHistory(Long courseId, LocalDate from, LocalDate to) {
+        return gpaSnapshotRepository.findByCourseIdAndSnapshotDateBetweenOrderBySnapshotIdAsc(courseId, from, to);
+    }
+
+    /**
+     * Change in cumulative GPA between two dates
+     * @return Last reading on or before {@code to} minus first reading on or after {@code from},
+     *         or null when either end has no reading
+     */
+    @Transactional(readOnly = true)
+    public Double getCumulativeGpaDelta(Long userId, LocalDate from, LocalDate to) {
+        GpaSnapshot start = gpaSnapshotRepository
+            .findFirstByUserIdAndCourseIdIsNullAndSnapshotDateGreaterThanEqualOrderBySnapshotIdAsc(userId, from);
+        GpaSnapshot end = gpaSnapshotRepository
+            .findFirstByUserIdAndCourseIdIsNullAndSnapshotDateLessThanEqualOrderBySnapshotIdDesc(userId, to);
+        if (start == null || end == null || start.getCumulativeGpa() == null || end.getCumulativeGpa() == null
+                || start.getSnapshotDate().isAfter(end.getSnapshotDate())) {
+            return null;
+        }
+        return end.getCumulativeGpa() - start.getCumulativeGpa();
+    }
+
+    /**
+     * Improvement of cumulative GPA since the first graded reading
+     * Readings taken before any course had a grade (cumulative GPA 0.00, e.g. when the
+     * first course is created) are not a baseline, or the first grade would count as improvement
+     * @return Latest minus first non-zero cumulative GPA, or null with fewer than two graded readings
+     */
+    @Transactional(readOnly = true)
+    public Double getCumulativeGpaImprovement(Long userId) {
+        GpaSnapshot first = gpaSnapshotRepository
+            .findFirstByUserIdAndCourseIdIsNullAndCumulativeGpaGreaterThanOrderBySnapshotIdAsc(userId, 0.0);
+        GpaSnapshot latest = gpaSnapshotRepository.findFirstByUserIdAndCourseIdIsNullOrderBySnapshotIdDesc(userId);
+        if (first == null || latest == null || first.getSnapshotId().equals(latest.getSnapshotId())
+                || first.getCumulativeGpa() == null || latest.getCumulativeGpa() == null) {
+            return null;
+        }
+        return latest.getCumulativeGpa() - first.getCumulativeGpa();
+    }
+
+    /**
+     * Percentage change of average cumulative GPA between the last window and the one before it
+     * @param userId User ID
+     * @param windowDays Window length in days
+     * @return Trend percentage (positive = improving), 0 when either window has no readings
+     */
+    @Transactional(readOnly = true)
+    public double getCumulativeGpaTrend(Long userId, int windowDays) {
+        LocalDate end = LocalDate.now().plusDays(1);
+        LocalDate middle = end.minusDays(windowDays);
+        LocalDate start = middle.minusDays(windowDays);
+
+        Double recentAverage = gpaSnapshotRepository.averageCumulativeGpa(userId, middle, end);
+        Double previousAverage = gpaSnapshotRepository.averageCumulativeGpa(userId, start, middle);
+        if (recentAverage == null || previousAverage == null || previousAverage == 0) {
+            return 0.0;
+        }
+        return ((recentAverage - previousAverage) / previousAverage) * 100;
+    }
+
+    /**
+     * Downsample old readings nightly: one per day after a week, one per week after three months
+     */
+    @Scheduled(cron = "${gradegoal.gpa-history.compaction.cron:0 30 3 * * ?}")
+    @Transactional
+    public void downsampleHistory() {
+        LocalDate today = LocalDate.now();
+        int dailyRemoved = gpaSnapshotRepository.downsampleToDaily(today.minusDays(dailyAfterDays));
+        int weeklyRemoved = gpaSnapshotRepository.downsampleToWeekly(today.minusDays(weeklyAfterDays));
+        logger.info("📉 GPA history downsampled: {} intra-day and {} intra-week readings removed", dailyRemoved, weeklyRemoved);
+    }
+
+    private boolean sameDecimal(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+}
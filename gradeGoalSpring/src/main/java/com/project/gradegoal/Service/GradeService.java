@@ -11,6 +11,7 @@ import com.project.gradegoal.Repository.AssessmentCategoryRepository;
 import com.project.gradegoal.Repository.CourseRepository;
 import com.project.gradegoal.Repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
@@ -45,6 +46,9 @@ public class GradeService {
     
     @Autowired
     private CourseRepository courseRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Grade createGrade(Long assessmentId, Grade grade) {
@@ -54,6 +58,7 @@ public class GradeService {
             grade.setAssessmentId(assessmentId);
             grade.setAssessment(assessment);
             Grade savedGrade = gradeRepository.save(grade);
+            eventPublisher.publishEvent(new AssessmentGradeChangedEvent(assessmentId));
             
             // Analytics are automatically handled by UpdateCourseGrades stored procedure
             // No need to call updateUserAnalytics separately
@@ -91,6 +96,7 @@ public class GradeService {
     @Transactional
     public Grade updateGrade(Grade grade) {
         Grade savedGrade = gradeRepository.save(grade);
+        eventPublisher.publishEvent(new AssessmentGradeChangedEvent(savedGrade.getAssessmentId()));
         
         // Analytics are automatically handled by UpdateCourseGrades stored procedure
         // No need to call updateUserAnalytics separately
@@ -165,6 +171,7 @@ public class GradeService {
             existingGrade.setUpdatedAt(LocalDateTime.now());
 
             Grade savedGrade = gradeRepository.save(existingGrade);
+            eventPublisher.publishEvent(new AssessmentGradeChangedEvent(savedGrade.getAssessmentId()));
             
             // Analytics will be created after course GPA calculation in the frontend flow
 
@@ -199,6 +206,7 @@ public class GradeService {
                 Long assessmentId = grade.getAssessmentId();
                 
                 gradeRepository.deleteById(gradeId);
+                eventPublisher.publishEvent(new AssessmentGradeChangedEvent(assessmentId));
                 
                 List<Grade> remainingGrades = gradeRepository.findByAssessmentId(assessmentId);
                 if (remainingGrades.isEmpty()) {
@@ -276,7 +284,9 @@ public class GradeService {
     @Transactional
     public Grade createGrade(Grade grade) {
 
-        return gradeRepository.save(grade);
+        Grade savedGrade = gradeRepository.save(grade);
+        eventPublisher.publishEvent(new AssessmentGradeChangedEvent(savedGrade.getAssessmentId()));
+        return savedGrade;
     }
 
     @Deprecated
@@ -0,0 +1,178 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.ExportLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gradebook Export Service
+ *
+ * Exports a user's full gradebook (courses, categories, assessments,
+ * grades and goals) as CSV, NDJSON or XLSX. Each section is read through a
+ * forward-only streaming JDBC cursor and every row goes straight to the
+ * writer, so memory use stays flat however large the gradebook is.
+ */
+@Service
+public class GradebookExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradebookExportService.class);
+
+    // MySQL Connector/J streams rows one at a time only with this fetch size
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final String COURSES_SQL = """
+        SELECT c.course_id, c.course_code, c.course_name, c.semester, c.academic_year, c.year_level,
+               c.credit_hours, c.calculated_course_grade, c.course_gpa, c.instructor_name,
+               c.is_active, c.is_completed
+        FROM courses c
+        WHERE c.user_id = ?
+        ORDER BY c.course_id
+        """;
+
+    private static final String CATEGORIES_SQL = """
+        SELECT ac.category_id, ac.course_id, ac.category_name, ac.weight_percentage, ac.order_sequence
+        FROM assessment_categories ac
+        JOIN courses c ON c.course_id = ac.course_id
+        WHERE c.user_id = ?
+        ORDER BY ac.course_id, ac.order_sequence, ac.category_id
+        """;
+
+    private static final String ASSESSMENTS_SQL = """
+        SELECT a.assessment_id, ac.course_id, a.category_id, a.assessment_name, a.max_points,
+               a.due_date, a.status, a.semester_term
+        FROM assessments a
+        JOIN assessment_categories ac ON ac.category_id = a.category_id
+        JOIN courses c ON c.course_id = ac.course_id
+        WHERE c.user_id = ?
+        ORDER BY ac.course_id, a.category_id, a.assessment_id
+        """;
+
+    private static final String GRADES_SQL = """
+        SELECT g.grade_id, ac.course_id, g.assessment_id, g.points_earned, g.points_possible,
+               g.percentage_score, g.score_type, g.grade_date, g.is_extra_credit,
+               g.extra_credit_points, g.semester_term, g.notes
+        FROM grades g
+        JOIN assessments a ON a.assessment_id = g.assessment_id
+        JOIN assessment_categories ac ON ac.category_id = a.category_id
+        JOIN courses c ON c.course_id = ac.course_id
+        WHERE c.user_id = ?
+        ORDER BY ac.course_id, g.assessment_id, g.grade_id
+        """;
+
+    private static final String GOALS_SQL = """
+        SELECT g.goal_id, g.course_id, g.goal_type, g.goal_title, g.target_value, g.target_date,
+               g.priority, g.is_achieved, g.achieved_date, g.semester, g.academic_year
+        FROM academic_goals g
+        WHERE g.user_id = ?
+        ORDER BY g.goal_id
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExportFileService exportFileService;
+
+    /**
+     * Queue a gradebook export
+     * @param userId User whose gradebook is exported
+     * @param format Output format
+     * @return Pending export log; poll its status and download it once COMPLETED
+     */
+    public ExportLog startGradebookExport(Long userId, ExportFormat format) {
+        String fileName = "gradebook-" + userId + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + "." + format.getExtension();
+        String parameters = "{\"scope\":\"gradebook\",\"format\":\"" + format.name() + "\"}";
+
+        ExportLog exportLog = exportFileService.submitExport(userId, format.getExportType(), fileName, parameters,
+            out -> writeGradebook(userId, format, out));
+        logger.info("📤 Gradebook export {} queued for user {} as {}", exportLog.getExportId(), userId, format);
+        return exportLog;
+    }
+
+    /**
+     * Write a user's gradebook to a stream
+     */
+    public void writeGradebook(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        try (ExportRowWriter writer = format.open(out)) {
+            streamSection(writer, "courses", COURSES_SQL, userId);
+            streamSection(writer, "categories", CATEGORIES_SQL, userId);
+            streamSection(writer, "assessments", ASSESSMENTS_SQL, userId);
+            streamSection(writer, "grades", GRADES_SQL, userId);
+            streamSection(writer, "goals", GOALS_SQL, userId);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void streamSection(ExportRowWriter writer, String section, String sql, Object... args) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(STREAMING_FETCH_SIZE);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement;
+        }, (ResultSetExtractor<Void>) resultSet -> {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            List<String> columns = new ArrayList<>(columnCount);
+            for (int i = 1; i <= columnCount; i++) {
+                columns.add(metaData.getColumnLabel(i));
+            }
+
+            Object[] row = new Object[columnCount];
+            try {
+                writer.startSection(section, columns);
+                while (resultSet.next()) {
+                    for (int i = 0; i < columnCount; i++) {
+                        row[i] = toExportValue(resultSet.getObject(i + 1));
+                    }
+                    writer.writeRow(row);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Reduce JDBC values to the types the row writers understand
+     */
+    private Object toExportValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate().toString();
+        }
+        if (value instanceof Time time) {
+            return time.toLocalTime().toString();
+        }
+        if (value == null || value instanceof Number || value instanceof Boolean || value instanceof String) {
+            return value;
+        }
+        return value.toString();
+    }
+}
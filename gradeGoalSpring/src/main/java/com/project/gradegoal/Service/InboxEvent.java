@@ -0,0 +1,68 @@
+package com.project.gradegoal.Service;
+
+/**
+ * Inbox Event
+ *
+ * Published whenever a user's notification or recommendation inbox changes,
+ * so connected notification streams can push the change and keep their
+ * unread counters current without re-counting.
+ */
+public class InboxEvent {
+
+    public enum Type {
+        NOTIFICATION_CREATED,
+        NOTIFICATIONS_READ,
+        RECOMMENDATION_CREATED,
+        RECOMMENDATIONS_READ
+    }
+
+    private final Long userId;
+    private final Type type;
+    private final long count;
+    private final Object payload;
+
+    private InboxEvent(Long userId, Type type, long count, Object payload) {
+        this.userId = userId;
+        this.type = type;
+        this.count = count;
+        this.payload = payload;
+    }
+
+    public static InboxEvent notificationCreated(Long userId, Object notification) {
+        return new InboxEvent(userId, Type.NOTIFICATION_CREATED, 1, notification);
+    }
+
+    public static InboxEvent notificationsRead(Long userId, long count) {
+        return new InboxEvent(userId, Type.NOTIFICATIONS_READ, count, null);
+    }
+
+    public static InboxEvent recommendationCreated(Long userId, Object recommendation) {
+        return new InboxEvent(userId, Type.RECOMMENDATION_CREATED, 1, recommendation);
+    }
+
+    public static InboxEvent recommendationsRead(Long userId, long count) {
+        return new InboxEvent(userId, Type.RECOMMENDATIONS_READ, count, null);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Number of items that became unread (created) or stopped being unread (read)
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * The created notification or recommendation, null for read events
+     */
+    public Object getPayload() {
+        return payload;
+    }
+}
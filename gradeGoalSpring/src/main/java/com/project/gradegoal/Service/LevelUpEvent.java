@@ -0,0 +1,27 @@
+package com.project.gradegoal.Service;
+
+/**
+ * Level Up Event
+ *
+ * Published by the points ledger compactor when folding points into a
+ * user's total moves them to a higher level.
+ */
+public class LevelUpEvent {
+
+    private final Long userId;
+
+    private final Integer newLevel;
+
+    public LevelUpEvent(Long userId, Integer newLevel) {
+        this.userId = userId;
+        this.newLevel = newLevel;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Integer getNewLevel() {
+        return newLevel;
+    }
+}
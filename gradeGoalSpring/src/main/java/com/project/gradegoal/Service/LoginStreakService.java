@@ -1,59 +1,148 @@
 package com.project.gradegoal.Service;
 
-import com.project.gradegoal.Entity.User;
 import com.project.gradegoal.Entity.UserProgress;
 import com.project.gradegoal.Repository.UserRepository;
 import com.project.gradegoal.Repository.UserProgressRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Login Streak Service
+ *
+ * Tracks daily login streaks. Only the first login of a day touches the
+ * database (one read and one conditional UPDATE); later logins that day are
+ * answered from memory. last_login_at is written behind in batches.
+ */
 @Service
 public class LoginStreakService {
     
+    private static final Logger logger = LoggerFactory.getLogger(LoginStreakService.class);
+    
+    /**
+     * Streak already applied today, per user
+     */
+    private final Map<Long, StreakInfo> seenToday = new ConcurrentHashMap<>();
+    
+    /**
+     * Latest login time per user that has not been written to users.last_login_at yet
+     */
+    private final Map<Long, LocalDateTime> pendingLastLogin = new ConcurrentHashMap<>();
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
     private UserProgressRepository userProgressRepository;
     
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private EntityCacheService entityCacheService;
+    
     /**
      * Update user login streak when user logs in
      * @param userId the user ID
      * @return Updated streak information
      */
+    @Transactional
     public StreakInfo updateLoginStreak(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
         
-        UserProgress userProgress = userProgressRepository.findByUserId(userId);
-        if (userProgress == null) {
+        // Repeat logins on the same day only need their timestamp recorded
+        StreakInfo cached = seenToday.get(userId);
+        if (cached != null && today.equals(cached.getLastActivityDate())) {
+            pendingLastLogin.put(userId, now);
+            return cached;
+        }
+        
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with ID: " + userId);
+        }
+        
+        StreakInfo streakInfo;
+        List<Object[]> state = userProgressRepository.findStreakState(userId);
+        if (state.isEmpty()) {
             // Create new user progress if it doesn't exist
-            userProgress = new UserProgress(userId);
-            userProgress.setLastActivityDate(LocalDate.now());
+            UserProgress userProgress = new UserProgress(userId);
+            userProgress.setLastActivityDate(today);
             userProgress.setStreakDays(1);
             userProgressRepository.save(userProgress);
+            streakInfo = new StreakInfo(1, today, null);
+        } else {
+            int currentStreakDays = ((Number) state.get(0)[0]).intValue();
+            LocalDate lastActivityDate = toLocalDate(state.get(0)[1]);
+            
+            int newStreakDays = calculateStreakDays(lastActivityDate, today, currentStreakDays);
+            if (!today.equals(lastActivityDate)) {
+                userProgressRepository.applyStreakTransition(userId, today, today.minusDays(1));
+            }
+            streakInfo = new StreakInfo(newStreakDays, today, lastActivityDate);
         }
         
-        LocalDateTime now = LocalDateTime.now();
-        LocalDate today = now.toLocalDate();
-        LocalDate lastActivityDate = userProgress.getLastActivityDate();
-        
-        // Update last login timestamp
-        user.setLastLoginAt(now);
-        userRepository.save(user);
-        
-        int newStreakDays = calculateStreakDays(lastActivityDate, today, userProgress.getStreakDays());
+        seenToday.put(userId, streakInfo);
+        pendingLastLogin.put(userId, now);
+        return streakInfo;
+    }
+    
+    /**
+     * Write pending last-login timestamps in one batch and drop streak entries from previous days
+     */
+    @Scheduled(fixedDelayString = "${gradegoal.login-streak.flush-interval-ms:30000}")
+    @PreDestroy
+    public void flushLastLogins() {
+        List<Object[]> batch = new ArrayList<>();
+        List<Long> userIds = new ArrayList<>();
+        for (Long userId : new ArrayList<>(pendingLastLogin.keySet())) {
+            LocalDateTime lastLoginAt = pendingLastLogin.remove(userId);
+            if (lastLoginAt != null) {
+                batch.add(new Object[] {Timestamp.valueOf(lastLoginAt), userId});
+                userIds.add(userId);
+            }
+        }
         
-        // Update user progress
-        userProgress.setStreakDays(newStreakDays);
-        userProgress.setLastActivityDate(today);
-        userProgressRepository.save(userProgress);
+        if (!batch.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate("UPDATE users SET last_login_at = ? WHERE user_id = ?", batch);
+                entityCacheService.evictUsers(userIds);
+            } catch (Exception e) {
+                // Keep the newest value for the next attempt
+                for (Object[] row : batch) {
+                    LocalDateTime lastLoginAt = ((Timestamp) row[0]).toLocalDateTime();
+                    pendingLastLogin.merge((Long) row[1], lastLoginAt, (a, b) -> a.isAfter(b) ? a : b);
+                }
+                logger.error("❌ Failed to write {} last-login timestamps, will retry", batch.size(), e);
+            }
+        }
         
-        return new StreakInfo(newStreakDays, today, lastActivityDate);
+        LocalDate today = LocalDate.now();
+        seenToday.values().removeIf(info -> !today.equals(info.getLastActivityDate()));
+    }
+    
+    private LocalDate toLocalDate(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        return (LocalDate) value;
     }
     
     /**
@@ -89,6 +178,11 @@ public class LoginStreakService {
      * @return StreakInfo object
      */
     public StreakInfo getStreakInfo(Long userId) {
+        StreakInfo cached = seenToday.get(userId);
+        if (cached != null && LocalDate.now().equals(cached.getLastActivityDate())) {
+            return cached;
+        }
+        
         UserProgress userProgress = userProgressRepository.findByUserId(userId);
         if (userProgress == null) {
             return new StreakInfo(0, null, null);
@@ -1,20 +1,31 @@
 package com.project.gradegoal.Service;
 
+import com.project.gradegoal.Config.NotificationConfig;
+import com.project.gradegoal.Config.QuartzConfig;
 import com.project.gradegoal.Entity.Assessment;
 import com.project.gradegoal.Entity.CustomEvent;
 import com.project.gradegoal.Entity.User;
 import com.project.gradegoal.Repository.CustomEventRepository;
 import com.project.gradegoal.Repository.UserRepository;
+import org.quartz.ObjectAlreadyExistsException;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -22,12 +33,21 @@ import java.util.stream.Collectors;
  * 
  * Service class for scheduling and managing email notifications for assessments.
  * Runs daily to check for overdue and upcoming assessments and send notifications.
+ * The runs are driven by the clustered Quartz jobs of {@link QuartzConfig}.
+ * Each user is claimed in notification_daily_sends before sending, so a
+ * recovered shard does not send the same day's notifications twice.
  */
 @Service
 public class NotificationSchedulerService {
     
     private static final Logger logger = LoggerFactory.getLogger(NotificationSchedulerService.class);
     
+    // One row per user and day the daily notifications went out; a duplicate insert means already sent
+    private static final String CLAIM_DAILY_SEND =
+        "INSERT IGNORE INTO notification_daily_sends (user_id, send_date) VALUES (?, ?)";
+    private static final String RELEASE_DAILY_SEND =
+        "DELETE FROM notification_daily_sends WHERE user_id = ? AND send_date = ?";
+    
     @Autowired
     private AssessmentService assessmentService;
     
@@ -43,6 +63,9 @@ public class NotificationSchedulerService {
     @Autowired
     private CustomEventRepository customEventRepository;
     
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
     @Value("${notification.overdue.enabled:true}")
     private boolean overdueNotificationsEnabled;
     
@@ -52,31 +75,88 @@ public class NotificationSchedulerService {
     @Value("${notification.upcoming.days.before:2}")
     private int upcomingDaysBefore;
     
+    @Value("${gradegoal.notifications.shard-size:500}")
+    private long shardSize;
+    
+    @Value("${gradegoal.notifications.daily-send-retention-days:7}")
+    private int dailySendRetentionDays;
+    
+    @Autowired
+    private Scheduler scheduler;
+    
+    @Autowired
+    @Qualifier(NotificationConfig.NOTIFICATION_EXECUTOR)
+    private TaskExecutor notificationExecutor;
+    
     
     /**
-     * Scheduled method to check and send notifications daily at 9 AM
+     * Start the daily notification run now instead of waiting for 9 AM
+     * @throws SchedulerException if the run could not be queued
      */
-    @Scheduled(cron = "${notification.schedule.cron:0 0 9 * * ?}")
-    public void checkAndSendNotifications() {
-        logger.info("Starting daily notification check...");
+    public void checkAndSendNotifications() throws SchedulerException {
+        scheduler.triggerJob(QuartzConfig.DAILY_NOTIFICATION_JOB);
+        logger.info("Daily notification run triggered manually");
+    }
+    
+    /**
+     * Split the daily run into user ID range shards and schedule one trigger per shard
+     * @param runId Identifier of this run, part of the shard trigger names
+     * @return Number of shards scheduled
+     */
+    public int scheduleNotificationShards(long runId) throws SchedulerException {
+        List<Object[]> rows = userRepository.getNotifiableUserIdRange();
+        Object[] range = rows.isEmpty() ? null : rows.get(0);
+        if (range == null || range[0] == null) {
+            logger.info("Daily notification check: no users with notifications enabled");
+            return 0;
+        }
+        long minUserId = ((Number) range[0]).longValue();
+        long maxUserId = ((Number) range[1]).longValue();
         
-        try {
-            // Get all users who should receive notifications
-            List<User> users = userRepository.findAll();
-            
-            for (User user : users) {
-                // Send notifications to users with either email or push notifications enabled
-                if (user.getEmail() != null && !user.getEmail().isEmpty() && 
-                    ((user.getEmailNotificationsEnabled() != null && user.getEmailNotificationsEnabled()) ||
-                     (user.getPushNotificationsEnabled() != null && user.getPushNotificationsEnabled()))) {
-                    sendNotificationsForUser(user);
-                }
+        jdbcTemplate.update("DELETE FROM notification_daily_sends WHERE send_date < ?",
+            LocalDate.now().minusDays(dailySendRetentionDays));
+        
+        int shards = 0;
+        for (long fromUserId = minUserId; fromUserId <= maxUserId; fromUserId += shardSize) {
+            long toUserId = Math.min(fromUserId + shardSize - 1, maxUserId);
+            Trigger shardTrigger = TriggerBuilder.newTrigger()
+                .forJob(QuartzConfig.NOTIFICATION_SHARD_JOB)
+                .withIdentity("notification-shard-" + runId + "-" + fromUserId, QuartzConfig.NOTIFICATION_SHARD_GROUP)
+                .usingJobData(NotificationShardJob.FROM_USER_ID, fromUserId)
+                .usingJobData(NotificationShardJob.TO_USER_ID, toUserId)
+                .startNow()
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .build();
+            try {
+                scheduler.scheduleJob(shardTrigger);
+                shards++;
+            } catch (ObjectAlreadyExistsException e) {
+                // Scheduled by an earlier attempt of the same run
             }
+        }
+        
+        logger.info("Daily notification check: scheduled {} shards for user IDs {}-{}", shards, minUserId, maxUserId);
+        return shards;
+    }
+    
+    /**
+     * Send the daily notifications of the users in a user ID range
+     * @param fromUserId First user ID (inclusive)
+     * @param toUserId Last user ID (inclusive)
+     */
+    public void sendNotificationsForUserRange(long fromUserId, long toUserId) {
+        try {
+            // Users with an email address and either email or push notifications enabled
+            List<User> users = userRepository.findNotifiableUsersInRange(fromUserId, toUserId);
             
-            logger.info("Daily notification check completed successfully");
-            
+            // Fan out over the notification executor; the shard completes once every user is sent
+            CompletableFuture<?>[] sends = users.stream()
+                .map(user -> CompletableFuture.runAsync(() -> sendNotificationsForUser(user), notificationExecutor))
+                .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(sends).join();
+            logger.info("Notification shard {}-{} completed ({} users)", fromUserId, toUserId, users.size());
         } catch (Exception e) {
-            logger.error("Error during daily notification check", e);
+            logger.error("Error during notification shard {}-{}", fromUserId, toUserId, e);
         }
     }
     
@@ -97,50 +177,68 @@ public class NotificationSchedulerService {
                 return;
             }
             
-            // Check for overdue assessments
-            if (overdueNotificationsEnabled) {
-                List<Assessment> overdueAssessments = getOverdueAssessments(userAssessments);
-                if (!overdueAssessments.isEmpty()) {
-                    logger.info("Sending overdue notification to: {} ({} assessments)", 
-                        user.getEmail(), overdueAssessments.size());
-                    
-                    // Send email notification if enabled
-                    if (user.getEmailNotificationsEnabled() != null && user.getEmailNotificationsEnabled()) {
-                        emailNotificationService.sendOverdueNotification(user.getEmail(), overdueAssessments);
-                    }
-                    
-                    // Send push notification if enabled
-                    if (user.getPushNotificationsEnabled() != null && user.getPushNotificationsEnabled()) {
-                        sendOverduePushNotification(user.getEmail(), overdueAssessments);
-                    }
-                }
+            List<Assessment> overdueAssessments = overdueNotificationsEnabled
+                ? getOverdueAssessments(userAssessments) : List.of();
+            List<Assessment> upcomingAssessments = upcomingNotificationsEnabled
+                ? getUpcomingAssessments(userAssessments) : List.of();
+            if (overdueAssessments.isEmpty() && upcomingAssessments.isEmpty()) {
+                return;
             }
             
-            // Check for upcoming assessments
-            if (upcomingNotificationsEnabled) {
-                List<Assessment> upcomingAssessments = getUpcomingAssessments(userAssessments);
-                if (!upcomingAssessments.isEmpty()) {
-                    logger.info("Sending upcoming notification to: {} ({} assessments)", 
-                        user.getEmail(), upcomingAssessments.size());
-                    
-                    // Send email notification if enabled
-                    if (user.getEmailNotificationsEnabled() != null && user.getEmailNotificationsEnabled()) {
-                        emailNotificationService.sendUpcomingNotification(user.getEmail(), upcomingAssessments);
-                    }
-                    
-                    // Send push notification if enabled
-                    if (user.getPushNotificationsEnabled() != null && user.getPushNotificationsEnabled()) {
-                        sendUpcomingPushNotification(user.getEmail(), upcomingAssessments);
-                    }
-                }
+            // A recovered shard runs its whole range again; users already sent today are skipped
+            LocalDate today = LocalDate.now();
+            if (jdbcTemplate.update(CLAIM_DAILY_SEND, user.getUserId(), today) == 0) {
+                logger.debug("Daily notifications already sent to user {} today", user.getUserId());
+                return;
+            }
+            try {
+                sendAssessmentNotifications(user, overdueAssessments, upcomingAssessments);
+            } catch (Exception e) {
+                // Let a retry of the shard send to this user
+                jdbcTemplate.update(RELEASE_DAILY_SEND, user.getUserId(), today);
+                throw e;
             }
-            
-            
         } catch (Exception e) {
             logger.error("Error sending notifications for user: {}", user.getEmail(), e);
         }
     }
     
+    /**
+     * Send the overdue and upcoming assessment notifications of a user over the enabled channels
+     */
+    private void sendAssessmentNotifications(User user, List<Assessment> overdueAssessments,
+                                             List<Assessment> upcomingAssessments) {
+        if (!overdueAssessments.isEmpty()) {
+            logger.info("Sending overdue notification to: {} ({} assessments)", 
+                user.getEmail(), overdueAssessments.size());
+            
+            // Send email notification if enabled
+            if (user.getEmailNotificationsEnabled() != null && user.getEmailNotificationsEnabled()) {
+                emailNotificationService.sendOverdueNotification(user.getEmail(), overdueAssessments);
+            }
+            
+            // Send push notification if enabled
+            if (user.getPushNotificationsEnabled() != null && user.getPushNotificationsEnabled()) {
+                sendOverduePushNotification(user.getEmail(), overdueAssessments);
+            }
+        }
+        
+        if (!upcomingAssessments.isEmpty()) {
+            logger.info("Sending upcoming notification to: {} ({} assessments)", 
+                user.getEmail(), upcomingAssessments.size());
+            
+            // Send email notification if enabled
+            if (user.getEmailNotificationsEnabled() != null && user.getEmailNotificationsEnabled()) {
+                emailNotificationService.sendUpcomingNotification(user.getEmail(), upcomingAssessments);
+            }
+            
+            // Send push notification if enabled
+            if (user.getPushNotificationsEnabled() != null && user.getPushNotificationsEnabled()) {
+                sendUpcomingPushNotification(user.getEmail(), upcomingAssessments);
+            }
+        }
+    }
+    
     /**
      * Get overdue assessments for a user
      * @param assessments List of user's assessments
@@ -234,10 +332,9 @@ public class NotificationSchedulerService {
     
     
     /**
-     * Scheduled method to check for custom event reminders
-     * Runs every minute to check for upcoming custom events
+     * Check for custom event reminders
+     * Runs every minute from CustomEventReminderJob to check for upcoming custom events
      */
-    @Scheduled(fixedRate = 60000) // Run every minute (60,000 milliseconds)
     public void checkCustomEventReminders() {
         logger.debug("Checking for custom event reminders...");
         
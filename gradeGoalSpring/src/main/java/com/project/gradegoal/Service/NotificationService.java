@@ -1,6 +1,7 @@
 package com.project.gradegoal.Service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.gradegoal.DTO.KeysetPage;
 import com.project.gradegoal.Entity.Achievement;
 import com.project.gradegoal.Entity.Notification;
 import com.project.gradegoal.Entity.User;
@@ -9,6 +10,10 @@ import com.project.gradegoal.Repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,6 +40,21 @@ public class NotificationService {
     @Autowired
     private PushNotificationService pushNotificationService;
     
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${gradegoal.notifications.retention.days:90}")
+    private int retentionDays;
+    
+    @Value("${gradegoal.notifications.retention.chunk-size:1000}")
+    private int retentionChunkSize;
+    
+    @Value("${gradegoal.notifications.retention.max-chunks:100}")
+    private int retentionMaxChunks;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     /**
@@ -82,7 +102,8 @@ public class NotificationService {
             notification.setActionData(objectMapper.writeValueAsString(actionData));
             notification.setCreatedAt(LocalDateTime.now());
             
-            notificationRepository.save(notification);
+            Notification saved = notificationRepository.save(notification);
+            eventPublisher.publishEvent(InboxEvent.notificationCreated(userId, saved));
             logger.info("In-app notification created for user {}", userId);
             
         } catch (Exception e) {
@@ -203,17 +224,17 @@ public class NotificationService {
     }
     
     /**
-     * Get all notifications for a user
-     */
-    public List<Notification> getUserNotifications(Long userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
-    }
-    
-    /**
-     * Get unread notifications for a user
+     * Get one page of a user's notifications, newest first
+     * @param userId User ID
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Page size
+     * @param unreadOnly Only include unread notifications
+     * @return Page of notifications with the cursor of the next page
      */
-    public List<Notification> getUnreadNotifications(Long userId) {
-        return notificationRepository.findByUserIdAndIsReadOrderByCreatedAtDesc(userId, false);
+    public KeysetPage<Notification> getNotificationFeed(Long userId, String cursor, int limit, boolean unreadOnly) {
+        List<Notification> rows = notificationRepository.findFeedPage(
+            userId, KeysetPage.cursorId(cursor), unreadOnly, PageRequest.of(0, limit + 1));
+        return KeysetPage.of(rows, limit, notification -> notification.getNotificationId().toString());
     }
     
     /**
@@ -223,9 +244,13 @@ public class NotificationService {
     public void markAsRead(Long notificationId) {
         Optional<Notification> notificationOpt = notificationRepository.findById(notificationId);
         notificationOpt.ifPresent(notification -> {
+            boolean wasUnread = !Boolean.TRUE.equals(notification.getIsRead());
             notification.setIsRead(true);
             notification.setReadAt(LocalDateTime.now());
             notificationRepository.save(notification);
+            if (wasUnread) {
+                eventPublisher.publishEvent(InboxEvent.notificationsRead(notification.getUserId(), 1));
+            }
         });
     }
     
@@ -233,19 +258,42 @@ public class NotificationService {
      * Mark all notifications as read for a user
      */
     @Transactional
-    public void markAllAsRead(Long userId) {
-        List<Notification> unreadNotifications = getUnreadNotifications(userId);
-        for (Notification notification : unreadNotifications) {
-            notification.setIsRead(true);
-            notification.setReadAt(LocalDateTime.now());
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllAsReadByUserId(userId, LocalDateTime.now());
+        if (updated > 0) {
+            eventPublisher.publishEvent(InboxEvent.notificationsRead(userId, updated));
         }
-        notificationRepository.saveAll(unreadNotifications);
+        return updated;
     }
     
     /**
-     * Get unread notification count
+     * Delete read notifications older than the retention period in bounded
+     * chunks, so the purge never holds long locks on the table
+     */
+    @Scheduled(cron = "${gradegoal.notifications.retention.cron:0 15 3 * * *}")
+    public void purgeReadNotifications() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int totalDeleted = 0;
+        for (int chunk = 0; chunk < retentionMaxChunks; chunk++) {
+            int deleted = notificationRepository.deleteReadCreatedBefore(cutoff, retentionChunkSize);
+            totalDeleted += deleted;
+            if (deleted < retentionChunkSize) {
+                break;
+            }
+        }
+        if (totalDeleted > 0) {
+            logger.info("🧹 Purged {} read notifications older than {} days", totalDeleted, retentionDays);
+        }
+    }
+    
+    /**
+     * Get unread notification count (served from memory while the user has an open stream)
      */
     public long getUnreadCount(Long userId) {
+        Long streamed = notificationStreamService.getUnreadNotificationCount(userId);
+        if (streamed != null) {
+            return streamed;
+        }
         return notificationRepository.countByUserIdAndIsRead(userId, false);
     }
     
@@ -278,7 +326,8 @@ public class NotificationService {
             notification.setActionData(objectMapper.writeValueAsString(actionData));
             notification.setCreatedAt(LocalDateTime.now());
             
-            notificationRepository.save(notification);
+            Notification saved = notificationRepository.save(notification);
+            eventPublisher.publishEvent(InboxEvent.notificationCreated(userId, saved));
             logger.info("Level-up notification created for user {} to level {}", userId, newLevel);
             
         } catch (Exception e) {
@@ -0,0 +1,25 @@
+package com.project.gradegoal.Service;
+
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+/**
+ * Quartz job sending the daily notifications of one user ID range. Several
+ * shards run in parallel, on one node or spread over the cluster.
+ */
+public class NotificationShardJob extends QuartzJobBean {
+
+    public static final String FROM_USER_ID = "fromUserId";
+    public static final String TO_USER_ID = "toUserId";
+
+    @Autowired
+    private NotificationSchedulerService notificationSchedulerService;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) {
+        JobDataMap data = context.getMergedJobDataMap();
+        notificationSchedulerService.sendNotificationsForUserRange(data.getLong(FROM_USER_ID), data.getLong(TO_USER_ID));
+    }
+}
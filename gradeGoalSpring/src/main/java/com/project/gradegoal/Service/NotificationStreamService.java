@@ -0,0 +1,399 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.Notification;
+import com.project.gradegoal.Entity.Recommendation;
+import com.project.gradegoal.Repository.AIRecommendationRepository;
+import com.project.gradegoal.Repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Notification Stream Service
+ *
+ * Pushes new notifications, new AI recommendations and unread counts to
+ * clients over Server-Sent Events instead of having them poll. Unread
+ * counts are loaded once when a user connects and then kept in memory from
+ * InboxEvents; a periodic resync corrects drift from rows written outside
+ * the services (stored procedures, manual SQL). Recent events are kept per
+ * user so a reconnecting client can resume from its Last-Event-ID.
+ *
+ * Emitters live on the node the client connected to. Items created on
+ * another node are picked up by a short database poll for the users
+ * connected here; items already pushed from a local InboxEvent are
+ * skipped. Read events from other nodes reach the counters through the
+ * periodic resync.
+ */
+@Service
+public class NotificationStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    // Item keys remembered per user so the poll does not push an item twice
+    private static final int DELIVERED_MEMORY = 256;
+
+    public static final String EVENT_NOTIFICATION = "notification";
+    public static final String EVENT_RECOMMENDATION = "recommendation";
+    public static final String EVENT_UNREAD_COUNT = "unread-count";
+
+    private final Map<Long, UserStream> streams = new ConcurrentHashMap<>();
+
+    // Seeded from the clock so IDs keep increasing across restarts
+    private final AtomicLong eventSequence = new AtomicLong(System.currentTimeMillis());
+
+    private volatile LocalDateTime lastPollStartedAt = LocalDateTime.now();
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private AIRecommendationRepository recommendationRepository;
+
+    @Value("${gradegoal.notification-stream.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${gradegoal.notification-stream.reconnect-ms:5000}")
+    private long reconnectMs;
+
+    @Value("${gradegoal.notification-stream.replay-size:50}")
+    private int replaySize;
+
+    @Value("${gradegoal.notification-stream.idle-retention-ms:120000}")
+    private long idleRetentionMs;
+
+    // Re-read window of the poll, covering commit delay and clock differences between nodes
+    @Value("${gradegoal.notification-stream.poll-overlap-ms:10000}")
+    private long pollOverlapMs;
+
+    /**
+     * Open a stream for a user
+     * @param userId User ID
+     * @param lastEventId Last-Event-ID sent by a reconnecting client, or null
+     * @return Emitter that receives replayed events followed by an unread-count snapshot
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        UserStream stream = streams.computeIfAbsent(userId, this::openStream);
+        stream.emitters.add(emitter);
+        stream.touch();
+
+        emitter.onCompletion(() -> detach(userId, emitter));
+        emitter.onTimeout(() -> detach(userId, emitter));
+        emitter.onError(error -> detach(userId, emitter));
+
+        if (lastEventId != null) {
+            for (StreamEvent missed : stream.eventsAfter(lastEventId)) {
+                if (!send(userId, emitter, missed)) {
+                    return emitter;
+                }
+            }
+        }
+        send(userId, emitter, new StreamEvent(eventSequence.get(), EVENT_UNREAD_COUNT, stream.snapshot()));
+
+        logger.info("📡 Notification stream opened for user {} ({} connection(s))", userId, stream.emitters.size());
+        return emitter;
+    }
+
+    /**
+     * Unread notification count held for a connected user
+     * @param userId User ID
+     * @return In-memory count, or null when the user has no open stream
+     */
+    public Long getUnreadNotificationCount(Long userId) {
+        UserStream stream = streams.get(userId);
+        return stream != null ? stream.unreadNotifications.get() : null;
+    }
+
+    /**
+     * Unread AI recommendation count held for a connected user
+     * @param userId User ID
+     * @return In-memory count, or null when the user has no open stream
+     */
+    public Long getUnreadRecommendationCount(Long userId) {
+        UserStream stream = streams.get(userId);
+        return stream != null ? stream.unreadRecommendations.get() : null;
+    }
+
+    /**
+     * Apply an inbox change once it is committed and push it to the user's streams
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInboxEvent(InboxEvent event) {
+        UserStream stream = streams.get(event.getUserId());
+        if (stream == null) {
+            // Nobody is listening; counts are loaded fresh on the next subscribe
+            return;
+        }
+
+        switch (event.getType()) {
+            case NOTIFICATION_CREATED -> {
+                if (!stream.markDelivered(itemKey(event.getPayload()))) {
+                    return;
+                }
+                stream.unreadNotifications.addAndGet(event.getCount());
+                publish(event.getUserId(), stream, EVENT_NOTIFICATION, event.getPayload());
+            }
+            case RECOMMENDATION_CREATED -> {
+                if (!stream.markDelivered(itemKey(event.getPayload()))) {
+                    return;
+                }
+                stream.unreadRecommendations.addAndGet(event.getCount());
+                publish(event.getUserId(), stream, EVENT_RECOMMENDATION, event.getPayload());
+            }
+            case NOTIFICATIONS_READ -> stream.unreadNotifications.updateAndGet(n -> Math.max(0, n - event.getCount()));
+            case RECOMMENDATIONS_READ -> stream.unreadRecommendations.updateAndGet(n -> Math.max(0, n - event.getCount()));
+        }
+        publish(event.getUserId(), stream, EVENT_UNREAD_COUNT, stream.snapshot());
+    }
+
+    /**
+     * Push notifications and AI recommendations created on other nodes to the
+     * users connected to this one; two grouped queries per poll
+     */
+    @Scheduled(fixedDelayString = "${gradegoal.notification-stream.poll-interval-ms:3000}")
+    public void pollNewItems() {
+        LocalDateTime started = LocalDateTime.now();
+        LocalDateTime since = lastPollStartedAt.minus(pollOverlapMs, ChronoUnit.MILLIS);
+        lastPollStartedAt = started;
+        if (streams.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = new ArrayList<>(streams.keySet());
+
+        int delivered = 0;
+        for (Notification notification : notificationRepository.findByUserIdInAndCreatedAtGreaterThanEqual(userIds, since)) {
+            UserStream stream = streams.get(notification.getUserId());
+            if (stream != null && stream.isNew(notification.getCreatedAt()) && stream.markDelivered(itemKey(notification))) {
+                stream.unreadNotifications.incrementAndGet();
+                publish(notification.getUserId(), stream, EVENT_NOTIFICATION, notification);
+                publish(notification.getUserId(), stream, EVENT_UNREAD_COUNT, stream.snapshot());
+                delivered++;
+            }
+        }
+        for (Recommendation recommendation : recommendationRepository.findAIRecommendationsCreatedSince(userIds, since)) {
+            UserStream stream = streams.get(recommendation.getUserId());
+            if (stream != null && stream.isNew(recommendation.getCreatedAt()) && stream.markDelivered(itemKey(recommendation))) {
+                stream.unreadRecommendations.incrementAndGet();
+                publish(recommendation.getUserId(), stream, EVENT_RECOMMENDATION, recommendation);
+                publish(recommendation.getUserId(), stream, EVENT_UNREAD_COUNT, stream.snapshot());
+                delivered++;
+            }
+        }
+        if (delivered > 0) {
+            logger.debug("Streamed {} item(s) created on other nodes", delivered);
+        }
+    }
+
+    /**
+     * Keep idle connections open through proxies and drop dead ones
+     */
+    @Scheduled(fixedDelayString = "${gradegoal.notification-stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, UserStream> entry : streams.entrySet()) {
+            UserStream stream = entry.getValue();
+            for (SseEmitter emitter : stream.emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    detach(entry.getKey(), emitter);
+                }
+            }
+            // Keep counters and replay buffer briefly so a reconnect can resume
+            if (stream.emitters.isEmpty() && now - stream.lastActive > idleRetentionMs) {
+                streams.remove(entry.getKey(), stream);
+            }
+        }
+    }
+
+    /**
+     * Re-count unread items for connected users in two grouped queries and
+     * push a snapshot to anyone whose in-memory count had drifted
+     */
+    @Scheduled(fixedDelayString = "${gradegoal.notification-stream.resync-interval-ms:300000}")
+    public void resyncUnreadCounts() {
+        if (streams.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = new ArrayList<>(streams.keySet());
+        Map<Long, Long> notificationCounts = toCountMap(notificationRepository.countUnreadByUserIds(userIds));
+        Map<Long, Long> recommendationCounts =
+            toCountMap(recommendationRepository.countUnreadAIRecommendationsByUserIds(userIds));
+
+        int corrected = 0;
+        for (Long userId : userIds) {
+            UserStream stream = streams.get(userId);
+            if (stream == null) {
+                continue;
+            }
+            long notifications = notificationCounts.getOrDefault(userId, 0L);
+            long recommendations = recommendationCounts.getOrDefault(userId, 0L);
+            boolean drifted = stream.unreadNotifications.getAndSet(notifications) != notifications;
+            drifted |= stream.unreadRecommendations.getAndSet(recommendations) != recommendations;
+            if (drifted) {
+                publish(userId, stream, EVENT_UNREAD_COUNT, stream.snapshot());
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            logger.info("🔄 Resynced unread counts for {} of {} streamed user(s)", corrected, userIds.size());
+        }
+    }
+
+    private UserStream openStream(Long userId) {
+        UserStream stream = new UserStream(replaySize);
+        stream.unreadNotifications.set(notificationRepository.countByUserIdAndIsRead(userId, false));
+        stream.unreadRecommendations.set(recommendationRepository.countUnreadAIRecommendations(userId));
+        return stream;
+    }
+
+    private void publish(Long userId, UserStream stream, String name, Object data) {
+        StreamEvent event = new StreamEvent(eventSequence.incrementAndGet(), name, data);
+        if (!EVENT_UNREAD_COUNT.equals(name)) {
+            // Counts are re-sent as a snapshot on reconnect, so only items are replayed
+            stream.remember(event);
+        }
+        for (SseEmitter emitter : stream.emitters) {
+            send(userId, emitter, event);
+        }
+    }
+
+    private boolean send(Long userId, SseEmitter emitter, StreamEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.id))
+                .name(event.name)
+                .reconnectTime(reconnectMs)
+                .data(event.data));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            detach(userId, emitter);
+            return false;
+        }
+    }
+
+    private void detach(Long userId, SseEmitter emitter) {
+        UserStream stream = streams.get(userId);
+        if (stream != null && stream.emitters.remove(emitter)) {
+            stream.touch();
+            logger.debug("Notification stream closed for user {}", userId);
+        }
+    }
+
+    private String itemKey(Object item) {
+        if (item instanceof Notification notification) {
+            return "notification:" + notification.getNotificationId();
+        }
+        if (item instanceof Recommendation recommendation) {
+            return "recommendation:" + recommendation.getRecommendationId();
+        }
+        return null;
+    }
+
+    private Map<Long, Long> toCountMap(List<Object[]> rows) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Open emitters, unread counters and recent events of one user
+     */
+    private static final class UserStream {
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private final AtomicLong unreadNotifications = new AtomicLong();
+        private final AtomicLong unreadRecommendations = new AtomicLong();
+        private final Deque<StreamEvent> recent = new ArrayDeque<>();
+        private final LinkedHashSet<String> delivered = new LinkedHashSet<>();
+        private final int replaySize;
+        // Items created before this were part of the counts loaded on open
+        private final LocalDateTime openedAt = LocalDateTime.now();
+        private volatile long lastActive = System.currentTimeMillis();
+
+        private UserStream(int replaySize) {
+            this.replaySize = replaySize;
+        }
+
+        private void touch() {
+            lastActive = System.currentTimeMillis();
+        }
+
+        private synchronized void remember(StreamEvent event) {
+            recent.addLast(event);
+            while (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+        }
+
+        private boolean isNew(LocalDateTime createdAt) {
+            return createdAt == null || !createdAt.isBefore(openedAt);
+        }
+
+        /**
+         * Remember a pushed item
+         * @return false if it was pushed before
+         */
+        private synchronized boolean markDelivered(String key) {
+            if (key == null) {
+                return true;
+            }
+            if (!delivered.add(key)) {
+                return false;
+            }
+            if (delivered.size() > DELIVERED_MEMORY) {
+                delivered.remove(delivered.iterator().next());
+            }
+            return true;
+        }
+
+        private synchronized List<StreamEvent> eventsAfter(long lastEventId) {
+            List<StreamEvent> missed = new ArrayList<>();
+            for (StreamEvent event : recent) {
+                if (event.id > lastEventId) {
+                    missed.add(event);
+                }
+            }
+            return missed;
+        }
+
+        private Map<String, Object> snapshot() {
+            Map<String, Object> counts = new HashMap<>();
+            counts.put("notifications", unreadNotifications.get());
+            counts.put("recommendations", unreadRecommendations.get());
+            return counts;
+        }
+    }
+
+    private static final class StreamEvent {
+        private final long id;
+        private final String name;
+        private final Object data;
+
+        private StreamEvent(long id, String name, Object data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.gradegoal.Service;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+/**
+ * Quartz job folding the points ledger into user progress. Never runs on two
+ * nodes at once, so only one compactor folds the ledger at a time.
+ */
+@DisallowConcurrentExecution
+public class PointsLedgerCompactionJob extends QuartzJobBean {
+
+    @Autowired
+    private PointsLedgerService pointsLedgerService;
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) {
+        pointsLedgerService.compact();
+    }
+}
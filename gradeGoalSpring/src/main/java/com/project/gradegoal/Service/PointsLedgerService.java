@@ -0,0 +1,241 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.PointsLedgerEntry;
+import com.project.gradegoal.Entity.UserProgress;
+import com.project.gradegoal.Repository.PointsLedgerRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Points Ledger Service
+ *
+ * Every points award is appended to the insert-only points_ledger table
+ * instead of updating user_progress directly. Awards are group-committed:
+ * concurrent awards are written together in one JDBC batch, and append()
+ * returns only once its award is committed. A compactor periodically folds
+ * settled entries into UserProgress totals and levels; it runs as a clustered
+ * Quartz job (PointsLedgerCompactionJob), so only one node folds at a time.
+ * Reads add the not-yet-folded tail on top of the stored total.
+ */
+@Service
+public class PointsLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointsLedgerService.class);
+
+    private static final String INSERT_ENTRY =
+        "INSERT INTO points_ledger (user_id, points, activity_type, created_at) VALUES (?, ?, ?, ?)";
+
+    private record PendingAward(PointsLedgerEntry entry, CompletableFuture<Void> written) {}
+
+    private final Queue<PendingAward> buffer = new ConcurrentLinkedQueue<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Every ledger entry up to this ID has been settled (see compact()); per node, so a node taking
+    // over the compaction job recomputes it from the start of the ledger
+    private volatile long settledThrough = 0L;
+
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @Autowired
+    private UserProgressService userProgressService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${gradegoal.points-ledger.batch-size:500}")
+    private int batchSize;
+
+    @Value("${gradegoal.points-ledger.settle-seconds:2}")
+    private int settleSeconds;
+
+    @Value("${gradegoal.points-ledger.compaction-users:1000}")
+    private int compactionUsers;
+
+    private TransactionTemplate writeTransaction;
+
+    @PostConstruct
+    public void init() {
+        // Ledger batches commit on their own, independent of whichever caller happens to write them
+        writeTransaction = new TransactionTemplate(transactionManager);
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Record a points award; returns once the award is committed to the ledger
+     * @param userId User ID
+     * @param points Points awarded
+     * @param activityType What the points were awarded for
+     */
+    public void append(Long userId, Integer points, String activityType) {
+        if (userId == null || points == null || points == 0) {
+            return;
+        }
+        PendingAward award = new PendingAward(new PointsLedgerEntry(userId, points, activityType), new CompletableFuture<>());
+        buffer.add(award);
+
+        // Whoever holds the lock writes everything queued so far; awards queued meanwhile go out together in the next batch
+        writeLock.lock();
+        try {
+            if (!award.written().isDone()) {
+                writeQueued();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+
+        try {
+            award.written().join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to record " + points + " points for user " + userId, e.getCause());
+        }
+    }
+
+    private void writeQueued() {
+        List<PendingAward> batch = new ArrayList<>(batchSize);
+        PendingAward award;
+        while ((award = buffer.poll()) != null) {
+            batch.add(award);
+            if (batch.size() == batchSize) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<PendingAward> batch) {
+        try {
+            writeTransaction.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_ENTRY, batch, batch.size(), (ps, award) -> {
+                    PointsLedgerEntry e = award.entry();
+                    ps.setLong(1, e.getUserId());
+                    ps.setInt(2, e.getPoints());
+                    ps.setString(3, e.getActivityType());
+                    ps.setTimestamp(4, Timestamp.valueOf(e.getCreatedAt()));
+                }));
+            batch.forEach(a -> a.written().complete(null));
+        } catch (Exception e) {
+            logger.error("❌ Failed to write {} points ledger entries", batch.size(), e);
+            batch.forEach(a -> a.written().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Fold settled ledger entries into user_progress totals and levels
+     *
+     * Only a contiguous prefix of the ledger is folded: every entry ID up to the
+     * settled bound was recorded before the settle cutoff, and no entry at or
+     * after the cutoff is below it. An entry whose transaction is still open
+     * therefore never ends up below a watermark it was not counted in.
+     * Called by PointsLedgerCompactionJob, never concurrently across the cluster.
+     */
+    public void compact() {
+        LocalDateTime settledBefore = LocalDateTime.now().minusSeconds(settleSeconds);
+        long bound = settledThrough;
+        Long lastSettled = pointsLedgerRepository.findLastEntryIdBefore(bound, settledBefore);
+        if (lastSettled != null) {
+            Long firstUnsettled = pointsLedgerRepository.findFirstEntryIdSince(bound, settledBefore);
+            bound = firstUnsettled != null ? Math.min(lastSettled, firstUnsettled - 1) : lastSettled;
+            settledThrough = Math.max(settledThrough, bound);
+        }
+        if (bound == 0L) {
+            return;
+        }
+
+        List<Object[]> totals = pointsLedgerRepository.findCompactableTotals(bound, compactionUsers);
+        for (Object[] row : totals) {
+            Long userId = ((Number) row[0]).longValue();
+            int points = ((Number) row[1]).intValue();
+            Long previousWatermark = ((Number) row[2]).longValue();
+
+            try {
+                UserProgressService.LevelUpResult result =
+                    userProgressService.foldLedgerPoints(userId, points, previousWatermark, bound);
+                if (result != null && result.isLeveledUp()) {
+                    eventPublisher.publishEvent(new LevelUpEvent(userId, result.getProgress().getCurrentLevel()));
+                }
+            } catch (Exception e) {
+                logger.error("❌ Failed to compact points ledger for user {}", userId, e);
+            }
+        }
+
+        if (!totals.isEmpty()) {
+            logger.debug("Points ledger compacted for {} users up to entry {}", totals.size(), bound);
+        }
+    }
+
+    /**
+     * Points awarded to a user that are not yet part of their stored total
+     * @param userId User ID
+     * @param ledgerWatermark The user's ledger watermark
+     * @return Sum of un-compacted ledger entries
+     */
+    public int getPendingPoints(Long userId, Long ledgerWatermark) {
+        Long pending = pointsLedgerRepository.sumPointsAfter(userId, ledgerWatermark != null ? ledgerWatermark : 0L);
+        return pending != null ? pending.intValue() : 0;
+    }
+
+    /**
+     * Add pending points to a user progress for display
+     * The entity is detached first so the merged values are never written back
+     * @param progress Stored user progress
+     * @return The same progress with pending points, level and points to next level merged in
+     */
+    public UserProgress withPendingPoints(UserProgress progress) {
+        int pending = getPendingPoints(progress.getUserId(), progress.getLedgerWatermark());
+        if (pending == 0) {
+            return progress;
+        }
+        if (entityManager.contains(progress)) {
+            entityManager.detach(progress);
+        }
+
+        int totalPoints = progress.getTotalPoints() + pending;
+        int level = Math.max(progress.getCurrentLevel(), userProgressService.calculateLevelForPoints(totalPoints));
+        progress.setTotalPoints(totalPoints);
+        progress.setCurrentLevel(level);
+        progress.setPointsToNextLevel(userProgressService.calculatePointsRequiredForLevel(level + 1) - totalPoints);
+        return progress;
+    }
+
+    /**
+     * Most recent awards for a user
+     */
+    public List<PointsLedgerEntry> getRecentEntries(Long userId) {
+        return pointsLedgerRepository.findTop50ByUserIdOrderByEntryIdDesc(userId);
+    }
+}
@@ -0,0 +1,193 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Config.SqlCaptureInspector;
+import com.project.gradegoal.Repository.AIRecommendationRepository;
+import com.project.gradegoal.Repository.AssessmentRepository;
+import com.project.gradegoal.Repository.CustomEventRepository;
+import com.project.gradegoal.Repository.UserActivityLogRepository;
+import com.project.gradegoal.Repository.UserAnalyticsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query Plan Check Service
+ *
+ * Runs EXPLAIN on the SQL Hibernate generates for the hot repository queries
+ * (captured from the repository methods themselves, with representative
+ * parameter values) and flags any that read a table with a full scan, i.e.
+ * that the indexes of the schema migrations do not serve. The check is off
+ * unless gradegoal.schema.verify-query-plans is set; it then runs at startup
+ * and on demand from the admin views, and with
+ * gradegoal.schema.fail-on-full-scan a flagged query stops the application
+ * from starting.
+ */
+@Service
+public class QueryPlanCheckService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanCheckService.class);
+
+    private static final String FULL_SCAN = "ALL";
+
+    /**
+     * A repository query to check and its parameter values in the order of the SQL placeholders
+     */
+    private record HotQuery(String name, Runnable repositoryCall, List<Object> parameters) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Only registered when the check is enabled
+    @Autowired(required = false)
+    private SqlCaptureInspector sqlCaptureInspector;
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private CustomEventRepository customEventRepository;
+
+    @Autowired
+    private UserActivityLogRepository userActivityLogRepository;
+
+    @Autowired
+    private UserAnalyticsRepository userAnalyticsRepository;
+
+    @Autowired
+    private AIRecommendationRepository recommendationRepository;
+
+    @Value("${gradegoal.schema.verify-query-plans:false}")
+    private boolean verifyOnStartup;
+
+    @Value("${gradegoal.schema.fail-on-full-scan:false}")
+    private boolean failOnFullScan;
+
+    /**
+     * Check the hot queries once the application is up
+     * @throws IllegalStateException if fail-on-full-scan is set and a query is fully scanned or cannot be checked
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Map<String, Object>> plans;
+        try {
+            plans = checkQueryPlans();
+        } catch (Exception e) {
+            if (failOnFullScan) {
+                throw new IllegalStateException("Could not check query plans", e);
+            }
+            logger.warn("⚠️ Could not check query plans: {}", e.getMessage());
+            return;
+        }
+
+        List<Object> failing = plans.stream()
+            .filter(plan -> Boolean.TRUE.equals(plan.get("fullScan")) || plan.containsKey("error"))
+            .map(plan -> plan.get("query"))
+            .toList();
+        if (failing.isEmpty()) {
+            logger.info("🗄️ Query plans checked: all {} hot queries use an index", plans.size());
+        } else if (failOnFullScan) {
+            throw new IllegalStateException("Hot queries without a usable index: " + failing);
+        }
+    }
+
+    /**
+     * Whether the check is enabled and its statement inspector registered
+     */
+    public boolean isEnabled() {
+        return verifyOnStartup && sqlCaptureInspector != null;
+    }
+
+    /**
+     * EXPLAIN every hot query
+     * @return One entry per query with its SQL, the access type and index of each table read, and whether
+     *         any table is fully scanned; or an error if the query could not be checked
+     * @throws IllegalStateException if the check is disabled
+     */
+    public List<Map<String, Object>> checkQueryPlans() {
+        if (!isEnabled()) {
+            throw new IllegalStateException("Query plan checks are disabled; set gradegoal.schema.verify-query-plans=true");
+        }
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (HotQuery query : hotQueries()) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("query", query.name());
+            results.add(result);
+
+            List<Map<String, Object>> planRows;
+            try {
+                String sql = sqlCaptureInspector.capture(query.repositoryCall());
+                result.put("sql", sql);
+                long placeholders = sql.chars().filter(c -> c == '?').count();
+                if (placeholders != query.parameters().size()) {
+                    // The repository query changed; its check parameters need updating
+                    throw new IllegalStateException(
+                        "expected " + query.parameters().size() + " parameters, the SQL has " + placeholders);
+                }
+                planRows = jdbcTemplate.queryForList("EXPLAIN " + sql, query.parameters().toArray());
+            } catch (Exception e) {
+                result.put("error", e.getMessage());
+                logger.warn("⚠️ Cannot check the plan of {}: {}", query.name(), e.getMessage());
+                continue;
+            }
+
+            List<Map<String, Object>> tables = new ArrayList<>();
+            boolean fullScan = false;
+            for (Map<String, Object> planRow : planRows) {
+                Map<String, Object> table = new LinkedHashMap<>();
+                table.put("table", planRow.get("table"));
+                table.put("type", planRow.get("type"));
+                table.put("key", planRow.get("key"));
+                table.put("rows", planRow.get("rows"));
+                tables.add(table);
+                fullScan |= FULL_SCAN.equals(planRow.get("type"));
+            }
+            result.put("fullScan", fullScan);
+            result.put("plan", tables);
+
+            if (fullScan) {
+                logger.warn("⚠️ {} falls back to a full table scan: {}", query.name(), tables);
+            }
+        }
+        return results;
+    }
+
+    private List<HotQuery> hotQueries() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        return List.of(
+            new HotQuery("AssessmentRepository.findOverdueAssessments",
+                () -> assessmentRepository.findOverdueAssessments(today),
+                List.of(today)),
+            new HotQuery("AssessmentRepository.findUpcomingAssessments",
+                () -> assessmentRepository.findUpcomingAssessments(today, today.plusDays(2)),
+                List.of(today, today.plusDays(2))),
+            new HotQuery("CustomEventRepository.findUpcomingEventsForReminder",
+                () -> customEventRepository.findUpcomingEventsForReminder(now, now.plusMinutes(5)),
+                List.of(now, now.plusMinutes(5))),
+            new HotQuery("UserActivityLogRepository.findByUserIdAndActivityTypeOrderByCreatedAtDesc",
+                () -> userActivityLogRepository.findByUserIdAndActivityTypeOrderByCreatedAtDesc(1L, "login"),
+                List.of(1L, "login")),
+            new HotQuery("UserAnalyticsRepository.findByUserIdAndCourseIdOrderByAnalyticsDateDesc",
+                () -> userAnalyticsRepository.findByUserIdAndCourseIdOrderByAnalyticsDateDesc(1L, 1L),
+                List.of(1L, 1L)),
+            new HotQuery("AIRecommendationRepository.findRecentAIRecommendations",
+                () -> recommendationRepository.findRecentAIRecommendations(1L, now.minusDays(7)),
+                List.of(1L, now.minusDays(7)))
+        );
+    }
+}
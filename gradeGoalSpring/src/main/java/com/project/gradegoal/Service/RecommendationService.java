@@ -1,19 +1,33 @@
 package com.project.gradegoal.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.gradegoal.DTO.KeysetPage;
+import com.project.gradegoal.DTO.RecommendationSummary;
 import com.project.gradegoal.Entity.Recommendation;
 import com.project.gradegoal.Repository.AIRecommendationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Service for managing recommendations
@@ -25,10 +39,30 @@ public class RecommendationService {
     
     private final AIRecommendationRepository recommendationRepository;
     private final ObjectMapper objectMapper; // For JSON processing
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private static final int EXPIRY_DAYS = 30;
+    private static final Duration EXPIRY_TOUCH_INTERVAL = Duration.ofHours(1);
+    
+    /** Priority part of the cursor of a recommendation without a priority */
+    private static final String NO_PRIORITY = "null";
+    
+    /** Analysis keys that change on every generation and are left out of the content hash */
+    private static final Set<String> VOLATILE_ANALYSIS_KEYS = Set.of("generatedAt", "timestamp", "lastUpdated");
+    
+    /** Last saved AI analysis per "userId:courseId" */
+    private final Cache<String, AnalysisFingerprint> fingerprints = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .expireAfterAccess(Duration.ofDays(1))
+        .build();
     
     /**
      * Save AI analysis as recommendations (update existing or create new)
-     * Returns a map with the saved recommendation and whether it was an update
+     * Returns a map with the recommendation ID, whether it was an update and
+     * whether the analysis was unchanged. Clients re-save on every course view,
+     * so an analysis whose content hash matches the stored one only has its
+     * expiry extended, and repeat saves are answered from the fingerprint index
+     * with a primary-key existence check instead of reading the row.
      */
     @Transactional
     public Map<String, Object> saveAIAnalysisAsRecommendation(Long userId, Long courseId, Map<String, Object> analysisData, 
@@ -36,15 +70,37 @@ public class RecommendationService {
         try {
             log.info("Saving AI analysis as recommendation for user: {}, course: {}", userId, courseId);
             
+            // Extract key information from analysis data
+            String title = extractTitleFromAnalysis(analysisData);
+            String content = extractContentFromAnalysis(analysisData);
+            Recommendation.Priority priority = extractPriorityFromAnalysis(analysisData);
+            String contentHash = generateContentHash(title, priority, aiModel, confidence, canonicalContent(analysisData));
+            String indexKey = userId + ":" + courseId;
+            
+            AnalysisFingerprint fingerprint = fingerprints.getIfPresent(indexKey);
+            if (fingerprint != null && fingerprint.contentHash.equals(contentHash)) {
+                if (touchExpiry(fingerprint)) {
+                    log.info("AI analysis unchanged for user: {}, course: {}", userId, courseId);
+                    return unchangedResult(fingerprint.recommendationId);
+                }
+                // The row is gone (expired or course deleted); fall through to a full save
+                fingerprints.invalidate(indexKey);
+            }
+            
             // Check if there's an existing AI analysis for this user and course
             Optional<Recommendation> existingAnalysis = recommendationRepository
                 .findByUserIdAndCourseIdAndRecommendationTypeAndAiGeneratedTrue(
                     userId, courseId, Recommendation.RecommendationType.AI_ANALYSIS);
             
-            // Extract key information from analysis data
-            String title = extractTitleFromAnalysis(analysisData);
-            String content = extractContentFromAnalysis(analysisData);
-            Recommendation.Priority priority = extractPriorityFromAnalysis(analysisData);
+            if (existingAnalysis.isPresent() && contentHash.equals(existingAnalysis.get().getAiPromptHash())) {
+                AnalysisFingerprint stored = new AnalysisFingerprint(
+                    existingAnalysis.get().getRecommendationId(), contentHash, existingAnalysis.get().getExpiresAt());
+                if (touchExpiry(stored)) {
+                    fingerprints.put(indexKey, stored);
+                    log.info("AI analysis unchanged for user: {}, course: {}", userId, courseId);
+                    return unchangedResult(stored.recommendationId);
+                }
+            }
             
             Recommendation recommendation;
             
@@ -57,10 +113,10 @@ public class RecommendationService {
                 recommendation.setTitle(title);
                 recommendation.setContent(content);
                 recommendation.setPriority(priority);
-                recommendation.setExpiresAt(LocalDateTime.now().plusDays(30)); // Extend expiration
+                recommendation.setExpiresAt(LocalDateTime.now().plusDays(EXPIRY_DAYS)); // Extend expiration
                 recommendation.setAiConfidence(confidence);
                 recommendation.setAiModel(aiModel);
-                recommendation.setAiPromptHash(generatePromptHash(analysisData));
+                recommendation.setAiPromptHash(contentHash);
                 recommendation.setMetadata(createMetadata(analysisData));
                 
                 // Keep existing read/dismissed status and creation date
@@ -78,22 +134,27 @@ public class RecommendationService {
                 recommendation.setIsRead(false);
                 recommendation.setIsDismissed(false);
                 recommendation.setCreatedAt(LocalDateTime.now());
-                recommendation.setExpiresAt(LocalDateTime.now().plusDays(30)); // Expire in 30 days
+                recommendation.setExpiresAt(LocalDateTime.now().plusDays(EXPIRY_DAYS)); // Expire in 30 days
                 recommendation.setAiGenerated(true);
                 recommendation.setAiConfidence(confidence);
                 recommendation.setAiModel(aiModel);
-                recommendation.setAiPromptHash(generatePromptHash(analysisData));
+                recommendation.setAiPromptHash(contentHash);
                 recommendation.setMetadata(createMetadata(analysisData));
             }
             
             Recommendation saved = recommendationRepository.save(recommendation);
             boolean wasUpdate = existingAnalysis.isPresent();
+            if (!wasUpdate) {
+                eventPublisher.publishEvent(InboxEvent.recommendationCreated(userId, saved));
+            }
+            fingerprints.put(indexKey, new AnalysisFingerprint(saved.getRecommendationId(), contentHash, saved.getExpiresAt()));
             log.info("Successfully {} AI analysis recommendation with ID: {}", 
                 wasUpdate ? "updated" : "saved", saved.getRecommendationId());
             
             Map<String, Object> result = new HashMap<>();
-            result.put("recommendation", saved);
+            result.put("recommendationId", saved.getRecommendationId());
             result.put("isUpdate", wasUpdate);
+            result.put("unchanged", false);
             return result;
             
         } catch (Exception e) {
@@ -103,17 +164,91 @@ public class RecommendationService {
     }
     
     /**
-     * Get AI recommendations for a user
+     * Push the expiry of an unchanged analysis forward with a single-column
+     * UPDATE, at most once per touch interval; in between only check that the
+     * row is still there, since the expiry sweeper or a course deletion may
+     * have removed it
+     * @return false when the recommendation no longer exists or holds other content
+     */
+    private boolean touchExpiry(AnalysisFingerprint fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime renewedExpiry = now.plusDays(EXPIRY_DAYS);
+        if (fingerprint.expiresAt != null && fingerprint.expiresAt.isAfter(renewedExpiry.minus(EXPIRY_TOUCH_INTERVAL))) {
+            return recommendationRepository.existsByRecommendationIdAndAiPromptHash(
+                fingerprint.recommendationId, fingerprint.contentHash);
+        }
+        if (recommendationRepository.extendExpiry(fingerprint.recommendationId, fingerprint.contentHash, renewedExpiry) == 0) {
+            return false;
+        }
+        fingerprint.expiresAt = renewedExpiry;
+        return true;
+    }
+    
+    private Map<String, Object> unchangedResult(Long recommendationId) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("recommendationId", recommendationId);
+        result.put("isUpdate", true);
+        result.put("unchanged", true);
+        return result;
+    }
+    
+    /**
+     * Get one page of AI recommendation summaries (no content or metadata),
+     * highest priority first, then newest
+     * @param userId User ID
+     * @param courseId Course ID, or null for all of the user's courses
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Page size
+     */
+    public KeysetPage<RecommendationSummary> getAIRecommendationSummaries(Long userId, Long courseId,
+                                                                         String cursor, int limit) {
+        Recommendation.Priority cursorPriority = null;
+        String position = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.indexOf('_');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String priority = cursor.substring(0, separator);
+            cursorPriority = NO_PRIORITY.equals(priority) ? null : Recommendation.Priority.valueOf(priority);
+            position = cursor.substring(separator + 1);
+        }
+        
+        List<RecommendationSummary> rows = recommendationRepository.findAISummaryPage(
+            userId, courseId, cursorPriority, lowerPrioritiesThan(cursorPriority),
+            KeysetPage.cursorTimestamp(position), KeysetPage.cursorId(position),
+            PageRequest.of(0, limit + 1));
+        return KeysetPage.of(rows, limit, summary ->
+            (summary.getPriority() != null ? summary.getPriority().name() : NO_PRIORITY) + "_"
+                + KeysetPage.encodeCursor(summary.getCreatedAt(), summary.getRecommendationId()));
+    }
+    
+    /**
+     * Get a single recommendation with its full content and metadata
      */
-    public List<Recommendation> getAIRecommendationsForUser(Long userId) {
-        return recommendationRepository.findByUserIdAndAiGeneratedTrueOrderByPriorityDescCreatedAtDesc(userId, null);
+    public Optional<Recommendation> getRecommendation(Long recommendationId) {
+        return recommendationRepository.findById(recommendationId);
     }
     
     /**
-     * Get AI recommendations for a specific course
+     * Get the AI analysis saved for a course, if any
      */
-    public List<Recommendation> getAIRecommendationsForCourse(Long userId, Long courseId) {
-        return recommendationRepository.findByUserIdAndCourseIdAndAiGeneratedTrueOrderByPriorityDescCreatedAtDesc(userId, courseId, null);
+    public Optional<Recommendation> getAIAnalysisForCourse(Long userId, Long courseId) {
+        return recommendationRepository.findByUserIdAndCourseIdAndRecommendationTypeAndAiGeneratedTrue(
+            userId, courseId, Recommendation.RecommendationType.AI_ANALYSIS);
+    }
+    
+    /**
+     * Priorities listed after the given one (HIGH > MEDIUM > LOW); all of them after no priority
+     */
+    private List<Recommendation.Priority> lowerPrioritiesThan(Recommendation.Priority priority) {
+        // Rows without a priority sort first, so every priority is lower
+        if (priority == null) {
+            return List.of(Recommendation.Priority.values());
+        }
+        return Arrays.stream(Recommendation.Priority.values())
+            .filter(candidate -> candidate.ordinal() > priority.ordinal())
+            .toList();
     }
     
     /**
@@ -124,8 +259,12 @@ public class RecommendationService {
         Optional<Recommendation> optional = recommendationRepository.findById(recommendationId);
         if (optional.isPresent()) {
             Recommendation recommendation = optional.get();
+            boolean wasUnread = isUnreadAIRecommendation(recommendation);
             recommendation.setIsRead(true);
             recommendationRepository.save(recommendation);
+            if (wasUnread) {
+                eventPublisher.publishEvent(InboxEvent.recommendationsRead(recommendation.getUserId(), 1));
+            }
             return true;
         }
         return false;
@@ -139,13 +278,26 @@ public class RecommendationService {
         Optional<Recommendation> optional = recommendationRepository.findById(recommendationId);
         if (optional.isPresent()) {
             Recommendation recommendation = optional.get();
+            boolean wasUnread = isUnreadAIRecommendation(recommendation);
             recommendation.setIsDismissed(true);
             recommendationRepository.save(recommendation);
+            if (wasUnread) {
+                eventPublisher.publishEvent(InboxEvent.recommendationsRead(recommendation.getUserId(), 1));
+            }
             return true;
         }
         return false;
     }
     
+    /**
+     * Whether a recommendation currently counts towards the unread AI recommendation badge
+     */
+    private boolean isUnreadAIRecommendation(Recommendation recommendation) {
+        return Boolean.TRUE.equals(recommendation.getAiGenerated())
+            && !Boolean.TRUE.equals(recommendation.getIsRead())
+            && !Boolean.TRUE.equals(recommendation.getIsDismissed());
+    }
+    
     /**
      * Extract title from analysis data
      */
@@ -232,16 +384,48 @@ public class RecommendationService {
     }
     
     /**
-     * Generate a simple hash for the prompt
+     * Analysis as JSON with keys sorted and volatile keys (generation timestamps) left out,
+     * so two saves of the same analysis serialize identically
      */
-    private String generatePromptHash(Map<String, Object> analysisData) {
-        // Create a simple hash based on key analysis components
-        StringBuilder hashInput = new StringBuilder();
-        hashInput.append(analysisData.getOrDefault("predictedFinalGrade", ""));
-        hashInput.append(analysisData.getOrDefault("statusUpdate", ""));
-        hashInput.append(analysisData.getOrDefault("targetGoalAnalysis", ""));
-        
-        return String.valueOf(hashInput.toString().hashCode());
+    private String canonicalContent(Map<String, Object> analysisData) {
+        try {
+            return objectMapper.writeValueAsString(canonicalize(analysisData));
+        } catch (Exception e) {
+            log.warn("Failed to serialize analysis data to JSON: {}", e.getMessage());
+            return String.valueOf(canonicalize(analysisData));
+        }
+    }
+    
+    private Object canonicalize(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            map.forEach((key, entry) -> {
+                if (!VOLATILE_ANALYSIS_KEYS.contains(String.valueOf(key))) {
+                    sorted.put(String.valueOf(key), canonicalize(entry));
+                }
+            });
+            return sorted;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(this::canonicalize).toList();
+        }
+        return value;
+    }
+    
+    /**
+     * Generate the content hash stored in ai_prompt_hash
+     */
+    private String generateContentHash(String title, Recommendation.Priority priority, String aiModel,
+                                       Double confidence, String content) {
+        // SHA-256 of every stored field that comes from the analysis, so equal hashes mean an identical row
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((title + "\n" + priority + "\n" + aiModel + "\n" + confidence + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
     
     /**
@@ -264,4 +448,19 @@ public class RecommendationService {
             return "{\"analysisType\":\"AI_COURSE_ANALYSIS\"}";
         }
     }
+    
+    /**
+     * Content hash and expiry of a stored AI analysis
+     */
+    private static final class AnalysisFingerprint {
+        private final Long recommendationId;
+        private final String contentHash;
+        private volatile LocalDateTime expiresAt;
+        
+        private AnalysisFingerprint(Long recommendationId, String contentHash, LocalDateTime expiresAt) {
+            this.recommendationId = recommendationId;
+            this.contentHash = contentHash;
+            this.expiresAt = expiresAt;
+        }
+    }
 }
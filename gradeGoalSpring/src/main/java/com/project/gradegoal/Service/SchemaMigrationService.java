@@ -0,0 +1,79 @@
+package com.project.gradegoal.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schema Migration Service
+ *
+ * Applies the Flyway migrations in db/migration (V{version}__{description}.sql)
+ * at startup. It runs after Hibernate's schema update, so scripts can rely on
+ * the entity tables existing (see FlywayConfig). Flyway records applied
+ * versions in flyway_schema_history, takes a MySQL named lock so nodes
+ * starting together do not apply a script twice, and stops the application
+ * from starting when a script fails or an applied script was edited.
+ * Migrations are skipped with spring.flyway.enabled=false.
+ */
+@Service
+public class SchemaMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrationService.class);
+
+    @Autowired(required = false)
+    private Flyway flyway;
+
+    // Injected so the migrations run after Hibernate has created and updated the entity tables
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Apply pending migrations
+     */
+    @PostConstruct
+    public void migrate() {
+        if (flyway == null) {
+            logger.info("🗄️ Schema migrations are disabled");
+            return;
+        }
+        MigrateResult result = flyway.migrate();
+        if (result.migrationsExecuted == 0) {
+            logger.info("🗄️ Schema is up to date (version {})", result.initialSchemaVersion);
+        } else {
+            logger.info("🗄️ Applied {} migrations, schema is now at version {}",
+                result.migrationsExecuted, result.targetSchemaVersion);
+        }
+    }
+
+    /**
+     * Applied migrations, oldest first
+     */
+    public List<Map<String, Object>> getMigrationHistory() {
+        List<Map<String, Object>> history = new ArrayList<>();
+        if (flyway == null) {
+            return history;
+        }
+        for (MigrationInfo migration : flyway.info().applied()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("version", migration.getVersion() != null ? migration.getVersion().getVersion() : null);
+            entry.put("description", migration.getDescription());
+            entry.put("script", migration.getScript());
+            entry.put("state", migration.getState().getDisplayName());
+            entry.put("installed_at", migration.getInstalledOn());
+            entry.put("execution_ms", migration.getExecutionTime());
+            history.add(entry);
+        }
+        return history;
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Config.CacheConfig;
+import com.project.gradegoal.Repository.CourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Semester GPA Service
+ *
+ * Computes the GPA of every (academic year, semester) a user has courses in
+ * with one grouped query, using the same credit-weighted formula as the JPA
+ * fallback in DatabaseCalculationService.calculateSemesterGPA.
+ */
+@Service
+public class SemesterGpaService {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    /**
+     * Get the transcript GPA matrix for a user
+     * @param userId User ID
+     * @return Academic year -> semester -> GPA (only terms with graded courses)
+     */
+    @Cacheable(value = CacheConfig.SEMESTER_GPAS, key = "#userId")
+    @Transactional(readOnly = true)
+    public Map<String, Map<String, Double>> getTranscriptGpas(Long userId) {
+        Map<String, Map<String, Double>> transcript = new LinkedHashMap<>();
+
+        for (Object[] row : courseRepository.getSemesterGpaTotalsByUserId(userId)) {
+            String academicYear = (String) row[0];
+            String semester = row[1].toString();
+            BigDecimal weightedGpa = row[2] != null ? new BigDecimal(row[2].toString()) : BigDecimal.ZERO;
+            long creditHours = row[3] != null ? ((Number) row[3]).longValue() : 0L;
+
+            double gpa = creditHours > 0
+                ? weightedGpa.divide(BigDecimal.valueOf(creditHours), 2, RoundingMode.HALF_UP).doubleValue()
+                : 0.0;
+            transcript.computeIfAbsent(academicYear, year -> new LinkedHashMap<>()).put(semester, gpa);
+        }
+
+        return transcript;
+    }
+
+    /**
+     * Drop a user's cached transcript once a course change is committed
+     * @param event Event carrying the affected user ID
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(value = CacheConfig.SEMESTER_GPAS, key = "#event.userId", condition = "#event.userId != null")
+    public void onCourseGradesChanged(CourseGradesChangedEvent event) {
+        // Eviction is handled by the annotation
+    }
+}
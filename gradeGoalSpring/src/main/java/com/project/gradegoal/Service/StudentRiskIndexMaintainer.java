@@ -0,0 +1,40 @@
+package com.project.gradegoal.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Student Risk Index Maintainer
+ *
+ * Refreshes a student's risk index entry after each committed course grade
+ * change. The refresh runs in its own transaction on StudentRiskIndexService;
+ * a failure is only logged, so it never fails the grade change or the other
+ * listeners of the event, and the nightly rebuild repairs the entry.
+ */
+@Service
+public class StudentRiskIndexMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentRiskIndexMaintainer.class);
+
+    @Autowired
+    private StudentRiskIndexService riskIndexService;
+
+    /**
+     * Refresh the student's entry once the change that triggered the event is committed
+     * @param event Event carrying the affected user ID
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseGradesChanged(CourseGradesChangedEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+        try {
+            riskIndexService.refresh(event.getUserId());
+        } catch (Exception e) {
+            logger.warn("⚠️ Could not refresh risk index for user {}: {}", event.getUserId(), e.getMessage());
+        }
+    }
+}
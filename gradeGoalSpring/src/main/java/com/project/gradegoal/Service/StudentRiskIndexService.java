@@ -0,0 +1,189 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.DTO.KeysetPage;
+import com.project.gradegoal.Entity.StudentRiskIndex;
+import com.project.gradegoal.Entity.User;
+import com.project.gradegoal.Repository.CourseRepository;
+import com.project.gradegoal.Repository.StudentRiskIndexRepository;
+import com.project.gradegoal.Repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Student Risk Index Service
+ *
+ * Maintains the student_risk_index table (average course grade, GPA trend
+ * and course count per student) at write time, so the at-risk views are a
+ * single indexed range scan instead of a pass over every student's courses.
+ * An entry is refreshed after each committed course grade change (see
+ * StudentRiskIndexMaintainer); a nightly rebuild catches changes made outside
+ * the application.
+ */
+@Service
+public class StudentRiskIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentRiskIndexService.class);
+
+    private static final int TREND_WINDOW_DAYS = 30;
+
+    @Autowired
+    private StudentRiskIndexRepository riskIndexRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GpaHistoryService gpaHistoryService;
+
+    @Value("${gradegoal.students-at-risk.threshold:70}")
+    private BigDecimal defaultThreshold;
+
+    @Value("${gradegoal.students-at-risk.rebuild-chunk-size:500}")
+    private int rebuildChunkSize;
+
+    /**
+     * Default at-risk threshold (average grade, exclusive)
+     */
+    public BigDecimal getDefaultThreshold() {
+        return defaultThreshold;
+    }
+
+    /**
+     * Get students whose average grade is below a threshold, lowest first
+     * @param threshold Average grade threshold, or null for the configured default
+     * @param cursor Cursor returned with the previous page, or null for the first page
+     * @param limit Page size (top-K when no cursor is given)
+     * @return Page of students with name, course count, average and trend
+     */
+    public KeysetPage<Map<String, Object>> getStudentsAtRisk(BigDecimal threshold, String cursor, int limit) {
+        BigDecimal effectiveThreshold = threshold != null ? threshold : defaultThreshold;
+        BigDecimal cursorGrade = cursor != null && cursor.contains("_")
+            ? new BigDecimal(cursor.substring(0, cursor.indexOf('_')))
+            : null;
+        Long afterId = KeysetPage.cursorId(cursor);
+
+        List<StudentRiskIndex> rows = riskIndexRepository.findAtRiskPage(effectiveThreshold, cursorGrade,
+            afterId != null ? afterId : 0L, PageRequest.of(0, limit + 1));
+        KeysetPage<StudentRiskIndex> page = KeysetPage.of(rows, limit,
+            entry -> entry.getAverageGrade().toPlainString() + "_" + entry.getUserId());
+
+        Map<Long, User> users = userRepository.findAllById(
+                page.getItems().stream().map(StudentRiskIndex::getUserId).toList())
+            .stream().collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        List<Map<String, Object>> students = new ArrayList<>();
+        for (StudentRiskIndex entry : page.getItems()) {
+            User user = users.get(entry.getUserId());
+            Map<String, Object> studentData = new HashMap<>();
+            studentData.put("userId", entry.getUserId());
+            studentData.put("name", user != null ? user.getFirstName() + " " + user.getLastName() : "Unknown User");
+            studentData.put("courses", entry.getCourseCount());
+            studentData.put("percent", entry.getAverageGrade().doubleValue());
+            studentData.put("trend", entry.getTrend() != null ? entry.getTrend() : 0.0);
+            students.add(studentData);
+        }
+        return new KeysetPage<>(students, page.getNextCursor());
+    }
+
+    /**
+     * Number of students below a threshold
+     */
+    public long countStudentsAtRisk(BigDecimal threshold) {
+        return riskIndexRepository.countByAverageGradeLessThan(threshold != null ? threshold : defaultThreshold);
+    }
+
+    /**
+     * Recompute one student's entry from their courses
+     * Runs in its own transaction, since it is called after the course change has committed
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refresh(Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        Object[] summary = courseRepository.getCourseGradeSummary(userId).get(0);
+        if (user == null || "ADMIN".equals(user.getRole()) || toLong(summary[1]) == 0) {
+            riskIndexRepository.deleteById(userId);
+            return;
+        }
+        upsert(userId, toLong(summary[0]), summary[2], LocalDateTime.now());
+    }
+
+    /**
+     * Rebuild the whole index when it is empty (first start after deployment)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIfEmpty() {
+        if (riskIndexRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild every entry in user ID chunks, then drop entries no chunk touched
+     */
+    @Scheduled(cron = "${gradegoal.students-at-risk.rebuild-cron:0 45 3 * * *}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDateTime rebuildStart = LocalDateTime.now();
+        long afterUserId = 0;
+        int indexed = 0;
+        List<Object[]> chunk;
+        do {
+            chunk = courseRepository.getCourseGradeSummariesAfter(afterUserId, rebuildChunkSize);
+            for (Object[] row : chunk) {
+                afterUserId = toLong(row[0]);
+                if (toLong(row[2]) > 0) {
+                    upsert(afterUserId, toLong(row[1]), row[3], LocalDateTime.now());
+                    indexed++;
+                }
+            }
+        } while (chunk.size() == rebuildChunkSize);
+
+        int removed = riskIndexRepository.deleteNotUpdatedSince(rebuildStart);
+        logger.info("📊 Student risk index rebuilt: {} students indexed, {} stale entries removed in {} ms",
+            indexed, removed, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Index size and threshold for the admin views
+     */
+    public Map<String, Object> getIndexStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("indexedStudents", riskIndexRepository.count());
+        statistics.put("threshold", defaultThreshold);
+        statistics.put("studentsAtRisk", countStudentsAtRisk(defaultThreshold));
+        return statistics;
+    }
+
+    private void upsert(Long userId, long courseCount, Object average, LocalDateTime updatedAt) {
+        BigDecimal averageGrade = new BigDecimal(average.toString()).setScale(2, RoundingMode.HALF_UP);
+        double trend = gpaHistoryService.getCumulativeGpaTrend(userId, TREND_WINDOW_DAYS);
+        riskIndexRepository.upsert(userId, (int) courseCount, averageGrade, trend, updatedAt);
+    }
+
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
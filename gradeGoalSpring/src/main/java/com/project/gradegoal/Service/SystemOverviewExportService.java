@@ -0,0 +1,352 @@
+package com.project.gradegoal.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.gradegoal.Config.ExportConfig;
+import com.project.gradegoal.Entity.ExportLog;
+import com.project.gradegoal.Entity.UserActivityLog;
+import com.project.gradegoal.Repository.AcademicGoalRepository;
+import com.project.gradegoal.Repository.CourseRepository;
+import com.project.gradegoal.Repository.UserActivityLogRepository;
+import com.project.gradegoal.Repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * System Overview Export Service
+ *
+ * Builds the admin system overview report as a background export job. The
+ * report sections are computed in parallel on the bounded section executor
+ * and streamed into the export file with a JsonGenerator as each completes,
+ * so the admin request returns at once with the export id.
+ */
+@Service
+public class SystemOverviewExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemOverviewExportService.class);
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final BigDecimal AT_RISK_GRADE = new BigDecimal("70.0");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private AcademicGoalRepository academicGoalRepository;
+
+    @Autowired
+    private AchievementService achievementService;
+
+    @Autowired
+    private UserActivityLogRepository userActivityLogRepository;
+
+    @Autowired
+    private ActiveUserSketchService activeUserSketchService;
+
+    @Autowired
+    private ExportFileService exportFileService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier(ExportConfig.EXPORT_SECTION_EXECUTOR)
+    private TaskExecutor sectionExecutor;
+
+    /**
+     * Queue a system overview export
+     * @param adminUserId Admin who owns the export
+     * @param startDate Report period start, or null
+     * @param endDate Report period end, or null
+     * @return Pending export log; poll its status and download it once COMPLETED
+     */
+    public ExportLog startExport(Long adminUserId, String startDate, String endDate) throws IOException {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("startDate", startDate);
+        parameters.put("endDate", endDate);
+        parameters.put("exportType", "ADMIN_SYSTEM_OVERVIEW");
+        parameters.put("adminUserId", adminUserId);
+
+        String fileName = "admin_system_overview_" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".json";
+        ExportLog exportLog = exportFileService.submitExport(adminUserId, ExportLog.ExportType.ADMIN_OVERVIEW,
+            fileName, objectMapper.writeValueAsString(parameters), out -> writeOverview(startDate, endDate, out));
+        logger.info("📤 System overview export {} queued for admin {}", exportLog.getExportId(), adminUserId);
+        return exportLog;
+    }
+
+    /**
+     * Compute the report sections in parallel and stream them as one JSON document
+     */
+    public void writeOverview(String startDate, String endDate, OutputStream out) throws IOException {
+        // Start every section first so they run concurrently, then write them in a fixed order
+        CompletableFuture<Map<String, Object>> userAnalytics = section(this::getUserAnalytics);
+        CompletableFuture<Map<String, Object>> courseAnalytics = section(this::getCourseAnalytics);
+        CompletableFuture<Map<String, Object>> aiAnalytics = section(this::getAIAnalytics);
+        CompletableFuture<Map<String, Object>> achievementAnalytics = section(this::getAchievementAnalytics);
+        CompletableFuture<Map<String, Object>> systemLogs = section(this::getSystemLogs);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeObjectField("exportTimestamp", LocalDateTime.now());
+            generator.writeStringField("systemVersion", "GradeGoal v1.0");
+            generator.writeStringField("reportPeriod", getReportPeriod(startDate, endDate));
+            generator.writeObjectField("userAnalytics", userAnalytics.join());
+            generator.flush();
+            generator.writeObjectField("courseAnalytics", courseAnalytics.join());
+            generator.flush();
+            generator.writeObjectField("aiAnalytics", aiAnalytics.join());
+            generator.flush();
+            generator.writeObjectField("achievementAnalytics", achievementAnalytics.join());
+            generator.flush();
+            generator.writeObjectField("systemLogs", systemLogs.join());
+            generator.writeEndObject();
+        }
+    }
+
+    private CompletableFuture<Map<String, Object>> section(Supplier<Map<String, Object>> section) {
+        return CompletableFuture.supplyAsync(section, sectionExecutor);
+    }
+
+    /**
+     * Get user analytics for export
+     */
+    private Map<String, Object> getUserAnalytics() {
+        Map<String, Object> userAnalytics = new HashMap<>();
+
+        try {
+            long totalRegistered = userRepository.countByRoleNot("ADMIN");
+            long activeUsers = userRepository.countByIsActiveTrueAndRoleNot("ADMIN");
+            long inactiveUsers = totalRegistered - activeUsers;
+            long usersWithCourses = courseRepository.countNonAdminUsersWithCourses();
+
+            // Currently logged in (users with recent activity - last 24 hours), estimated from activity sketches
+            long currentlyLoggedIn = activeUserSketchService.distinctUsersLastHours(24, null);
+
+            userAnalytics.put("totalRegistered", totalRegistered);
+            userAnalytics.put("activeUsers", activeUsers);
+            userAnalytics.put("inactiveUsers", inactiveUsers);
+            userAnalytics.put("frozenUsers", inactiveUsers);
+            userAnalytics.put("currentlyLoggedIn", currentlyLoggedIn);
+            userAnalytics.put("usersWithCourses", usersWithCourses);
+            userAnalytics.put("usersWithoutCourses", totalRegistered - usersWithCourses);
+
+        } catch (Exception e) {
+            // Set default values if there's an error
+            userAnalytics.put("totalRegistered", 0);
+            userAnalytics.put("activeUsers", 0);
+            userAnalytics.put("inactiveUsers", 0);
+            userAnalytics.put("frozenUsers", 0);
+            userAnalytics.put("currentlyLoggedIn", 0);
+            userAnalytics.put("usersWithCourses", 0);
+            userAnalytics.put("usersWithoutCourses", 0);
+        }
+
+        return userAnalytics;
+    }
+
+    /**
+     * Get course analytics for export
+     */
+    private Map<String, Object> getCourseAnalytics() {
+        Map<String, Object> courseAnalytics = new HashMap<>();
+
+        try {
+            long totalCourses = courseRepository.count();
+
+            // Single row: courses with goals, with an achieved goal, with a goal in progress
+            List<Object[]> coverageRows = academicGoalRepository.getCourseGoalCoverage();
+            Object[] coverage = coverageRows.isEmpty() ? new Object[] {0L, 0L, 0L} : coverageRows.get(0);
+            long coursesWithGoals = toLong(coverage[0]);
+
+            courseAnalytics.put("totalCourses", totalCourses);
+            courseAnalytics.put("activeCourses", courseRepository.countByIsActiveTrue());
+            courseAnalytics.put("archivedCourses", courseRepository.countByIsActiveFalse());
+            courseAnalytics.put("coursesAtRisk", courseRepository.countByCalculatedCourseGradeLessThan(AT_RISK_GRADE));
+            courseAnalytics.put("coursesWithGoals", coursesWithGoals);
+            courseAnalytics.put("coursesWithoutGoals", totalCourses - coursesWithGoals);
+            courseAnalytics.put("coursesWithAchievedGoals", toLong(coverage[1]));
+            courseAnalytics.put("coursesWithGoalsInProgress", toLong(coverage[2]));
+
+        } catch (Exception e) {
+            // Set default values if there's an error
+            courseAnalytics.put("totalCourses", 0);
+            courseAnalytics.put("activeCourses", 0);
+            courseAnalytics.put("archivedCourses", 0);
+            courseAnalytics.put("coursesAtRisk", 0);
+            courseAnalytics.put("coursesWithGoals", 0);
+            courseAnalytics.put("coursesWithoutGoals", 0);
+            courseAnalytics.put("coursesWithAchievedGoals", 0);
+            courseAnalytics.put("coursesWithGoalsInProgress", 0);
+        }
+
+        return courseAnalytics;
+    }
+
+    /**
+     * Get AI analytics for export
+     */
+    private Map<String, Object> getAIAnalytics() {
+        Map<String, Object> aiAnalytics = new HashMap<>();
+
+        try {
+            // Users who used AI, estimated from the per-activity-type sketches
+            long usersWhoUsedAI = activeUserSketchService.distinctUsersAllTime(
+                type -> type.toLowerCase().contains("ai"));
+
+            // Users who never used AI
+            long totalUsers = userRepository.countByRoleNot("ADMIN");
+            long usersWhoNeverUsedAI = Math.max(0, totalUsers - usersWhoUsedAI);
+
+            // Number of AI activities and last AI usage
+            List<Object[]> usageRows = userActivityLogRepository.getAIUsageSummary();
+            Object[] usage = usageRows.isEmpty() ? new Object[] {0L, null} : usageRows.get(0);
+            String lastAIUsage = usage[1] != null ? usage[1].toString() : "Never";
+
+            aiAnalytics.put("aiSystemUsed", "Groq API");
+            aiAnalytics.put("aiModelInfo", "llama-3.1-8b-instant, llama-3.1-70b-versatile, mixtral-8x7b-32768, gemma-7b-it");
+            aiAnalytics.put("usersWhoUsedAI", usersWhoUsedAI);
+            aiAnalytics.put("usersWhoNeverUsedAI", usersWhoNeverUsedAI);
+            aiAnalytics.put("totalAIUsage", toLong(usage[0]));
+            aiAnalytics.put("lastAIUsage", lastAIUsage);
+
+        } catch (Exception e) {
+            // Set default values if there's an error
+            aiAnalytics.put("aiSystemUsed", "Groq API");
+            aiAnalytics.put("aiModelInfo", "llama-3.1-8b-instant, llama-3.1-70b-versatile, mixtral-8x7b-32768, gemma-7b-it");
+            aiAnalytics.put("usersWhoUsedAI", 0);
+            aiAnalytics.put("usersWhoNeverUsedAI", 0);
+            aiAnalytics.put("totalAIUsage", 0);
+            aiAnalytics.put("lastAIUsage", "Never");
+        }
+
+        return aiAnalytics;
+    }
+
+    /**
+     * Get achievement analytics for export
+     */
+    private Map<String, Object> getAchievementAnalytics() {
+        Map<String, Object> analytics = achievementService.getAchievementAnalytics();
+
+        Map<String, Object> achievementAnalytics = new HashMap<>();
+        achievementAnalytics.put("totalAchievements", analytics.get("totalAchievements"));
+        achievementAnalytics.put("totalUnlocked", analytics.get("totalUnlocked"));
+        achievementAnalytics.put("achievementsByRarity", analytics.get("achievementsByRarity"));
+        achievementAnalytics.put("usersByRarity", analytics.get("awardsByRarity"));
+
+        return achievementAnalytics;
+    }
+
+    /**
+     * Get system logs for export
+     */
+    private Map<String, Object> getSystemLogs() {
+        Map<String, Object> systemLogs = new HashMap<>();
+
+        // Get recent user activities
+        List<Map<String, Object>> activityLogs = new ArrayList<>();
+        for (UserActivityLog activity : userActivityLogRepository.findTop25ByOrderByCreatedAtDesc()) {
+            Map<String, Object> logEntry = new LinkedHashMap<>();
+            logEntry.put("timestamp", activity.getCreatedAt());
+            logEntry.put("userId", activity.getUserId());
+            logEntry.put("activityType", activity.getActivityType());
+            logEntry.put("description", formatActivityDescription(activity.getContext(), activity.getActivityType()));
+            activityLogs.add(logEntry);
+        }
+
+        systemLogs.put("recentActivities", activityLogs);
+        systemLogs.put("totalLogEntries", userActivityLogRepository.count());
+
+        return systemLogs;
+    }
+
+    /**
+     * Get report period string
+     */
+    private String getReportPeriod(String startDate, String endDate) {
+        if (startDate != null && endDate != null) {
+            return "From " + startDate + " to " + endDate;
+        } else if (startDate != null) {
+            return "From " + startDate + " onwards";
+        } else if (endDate != null) {
+            return "Up to " + endDate;
+        } else {
+            return "All time";
+        }
+    }
+
+    /**
+     * Format activity description from JSON to user-friendly text
+     */
+    private String formatActivityDescription(String context, String activityType) {
+        if (context == null || context.trim().isEmpty()) {
+            return "No description available";
+        }
+
+        try {
+            // Try to parse as JSON
+            if (context.trim().startsWith("{")) {
+                JsonNode jsonNode = objectMapper.readTree(context);
+
+                String title = jsonNode.has("title") ? jsonNode.get("title").asText() : "";
+                String description = jsonNode.has("description") ? jsonNode.get("description").asText() : "";
+
+                // Format based on activity type
+                if ("grade_entry".equals(activityType)) {
+                    String courseName = jsonNode.has("courseName") ? jsonNode.get("courseName").asText() : "";
+                    if (!title.isEmpty() && !courseName.isEmpty()) {
+                        return String.format("%s for %s - %s", title, courseName, description);
+                    }
+                } else if ("goal_created".equals(activityType) || "course_created".equals(activityType)) {
+                    if (!title.isEmpty()) {
+                        return String.format("%s - %s", title, description);
+                    }
+                } else if ("user_login".equals(activityType)) {
+                    return "User logged into the system";
+                } else if ("user_logout".equals(activityType)) {
+                    return "User logged out of the system";
+                }
+
+                // Fallback for other activity types
+                if (!title.isEmpty() && !description.isEmpty()) {
+                    return String.format("%s - %s", title, description);
+                } else if (!title.isEmpty()) {
+                    return title;
+                } else if (!description.isEmpty()) {
+                    return description;
+                }
+            }
+        } catch (Exception e) {
+            // If JSON parsing fails, return the original context
+        }
+
+        // Return original context if it's not JSON or parsing failed
+        return context;
+    }
+
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
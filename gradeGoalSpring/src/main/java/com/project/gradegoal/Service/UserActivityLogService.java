@@ -14,12 +14,17 @@ public class UserActivityLogService {
     @Autowired
     private UserActivityLogRepository userActivityLogRepository;
 
+    @Autowired
+    private ActiveUserSketchService activeUserSketchService;
+
     /**
      * Save a new activity log entry
      */
     public UserActivityLog saveActivity(Long userId, String activityType, String context) {
         UserActivityLog activity = new UserActivityLog(userId, activityType, context);
-        return userActivityLogRepository.save(activity);
+        UserActivityLog saved = userActivityLogRepository.save(activity);
+        activeUserSketchService.record(saved.getUserId(), saved.getActivityType(), saved.getCreatedAt());
+        return saved;
     }
 
     /**
@@ -27,7 +32,9 @@ public class UserActivityLogService {
      */
     public UserActivityLog saveActivity(Long userId, String activityType, String context, String ipAddress) {
         UserActivityLog activity = new UserActivityLog(userId, activityType, context, ipAddress);
-        return userActivityLogRepository.save(activity);
+        UserActivityLog saved = userActivityLogRepository.save(activity);
+        activeUserSketchService.record(saved.getUserId(), saved.getActivityType(), saved.getCreatedAt());
+        return saved;
     }
 
     /**
@@ -70,7 +77,9 @@ public class UserActivityLogService {
      * Save multiple activities in batch
      */
     public List<UserActivityLog> saveActivities(List<UserActivityLog> activities) {
-        return userActivityLogRepository.saveAll(activities);
+        List<UserActivityLog> saved = userActivityLogRepository.saveAll(activities);
+        activeUserSketchService.recordAll(saved);
+        return saved;
     }
 }
 
@@ -0,0 +1,51 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.UserProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * User Progress GPA Maintainer
+ *
+ * Keeps the semester and cumulative GPA stored on user_progress up to date
+ * at write time, so reads of user progress never have to recalculate them,
+ * and appends the new values to the GPA history.
+ */
+@Service
+public class UserProgressGpaMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserProgressGpaMaintainer.class);
+
+    @Autowired
+    private DatabaseCalculationService databaseCalculationService;
+
+    @Autowired
+    private GpaHistoryService gpaHistoryService;
+
+    /**
+     * Recalculate stored GPAs once the change that triggered the event is committed
+     * @param event Event carrying the affected user ID
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onCourseGradesChanged(CourseGradesChangedEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+        UserProgress progress = databaseCalculationService.updateUserProgressGPAs(event.getUserId());
+        if (progress == null) {
+            logger.warn("⚠️ Could not refresh stored GPAs for user {}", event.getUserId());
+            return;
+        }
+        
+        gpaHistoryService.recordUserSnapshot(progress);
+        if (event.getCourseId() != null) {
+            gpaHistoryService.recordCourseSnapshot(event.getCourseId());
+        }
+    }
+}
@@ -3,12 +3,15 @@ package com.project.gradegoal.Service;
 import com.project.gradegoal.Entity.UserProgress;
 import com.project.gradegoal.Entity.UserAchievement;
 import com.project.gradegoal.Entity.Achievement;
+import com.project.gradegoal.Entity.PointsLedgerEntry;
+import com.project.gradegoal.Repository.PointsLedgerRepository;
 import com.project.gradegoal.Repository.UserProgressRepository;
 import com.project.gradegoal.Repository.UserRepository;
 import com.project.gradegoal.Repository.UserAchievementRepository;
 import com.project.gradegoal.Repository.AchievementRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -20,6 +23,8 @@ import java.util.stream.Collectors;
 @Service
 public class UserProgressService {
     
+    private static final int LEVEL_UP_BONUS_POINTS = 50;
+    
     @Autowired
     private UserProgressRepository userProgressRepository;
     
@@ -32,6 +37,9 @@ public class UserProgressService {
     @Autowired
     private AchievementRepository achievementRepository;
     
+    @Autowired
+    private PointsLedgerRepository pointsLedgerRepository;
+    
     
     /**
      * Get user progress by user ID
@@ -58,6 +66,15 @@ public class UserProgressService {
         return userProgressRepository.save(newProgress);
     }
     
+    /**
+     * Find stored user progress with a single primary-key read
+     * @param userId the user ID
+     * @return UserProgress entity or null if the user has no progress row yet
+     */
+    public UserProgress findUserProgress(Long userId) {
+        return userProgressRepository.findById(userId).orElse(null);
+    }
+    
     /**
      * Update user progress
      * @param userId the user ID
@@ -94,47 +111,40 @@ public class UserProgressService {
     }
     
     /**
-     * Award points to user and check for level up
+     * Fold compacted ledger points into the running total and move the ledger watermark
+     * The level-up bonus is recorded as a ledger entry of its own and folded in by a later compaction
      * @param userId the user ID
-     * @param points the points to award
-     * @return Updated UserProgress entity
+     * @param points sum of the ledger entries being folded in
+     * @param previousWatermark the watermark the sum was read against
+     * @param watermark highest ledger entry ID included in the sum
+     * @return LevelUpResult containing progress and level up status, or null if the entries were already folded
      */
-    public UserProgress awardPoints(Long userId, Integer points) {
-        UserProgress progress = getUserProgress(userId);
+    @Transactional
+    public LevelUpResult foldLedgerPoints(Long userId, Integer points, Long previousWatermark, Long watermark) {
+        // Make sure the row exists before updating it in place
+        getUserProgress(userId);
         
-        // Update total points
-        progress.setTotalPoints(progress.getTotalPoints() + points);
-        
-        // Check for level up
-        checkLevelUp(progress);
-        
-        // Update last activity date
-        progress.setLastActivityDate(LocalDate.now());
-        
-        return userProgressRepository.save(progress);
-    }
-    
-    /**
-     * Award points to user and check for level up, returning level up status
-     * @param userId the user ID
-     * @param points the points to award
-     * @return LevelUpResult containing progress and level up status
-     */
-    public LevelUpResult awardPointsWithLevelUpCheck(Long userId, Integer points) {
-        UserProgress progress = getUserProgress(userId);
+        // Moving the watermark first locks the row and makes a concurrent fold of the same entries a no-op
+        if (userProgressRepository.advanceLedgerWatermark(userId, previousWatermark, watermark) == 0) {
+            return null;
+        }
+        userProgressRepository.incrementTotalPoints(userId, points);
         
-        // Update total points
-        progress.setTotalPoints(progress.getTotalPoints() + points);
+        Object[] row = userProgressRepository.findPointsAndLevel(userId).get(0);
+        int totalPoints = ((Number) row[0]).intValue();
+        int previousLevel = ((Number) row[1]).intValue();
         
-        // Check for level up
-        boolean leveledUp = checkLevelUp(progress);
+        int newLevel = Math.max(previousLevel, calculateLevelForPoints(totalPoints));
+        int pointsToNextLevel = calculatePointsRequiredForLevel(newLevel + 1) - totalPoints;
+        userProgressRepository.updateLevel(userId, newLevel, 0, pointsToNextLevel);
         
-        // Update last activity date
-        progress.setLastActivityDate(LocalDate.now());
-        
-        UserProgress savedProgress = userProgressRepository.save(progress);
+        if (newLevel > previousLevel) {
+            pointsLedgerRepository.save(new PointsLedgerEntry(userId,
+                (newLevel - previousLevel) * LEVEL_UP_BONUS_POINTS, "LEVEL_UP_BONUS"));
+        }
         
-        return new LevelUpResult(savedProgress, leveledUp);
+        UserProgress savedProgress = userProgressRepository.findByUserId(userId);
+        return new LevelUpResult(savedProgress, newLevel > previousLevel);
     }
     
     /**
@@ -154,34 +164,6 @@ public class UserProgressService {
         return userProgressRepository.save(progress);
     }
     
-    /**
-     * Check if user should level up and update accordingly
-     * @param progress the user progress
-     * @return true if user leveled up
-     */
-    private boolean checkLevelUp(UserProgress progress) {
-        Integer totalPoints = progress.getTotalPoints();
-        Integer currentLevel = progress.getCurrentLevel();
-        
-        // Calculate required points for next level using progressive formula
-        Integer requiredPoints = calculatePointsRequiredForLevel(currentLevel + 1);
-        
-        if (totalPoints >= requiredPoints) {
-            // Level up
-            progress.setCurrentLevel(currentLevel + 1);
-            progress.setPointsToNextLevel(calculatePointsRequiredForLevel(currentLevel + 2) - totalPoints);
-            
-            // Award bonus points for leveling up
-            progress.setTotalPoints(totalPoints + 50);
-            
-            return true; // User leveled up
-        } else {
-            // Update points to next level
-            progress.setPointsToNextLevel(requiredPoints - totalPoints);
-            return false; // No level up
-        }
-    }
-    
     /**
      * Calculate points required to reach a specific level using progressive formula
      * New formula: level * 100 + (level - 1) * 50 for level >= 0
@@ -204,6 +186,17 @@ public class UserProgressService {
         return level * 100 + (level - 1) * 50;
     }
     
+    /**
+     * Inverse of calculatePointsRequiredForLevel: the highest level reached with the given points
+     * Level L needs 150 * L - 50 points, so the level is floor((points + 50) / 150)
+     * @param totalPoints the user's total points
+     * @return level reached
+     */
+    public int calculateLevelForPoints(int totalPoints) {
+        if (totalPoints < calculatePointsRequiredForLevel(1)) return 0;
+        return (totalPoints + 50) / 150;
+    }
+    
     /**
      * Get user's recent achievements (limited to specified count)
      * @param userId User ID
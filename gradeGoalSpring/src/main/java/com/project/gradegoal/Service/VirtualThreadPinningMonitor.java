@@ -0,0 +1,185 @@
+package com.project.gradegoal.Service;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Virtual Thread Pinning Monitor
+ *
+ * When virtual threads are enabled, listens to the JDK's
+ * jdk.VirtualThreadPinned flight recorder events (a virtual thread blocking
+ * while it cannot unmount, typically inside a synchronized block of a
+ * driver or client library) and groups them by the stack they happened in.
+ * The hotspots are logged periodically and served to the admin views.
+ */
+@Service
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_HOTSPOTS = 200;
+    private static final int REPORTED_HOTSPOTS = 20;
+
+    private static final class Hotspot {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(Duration duration) {
+            long nanos = duration.toNanos();
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    private final Map<String, Hotspot> hotspots = new ConcurrentHashMap<>();
+    private final LongAdder pinnedEvents = new LongAdder();
+    private volatile long lastLoggedEvents;
+    private volatile RecordingStream recordingStream;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${gradegoal.virtual-threads.pinning-threshold-ms:20}")
+    private long thresholdMs;
+
+    @Value("${gradegoal.virtual-threads.pinning-stack-depth:8}")
+    private int stackDepth;
+
+    /**
+     * Start recording pinning events once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!virtualThreadsEnabled) {
+            return;
+        }
+        if (Runtime.version().feature() < 21) {
+            logger.warn("⚠️ Virtual threads are enabled but the runtime is Java {}; pinning is not monitored",
+                Runtime.version().feature());
+            return;
+        }
+        try {
+            RecordingStream stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::recordPinning);
+            stream.startAsync();
+            recordingStream = stream;
+            logger.info("🧵 Monitoring virtual thread pinning longer than {} ms", thresholdMs);
+        } catch (Exception e) {
+            logger.warn("⚠️ Could not start virtual thread pinning monitor: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        RecordingStream stream = recordingStream;
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Log the top hotspots when new pinning was recorded since the last report
+     */
+    @Scheduled(fixedDelayString = "${gradegoal.virtual-threads.pinning-report-interval-ms:300000}")
+    public void logHotspots() {
+        long events = pinnedEvents.sum();
+        if (events == lastLoggedEvents) {
+            return;
+        }
+        lastLoggedEvents = events;
+        for (Map<String, Object> hotspot : topHotspots(3)) {
+            logger.warn("📌 Virtual thread pinned {} times (max {} ms) at {}",
+                hotspot.get("count"), hotspot.get("maxMillis"), hotspot.get("stack"));
+        }
+    }
+
+    /**
+     * Pinning totals and the most frequent pinning stacks
+     */
+    public Map<String, Object> getPinningReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("virtualThreadsEnabled", virtualThreadsEnabled);
+        report.put("monitoring", recordingStream != null);
+        report.put("thresholdMs", thresholdMs);
+        report.put("pinnedEvents", pinnedEvents.sum());
+        report.put("hotspots", topHotspots(REPORTED_HOTSPOTS));
+        return report;
+    }
+
+    private void recordPinning(RecordedEvent event) {
+        pinnedEvents.increment();
+        String stack = describeStack(event.getStackTrace());
+        Hotspot hotspot = hotspots.get(stack);
+        if (hotspot == null) {
+            // Bound the number of distinct stacks kept; further ones only count towards the total
+            if (hotspots.size() >= MAX_HOTSPOTS) {
+                return;
+            }
+            hotspot = hotspots.computeIfAbsent(stack, key -> new Hotspot());
+        }
+        hotspot.record(event.getDuration());
+    }
+
+    private List<Map<String, Object>> topHotspots(int limit) {
+        List<Map<String, Object>> top = new ArrayList<>();
+        hotspots.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, Hotspot> entry) -> entry.getValue().count.sum()).reversed())
+            .limit(limit)
+            .forEach(entry -> {
+                Hotspot hotspot = entry.getValue();
+                long count = hotspot.count.sum();
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("stack", entry.getKey());
+                row.put("count", count);
+                row.put("totalMillis", hotspot.totalNanos.sum() / 1_000_000);
+                row.put("averageMillis", count > 0 ? hotspot.totalNanos.sum() / count / 1_000_000 : 0);
+                row.put("maxMillis", hotspot.maxNanos.get() / 1_000_000);
+                top.add(row);
+            });
+        return top;
+    }
+
+    /**
+     * Top frames of the pinned thread, innermost first
+     */
+    private String describeStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "(no stack trace)";
+        }
+        List<String> frames = new ArrayList<>();
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frames.size() == stackDepth) {
+                break;
+            }
+            if (frame.isJavaFrame()) {
+                frames.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                    + ":" + frame.getLineNumber());
+            }
+        }
+        return String.join(" <- ", frames);
+    }
+}
@@ -0,0 +1,156 @@
+package com.project.gradegoal.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streaming XLSX writer. Each section becomes a worksheet written straight
+ * into the zip with inline strings, so no shared-strings table or sheet is
+ * held in memory. The workbook parts are written once all sheets are done.
+ */
+class XlsxExportRowWriter implements ExportRowWriter {
+
+    private static final String MAIN_NS = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String REL_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final int MAX_SHEET_NAME = 31;
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private final List<String> sheetNames = new ArrayList<>();
+    private boolean sheetOpen;
+    private int rowNumber;
+
+    XlsxExportRowWriter(OutputStream out) {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void startSection(String name, List<String> columns) throws IOException {
+        closeSheet();
+        sheetNames.add(uniqueSheetName(name));
+        beginEntry("xl/worksheets/sheet" + sheetNames.size() + ".xml");
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>");
+        writer.write("<worksheet xmlns=\"" + MAIN_NS + "\"><sheetData>");
+        sheetOpen = true;
+        rowNumber = 0;
+        writeRow(columns.toArray());
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        rowNumber++;
+        writer.write("<row r=\"" + rowNumber + "\">");
+        for (Object value : values) {
+            if (value == null) {
+                writer.write("<c/>");
+            } else if (value instanceof Number) {
+                writer.write("<c><v>" + value + "</v></c>");
+            } else if (value instanceof Boolean bool) {
+                writer.write("<c t=\"b\"><v>" + (bool ? 1 : 0) + "</v></c>");
+            } else {
+                writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                writeEscaped(value.toString());
+                writer.write("</t></is></c>");
+            }
+        }
+        writer.write("</row>");
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeSheet();
+        if (sheetNames.isEmpty()) {
+            startSection("Sheet1", List.of());
+            closeSheet();
+        }
+
+        beginEntry("xl/workbook.xml");
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>");
+        writer.write("<workbook xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + REL_NS + "\"><sheets>");
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            writer.write("<sheet name=\"");
+            writeEscaped(sheetNames.get(i - 1));
+            writer.write("\" sheetId=\"" + i + "\" r:id=\"rId" + i + "\"/>");
+        }
+        writer.write("</sheets></workbook>");
+
+        beginEntry("xl/_rels/workbook.xml.rels");
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>");
+        writer.write("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            writer.write("<Relationship Id=\"rId" + i + "\" Type=\"" + REL_NS + "/worksheet\" Target=\"worksheets/sheet" + i + ".xml\"/>");
+        }
+        writer.write("</Relationships>");
+
+        beginEntry("_rels/.rels");
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>");
+        writer.write("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">");
+        writer.write("<Relationship Id=\"rId1\" Type=\"" + REL_NS + "/officeDocument\" Target=\"xl/workbook.xml\"/>");
+        writer.write("</Relationships>");
+
+        beginEntry("[Content_Types].xml");
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>");
+        writer.write("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">");
+        writer.write("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>");
+        writer.write("<Default Extension=\"xml\" ContentType=\"application/xml\"/>");
+        writer.write("<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>");
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            writer.write("<Override PartName=\"/xl/worksheets/sheet" + i + ".xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>");
+        }
+        writer.write("</Types>");
+
+        writer.flush();
+        zip.closeEntry();
+        writer.close();
+    }
+
+    private void closeSheet() throws IOException {
+        if (sheetOpen) {
+            writer.write("</sheetData></worksheet>");
+            sheetOpen = false;
+        }
+    }
+
+    private void beginEntry(String name) throws IOException {
+        writer.flush();
+        zip.putNextEntry(new ZipEntry(name));
+    }
+
+    private String uniqueSheetName(String name) {
+        String base = name.replaceAll("[\\\\/?*\\[\\]:]", "_");
+        base = base.length() > MAX_SHEET_NAME ? base.substring(0, MAX_SHEET_NAME) : base;
+        String candidate = base;
+        for (int suffix = 2; sheetNames.contains(candidate); suffix++) {
+            String tail = "_" + suffix;
+            candidate = base.substring(0, Math.min(base.length(), MAX_SHEET_NAME - tail.length())) + tail;
+        }
+        return candidate;
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '&' -> writer.write("&amp;");
+                case '"' -> writer.write("&quot;");
+                default -> {
+                    // Control characters other than tab and newlines are not allowed in XML
+                    if (ch >= 0x20 || ch == '\t' || ch == '\n' || ch == '\r') {
+                        writer.write(ch);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+-- Covering indexes for the hot repository queries.
+--
+-- MySQL has no CREATE INDEX IF NOT EXISTS, so each index is created through a
+-- prepared statement only when the table has no index on exactly these
+-- columns yet (under any name; the hand-exported dump and the entity
+-- annotations already declare some of them).
+
+-- Overdue and upcoming assessment checks: due date range, then status
+SET @ddl = IF((SELECT COUNT(*) FROM (
+        SELECT LOWER(GROUP_CONCAT(column_name ORDER BY seq_in_index)) AS index_columns
+        FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'assessments'
+        GROUP BY index_name) existing
+    WHERE existing.index_columns = 'due_date,status') = 0,
+    'CREATE INDEX idx_assessments_due_date_status ON assessments (due_date, status)',
+    'DO 0');
+PREPARE migration_statement FROM @ddl;
+EXECUTE migration_statement;
+DEALLOCATE PREPARE migration_statement;
+
+-- Custom event reminder poll: unsent reminders starting in the next minutes
+SET @ddl = IF((SELECT COUNT(*) FROM (
+        SELECT LOWER(GROUP_CONCAT(column_name ORDER BY seq_in_index)) AS index_columns
+        FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'calendar_events'
+        GROUP BY index_name) existing
+    WHERE existing.index_columns = 'reminder_enabled,is_notified,event_start') = 0,
+    'CREATE INDEX idx_calendar_events_reminder_start ON calendar_events (reminder_enabled, is_notified, event_start)',
+    'DO 0');
+PREPARE migration_statement FROM @ddl;
+EXECUTE migration_statement;
+DEALLOCATE PREPARE migration_statement;
+
+-- Activity history of a user by type, newest first
+SET @ddl = IF((SELECT COUNT(*) FROM (
+        SELECT LOWER(GROUP_CONCAT(column_name ORDER BY seq_in_index)) AS index_columns
+        FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'user_activity_log'
+        GROUP BY index_name) existing
+    WHERE existing.index_columns = 'user_id,activity_type,created_at') = 0,
+    'CREATE INDEX idx_user_activity_log_user_type_created ON user_activity_log (user_id, activity_type, created_at)',
+    'DO 0');
+PREPARE migration_statement FROM @ddl;
+EXECUTE migration_statement;
+DEALLOCATE PREPARE migration_statement;
+
+-- Latest analytics of a user, overall or per course
+SET @ddl = IF((SELECT COUNT(*) FROM (
+        SELECT LOWER(GROUP_CONCAT(column_name ORDER BY seq_in_index)) AS index_columns
+        FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'user_analytics'
+        GROUP BY index_name) existing
+    WHERE existing.index_columns = 'user_id,course_id,analytics_date') = 0,
+    'CREATE INDEX idx_user_analytics_user_course_date ON user_analytics (user_id, course_id, analytics_date)',
+    'DO 0');
+PREPARE migration_statement FROM @ddl;
+EXECUTE migration_statement;
+DEALLOCATE PREPARE migration_statement;
+
+-- AI recommendations of a user by priority and recency
+SET @ddl = IF((SELECT COUNT(*) FROM (
+        SELECT LOWER(GROUP_CONCAT(column_name ORDER BY seq_in_index)) AS index_columns
+        FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'recommendations'
+        GROUP BY index_name) existing
+    WHERE existing.index_columns = 'user_id,ai_generated,priority,created_at') = 0,
+    'CREATE INDEX idx_recommendations_user_ai_priority ON recommendations (user_id, ai_generated, priority, created_at)',
+    'DO 0');
+PREPARE migration_statement FROM @ddl;
+EXECUTE migration_statement;
+DEALLOCATE PREPARE migration_statement;
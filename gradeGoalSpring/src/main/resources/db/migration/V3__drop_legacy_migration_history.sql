@@ -0,0 +1,3 @@
+-- Applied migrations are recorded by Flyway in flyway_schema_history; the
+-- history table of the earlier in-house runner is no longer read.
+DROP TABLE IF EXISTS schema_migrations;
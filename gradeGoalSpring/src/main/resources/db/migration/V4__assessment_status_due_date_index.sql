@@ -0,0 +1,16 @@
+-- Overdue assessment check: open statuses, then due date.
+--
+-- The due_date,status index of V1 cannot serve the overdue check, whose due
+-- date range covers the whole history; leading with status reads only the
+-- open assessments. Created the same way as the V1 indexes.
+SET @ddl = IF((SELECT COUNT(*) FROM (
+        SELECT LOWER(GROUP_CONCAT(column_name ORDER BY seq_in_index)) AS index_columns
+        FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'assessments'
+        GROUP BY index_name) existing
+    WHERE existing.index_columns = 'status,due_date') = 0,
+    'CREATE INDEX idx_assessments_status_due_date ON assessments (status, due_date)',
+    'DO 0');
+PREPARE migration_statement FROM @ddl;
+EXECUTE migration_statement;
+DEALLOCATE PREPARE migration_statement;
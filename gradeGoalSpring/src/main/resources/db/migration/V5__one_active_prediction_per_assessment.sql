@@ -0,0 +1,19 @@
+-- At most one active AI prediction per user and assessment.
+--
+-- MySQL has no partial unique index, so the unique key is on a generated
+-- column that holds the assessment ID of active rows and NULL otherwise;
+-- inactive rows never collide. Duplicates left by concurrent saves are
+-- deactivated first, keeping the newest prediction.
+UPDATE ai_assessment_predictions p
+JOIN (SELECT user_id, assessment_id, MAX(id) AS newest_id
+      FROM ai_assessment_predictions
+      WHERE is_active = true
+      GROUP BY user_id, assessment_id
+      HAVING COUNT(*) > 1) duplicates
+  ON p.user_id = duplicates.user_id AND p.assessment_id = duplicates.assessment_id
+SET p.is_active = false, p.updated_at = NOW()
+WHERE p.is_active = true AND p.id < duplicates.newest_id;
+
+ALTER TABLE ai_assessment_predictions
+    ADD COLUMN active_assessment_id BIGINT AS (IF(is_active, assessment_id, NULL)) STORED,
+    ADD UNIQUE INDEX uk_ai_predictions_one_active (user_id, active_assessment_id);
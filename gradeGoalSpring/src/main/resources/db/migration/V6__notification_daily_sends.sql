@@ -0,0 +1,13 @@
+-- Users whose daily assessment notifications went out, per day.
+--
+-- A notification shard whose node dies is run again on another node; the
+-- row claimed before sending lets the re-run skip users already notified.
+-- Rows older than gradegoal.notifications.daily-send-retention-days are
+-- removed when the next daily run is scheduled.
+CREATE TABLE IF NOT EXISTS notification_daily_sends (
+    user_id BIGINT NOT NULL,
+    send_date DATE NOT NULL,
+    sent_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, send_date),
+    INDEX idx_notification_daily_sends_date (send_date)
+) ENGINE = InnoDB;
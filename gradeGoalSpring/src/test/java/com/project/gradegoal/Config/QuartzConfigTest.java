@@ -0,0 +1,17 @@
+package com.project.gradegoal.Config;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDetail;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuartzConfigTest {
+
+    @Test
+    void pointsLedgerCompactionNeverRunsConcurrently() {
+        // With the clustered job store this holds across nodes, not just within one scheduler
+        JobDetail jobDetail = new QuartzConfig().pointsLedgerCompactionJobDetail();
+
+        assertTrue(jobDetail.isConcurrentExecutionDisallowed());
+    }
+}
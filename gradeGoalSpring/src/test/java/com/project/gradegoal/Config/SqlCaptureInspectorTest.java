@@ -0,0 +1,45 @@
+package com.project.gradegoal.Config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlCaptureInspectorTest {
+
+    private final SqlCaptureInspector inspector = new SqlCaptureInspector();
+
+    @Test
+    void statementsPassThroughOutsideACapture() {
+        assertEquals("select 1", inspector.inspect("select 1"));
+    }
+
+    @Test
+    void captureReturnsTheSqlWithoutRunningIt() {
+        String sql = inspector.capture(() -> {
+            inspector.inspect("select a1_0.id from assessments a1_0 where a1_0.due_date<?");
+            throw new AssertionError("The statement must not run");
+        });
+
+        assertEquals("select a1_0.id from assessments a1_0 where a1_0.due_date<?", sql);
+        assertEquals("select 2", inspector.inspect("select 2"));
+    }
+
+    @Test
+    void captureFindsTheSqlBehindTranslatedExceptions() {
+        String sql = inspector.capture(() -> {
+            try {
+                inspector.inspect("select 1");
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("translated", e);
+            }
+        });
+
+        assertEquals("select 1", sql);
+    }
+
+    @Test
+    void captureFailsWhenNoSqlRuns() {
+        assertThrows(IllegalStateException.class, () -> inspector.capture(() -> { }));
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.gradegoal.Repository;
+
+import com.project.gradegoal.DTO.CourseSummary;
+import com.project.gradegoal.DTO.KeysetPage;
+import com.project.gradegoal.Entity.Course;
+import com.project.gradegoal.Entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    // The migrations are MySQL scripts
+    "spring.flyway.enabled=false"
+})
+class CourseRepositoryTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void createdAtPagesIncludeCoursesWithoutATimestamp() {
+        User user = new User();
+        user.setEmail("student@example.com");
+        Long userId = userRepository.save(user).getUserId();
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Long newest = save(userId, now).getCourseId();
+        Long older = save(userId, now.minusDays(1)).getCourseId();
+        Long sameTime = save(userId, now.minusDays(1)).getCourseId();
+        Long undatedFirst = save(userId, null).getCourseId();
+        Long undatedSecond = save(userId, null).getCourseId();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            List<CourseSummary> rows = courseRepository.findSummariesBeforeCreatedAt(
+                KeysetPage.cursorTimestamp(cursor), KeysetPage.cursorId(cursor),
+                null, null, null, false, PageRequest.of(0, 3));
+            KeysetPage<CourseSummary> page = KeysetPage.of(rows, 2,
+                course -> KeysetPage.encodeCursor(course.getCreatedAt(), course.getCourseId()));
+            page.getItems().forEach(course -> seen.add(course.getCourseId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(newest, sameTime, older, undatedSecond, undatedFirst), seen);
+    }
+
+    private Course save(Long userId, LocalDateTime createdAt) {
+        Course course = new Course(userId, "CS101", "Algorithms", Course.Semester.FIRST, "2025-2026");
+        course.setCreatedAt(createdAt);
+        return courseRepository.save(course);
+    }
+}
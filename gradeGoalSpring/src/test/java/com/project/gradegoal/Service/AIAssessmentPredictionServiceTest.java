@@ -0,0 +1,94 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.AIAssessmentPrediction;
+import com.project.gradegoal.Repository.AIAssessmentPredictionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AIAssessmentPredictionServiceTest {
+
+    @Mock
+    private AIAssessmentPredictionRepository predictionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AIAssessmentPredictionService predictionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(predictionService, "predictionTtlDays", 7);
+        ReflectionTestUtils.setField(predictionService, "maxTtlMinutes", 60L);
+        ReflectionTestUtils.setField(predictionService, "negativeTtlMinutes", 10L);
+        ReflectionTestUtils.setField(predictionService, "maxSize", 1000L);
+        predictionService.buildCaches();
+    }
+
+    @Test
+    void gradeChangeDropsTheCourseEntryOfTheAssessment() {
+        when(predictionRepository.findActivePredictionsByCourse(2L, 1L)).thenReturn(List.of(prediction(3L)));
+        predictionService.getActivePredictionsForCourse(1L, 2L);
+
+        predictionService.onAssessmentGradeChanged(new AssessmentGradeChangedEvent(3L));
+        predictionService.getActivePredictionsForCourse(1L, 2L);
+
+        verify(predictionRepository, times(2)).findActivePredictionsByCourse(2L, 1L);
+    }
+
+    @Test
+    void userWideGradeChangeReloadsCachedPredictions() {
+        when(predictionRepository.findActivePredictionByAssessment(3L, 1L)).thenReturn(Optional.of(prediction(3L)));
+        predictionService.getActivePrediction(1L, 3L);
+        predictionService.getActivePrediction(1L, 3L);
+
+        predictionService.onCourseGradesChanged(new CourseGradesChangedEvent(1L));
+        predictionService.getActivePrediction(1L, 3L);
+
+        verify(predictionRepository, times(2)).findActivePredictionByAssessment(3L, 1L);
+    }
+
+    @Test
+    void saveRetriesWhenAConcurrentSaveWon() {
+        AIAssessmentPrediction prediction = prediction(3L);
+        when(predictionRepository.saveAndFlush(any(AIAssessmentPrediction.class)))
+            .thenThrow(new DataIntegrityViolationException("Duplicate entry for key 'uk_ai_predictions_one_active'"))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        AIAssessmentPrediction saved = predictionService.savePrediction(prediction);
+
+        assertEquals(prediction, saved);
+        verify(predictionRepository, times(2)).deactivateActivePredictions(1L, 3L);
+    }
+
+    private AIAssessmentPrediction prediction(Long assessmentId) {
+        AIAssessmentPrediction prediction = new AIAssessmentPrediction();
+        prediction.setUserId(1L);
+        prediction.setCourseId(2L);
+        prediction.setAssessmentId(assessmentId);
+        prediction.setExpiresAt(LocalDateTime.now().plusDays(1));
+        return prediction;
+    }
+}
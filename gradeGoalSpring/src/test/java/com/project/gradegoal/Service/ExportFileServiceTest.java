@@ -0,0 +1,64 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.ExportLog;
+import com.project.gradegoal.Repository.ExportLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportFileServiceTest {
+
+    @Mock
+    private ExportLogRepository exportLogRepository;
+
+    @InjectMocks
+    private ExportFileService exportFileService;
+
+    @TempDir
+    private Path exportDir;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(exportFileService, "cleanupBatch", 200);
+    }
+
+    @Test
+    void expiredExportKeepsItsLogRow() throws IOException {
+        Path file = Files.writeString(exportDir.resolve("overview.csv"), "course,grade");
+        ExportLog exportLog = new ExportLog();
+        exportLog.setExportType(ExportLog.ExportType.ADMIN_OVERVIEW);
+        exportLog.setStatus(ExportLog.ExportStatus.COMPLETED);
+        exportLog.setFilePath(file.toString());
+        exportLog.setExpiresAt(LocalDateTime.now().minusDays(1));
+        when(exportLogRepository.findByExpiresAtBeforeAndFilePathIsNotNullOrderByExpiresAtAsc(any(), any(Pageable.class)))
+            .thenReturn(List.of(exportLog));
+
+        exportFileService.cleanExpiredExports();
+
+        assertFalse(Files.exists(file));
+        assertNull(exportLog.getFilePath());
+        verify(exportLogRepository).saveAll(List.of(exportLog));
+        verify(exportLogRepository, never()).deleteAllInBatch(anyIterable());
+    }
+}
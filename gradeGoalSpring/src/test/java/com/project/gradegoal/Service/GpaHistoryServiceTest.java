@@ -0,0 +1,48 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.UserProgress;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    // The migrations are MySQL scripts
+    "spring.flyway.enabled=false"
+})
+@Import(GpaHistoryService.class)
+class GpaHistoryServiceTest {
+
+    @Autowired
+    private GpaHistoryService gpaHistoryService;
+
+    @Test
+    void firstGradedCourseIsNotAnImprovement() {
+        // Creating the first course records 0.00, grading it records the first real GPA
+        gpaHistoryService.recordUserSnapshot(progress(1L, 0.0, 0.0));
+        gpaHistoryService.recordUserSnapshot(progress(1L, 3.2, 3.2));
+
+        assertNull(gpaHistoryService.getCumulativeGpaImprovement(1L));
+    }
+
+    @Test
+    void improvementIsMeasuredFromTheFirstGradedReading() {
+        gpaHistoryService.recordUserSnapshot(progress(2L, 0.0, 0.0));
+        gpaHistoryService.recordUserSnapshot(progress(2L, 3.0, 3.0));
+        gpaHistoryService.recordUserSnapshot(progress(2L, 3.5, 3.25));
+
+        assertEquals(0.25, gpaHistoryService.getCumulativeGpaImprovement(2L), 1e-9);
+    }
+
+    private UserProgress progress(Long userId, Double semesterGpa, Double cumulativeGpa) {
+        UserProgress progress = new UserProgress(userId);
+        progress.setSemesterGpa(semesterGpa);
+        progress.setCumulativeGpa(cumulativeGpa);
+        return progress;
+    }
+}
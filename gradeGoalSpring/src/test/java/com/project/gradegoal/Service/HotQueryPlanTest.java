@@ -0,0 +1,195 @@
+package com.project.gradegoal.Service;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.project.gradegoal.Config.FlywayConfig;
+import com.project.gradegoal.Config.QueryPlanConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the query plan check against a real database: Hibernate creates the
+ * entity tables, the Flyway migrations add the indexes, the tables are seeded
+ * with a few thousand rows and every hot repository query must then be served
+ * by an index.
+ *
+ * Uses an embedded MariaDB unless a MySQL schema is given with
+ * -Dtest.db.url=jdbc:mysql://host:3306/schema (plus -Dtest.db.username and
+ * -Dtest.db.password); the schema should be empty, the test creates its tables.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+    "spring.jpa.hibernate.ddl-auto=update",
+    "spring.jpa.show-sql=false",
+    "gradegoal.schema.verify-query-plans=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({FlywayConfig.class, QueryPlanConfig.class, SchemaMigrationService.class, QueryPlanCheckService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotQueryPlanTest {
+
+    // 0 to 9999, to seed rows with INSERT ... SELECT
+    private static final String NUMBERS = """
+        (SELECT ones.d + 10 * tens.d + 100 * hundreds.d + 1000 * thousands.d AS n
+         FROM (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+               UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) ones
+         CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+               UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) tens
+         CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+               UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) hundreds
+         CROSS JOIN (SELECT 0 AS d UNION ALL SELECT 1 UNION ALL SELECT 2 UNION ALL SELECT 3 UNION ALL SELECT 4
+               UNION ALL SELECT 5 UNION ALL SELECT 6 UNION ALL SELECT 7 UNION ALL SELECT 8 UNION ALL SELECT 9) thousands)
+        AS numbers
+        """;
+
+    // A year of assessment history, nearly all completed, and the next two months upcoming
+    private static final String SEED_ASSESSMENTS = """
+        INSERT INTO assessments (category_id, assessment_name, max_points, due_date, status, semester_term, created_at)
+        SELECT n % 500 + 1, CONCAT('Assessment ', n), 100,
+               CURDATE() - INTERVAL 365 DAY + INTERVAL (n % 425) DAY,
+               CASE WHEN n % 425 >= 365 THEN 'UPCOMING' WHEN n % 97 = 0 THEN 'UPCOMING' ELSE 'COMPLETED' END,
+               'MIDTERM', NOW()
+        FROM """ + NUMBERS;
+
+    // Half-hourly events over the last six months and the next four weeks, past ones already notified
+    private static final String SEED_EVENTS = """
+        INSERT INTO calendar_events (user_id, event_title, event_start, event_end, event_date, reminder_enabled,
+                                     reminder_days, event_type, is_notified, created_at)
+        SELECT n % 1000 + 1, CONCAT('Event ', n),
+               NOW() - INTERVAL 180 DAY + INTERVAL 30 * n MINUTE,
+               NOW() - INTERVAL 180 DAY + INTERVAL 30 * n + 60 MINUTE,
+               NOW() - INTERVAL 180 DAY + INTERVAL 30 * n MINUTE,
+               n % 5 <> 0, 1, 'CUSTOM_EVENT', 30 * n < 180 * 24 * 60, NOW()
+        FROM """ + NUMBERS;
+
+    private static final String SEED_ACTIVITY = """
+        INSERT INTO user_activity_log (user_id, activity_type, created_at)
+        SELECT n % 1000 + 1, ELT(n % 4 + 1, 'login', 'grade_added', 'course_viewed', 'goal_updated'),
+               NOW() - INTERVAL n MINUTE
+        FROM """ + NUMBERS;
+
+    private static final String SEED_ANALYTICS = """
+        INSERT INTO user_analytics (user_id, course_id, analytics_date, current_grade, calculated_at)
+        SELECT n % 1000 + 1, n % 7 + 1, CURDATE() - INTERVAL n DIV 1000 DAY, 85, NOW()
+        FROM """ + NUMBERS;
+
+    private static final String SEED_RECOMMENDATIONS = """
+        INSERT INTO recommendations (user_id, recommendation_type, title, content, priority, is_read, is_dismissed,
+                                     created_at, ai_generated)
+        SELECT n % 1000 + 1, 'AI_ANALYSIS', CONCAT('Recommendation ', n), '{}', ELT(n % 3 + 1, 'HIGH', 'MEDIUM', 'LOW'),
+               0, 0, NOW() - INTERVAL 10 * n MINUTE, n % 2
+        FROM """ + NUMBERS;
+
+    private static final List<String> SEEDED_TABLES =
+        List.of("assessments", "calendar_events", "user_activity_log", "user_analytics", "recommendations");
+
+    private static DB embeddedDatabase;
+    private static boolean seeded;
+
+    @Autowired
+    private QueryPlanCheckService queryPlanCheckService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws ManagedProcessException {
+        String url = System.getProperty("test.db.url");
+        if (url == null) {
+            DBConfigurationBuilder configuration = DBConfigurationBuilder.newBuilder();
+            configuration.setPort(0);
+            // The embedded server refuses to run as root without being told to
+            configuration.addArg("--user=root");
+            embeddedDatabase = DB.newEmbeddedDB(configuration.build());
+            embeddedDatabase.start();
+            url = "jdbc:mysql://localhost:" + configuration.getPort() + "/test";
+        }
+        registry.add("spring.datasource.url", url::toString);
+        registry.add("spring.datasource.username", () -> System.getProperty("test.db.username", "root"));
+        registry.add("spring.datasource.password", () -> System.getProperty("test.db.password", ""));
+    }
+
+    @AfterAll
+    static void stopEmbeddedDatabase() throws ManagedProcessException {
+        if (embeddedDatabase != null) {
+            embeddedDatabase.stop();
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+                for (String table : SEEDED_TABLES) {
+                    statement.execute("DELETE FROM " + table);
+                }
+                statement.execute(SEED_ASSESSMENTS);
+                statement.execute(SEED_EVENTS);
+                statement.execute(SEED_ACTIVITY);
+                statement.execute(SEED_ANALYTICS);
+                statement.execute(SEED_RECOMMENDATIONS);
+                statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+            }
+            return null;
+        });
+        for (String table : SEEDED_TABLES) {
+            jdbcTemplate.queryForList("ANALYZE TABLE " + table);
+        }
+        seeded = true;
+    }
+
+    @Test
+    void hotQueriesUseAnIndex() {
+        List<Map<String, Object>> plans = queryPlanCheckService.checkQueryPlans();
+
+        assertEquals(6, plans.size());
+        for (Map<String, Object> plan : plans) {
+            assertFalse(plan.containsKey("error"), () -> "Could not check " + plan);
+            assertEquals(false, plan.get("fullScan"), () -> "Full table scan: " + plan);
+        }
+    }
+
+    @Test
+    void missingIndexIsReportedAsFullScan() {
+        String index = jdbcTemplate.queryForObject(
+            "SELECT index_name FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() AND table_name = 'user_activity_log' AND index_name <> 'PRIMARY' " +
+            "GROUP BY index_name HAVING LOWER(GROUP_CONCAT(column_name ORDER BY seq_in_index)) = " +
+            "'user_id,activity_type,created_at'", String.class);
+        jdbcTemplate.execute("DROP INDEX " + index + " ON user_activity_log");
+        try {
+            Map<String, Object> plan = queryPlanCheckService.checkQueryPlans().stream()
+                .filter(result -> result.get("query").toString().startsWith("UserActivityLogRepository."))
+                .findFirst()
+                .orElseThrow();
+
+            assertTrue((Boolean) plan.get("fullScan"), () -> "Expected a full table scan: " + plan);
+        } finally {
+            jdbcTemplate.execute("CREATE INDEX " + index + " ON user_activity_log (user_id, activity_type, created_at)");
+        }
+    }
+}
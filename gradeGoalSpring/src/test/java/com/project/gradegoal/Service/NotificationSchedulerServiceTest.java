@@ -0,0 +1,91 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.Assessment;
+import com.project.gradegoal.Entity.User;
+import com.project.gradegoal.Repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationSchedulerServiceTest {
+
+    @Mock
+    private AssessmentService assessmentService;
+
+    @Mock
+    private EmailNotificationService emailNotificationService;
+
+    @Mock
+    private PushNotificationService pushNotificationService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private NotificationSchedulerService notificationSchedulerService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notificationSchedulerService, "notificationExecutor", (TaskExecutor) Runnable::run);
+        ReflectionTestUtils.setField(notificationSchedulerService, "overdueNotificationsEnabled", true);
+        ReflectionTestUtils.setField(notificationSchedulerService, "upcomingNotificationsEnabled", true);
+        ReflectionTestUtils.setField(notificationSchedulerService, "upcomingDaysBefore", 2);
+
+        User user = new User();
+        user.setUserId(1L);
+        user.setEmail("student@example.com");
+        user.setEmailNotificationsEnabled(true);
+        user.setPushNotificationsEnabled(false);
+        when(userRepository.findNotifiableUsersInRange(1L, 500L)).thenReturn(List.of(user));
+
+        Assessment overdue = new Assessment(1L, "Problem set", null);
+        overdue.setCourseName("Calculus");
+        overdue.setDueDate(LocalDate.now().minusDays(1));
+        overdue.setStatus(Assessment.AssessmentStatus.UPCOMING);
+        when(assessmentService.getAssessmentsByUserId(1L)).thenReturn(List.of(overdue));
+    }
+
+    @Test
+    void userAlreadyNotifiedTodayIsSkipped() {
+        // The shard ran on a node that died after sending this user
+        when(jdbcTemplate.update(startsWith("INSERT IGNORE"), eq(1L), any(LocalDate.class))).thenReturn(0);
+
+        notificationSchedulerService.sendNotificationsForUserRange(1L, 500L);
+
+        verify(emailNotificationService, never()).sendOverdueNotification(anyString(), anyList());
+    }
+
+    @Test
+    void failedSendIsReleasedForTheRetry() {
+        when(jdbcTemplate.update(startsWith("INSERT IGNORE"), eq(1L), any(LocalDate.class))).thenReturn(1);
+        doThrow(new IllegalStateException("SMTP unavailable"))
+            .when(emailNotificationService).sendOverdueNotification(anyString(), anyList());
+
+        notificationSchedulerService.sendNotificationsForUserRange(1L, 500L);
+
+        verify(jdbcTemplate).update(startsWith("DELETE FROM notification_daily_sends WHERE user_id"), eq(1L), any(LocalDate.class));
+    }
+}
@@ -0,0 +1,79 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.Notification;
+import com.project.gradegoal.Repository.AIRecommendationRepository;
+import com.project.gradegoal.Repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationStreamServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private AIRecommendationRepository recommendationRepository;
+
+    @InjectMocks
+    private NotificationStreamService notificationStreamService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notificationStreamService, "emitterTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(notificationStreamService, "reconnectMs", 5_000L);
+        ReflectionTestUtils.setField(notificationStreamService, "replaySize", 50);
+        ReflectionTestUtils.setField(notificationStreamService, "pollOverlapMs", 10_000L);
+        when(notificationRepository.countByUserIdAndIsRead(1L, false)).thenReturn(0L);
+        when(recommendationRepository.countUnreadAIRecommendations(1L)).thenReturn(0L);
+        when(recommendationRepository.findAIRecommendationsCreatedSince(anyCollection(), any())).thenReturn(List.of());
+        notificationStreamService.subscribe(1L, null);
+    }
+
+    @Test
+    void notificationFromAnotherNodeIsStreamedOnce() {
+        Notification notification = notification(5L);
+        when(notificationRepository.findByUserIdInAndCreatedAtGreaterThanEqual(anyCollection(), any()))
+            .thenReturn(List.of(notification));
+
+        notificationStreamService.pollNewItems();
+        // Still inside the overlap window of the next poll
+        notificationStreamService.pollNewItems();
+
+        assertEquals(1L, notificationStreamService.getUnreadNotificationCount(1L));
+    }
+
+    @Test
+    void localNotificationIsNotStreamedAgainByThePoll() {
+        Notification notification = notification(6L);
+        notificationStreamService.onInboxEvent(InboxEvent.notificationCreated(1L, notification));
+        when(notificationRepository.findByUserIdInAndCreatedAtGreaterThanEqual(anyCollection(), any()))
+            .thenReturn(List.of(notification));
+
+        notificationStreamService.pollNewItems();
+
+        assertEquals(1L, notificationStreamService.getUnreadNotificationCount(1L));
+    }
+
+    private Notification notification(Long notificationId) {
+        Notification notification = new Notification();
+        notification.setNotificationId(notificationId);
+        notification.setUserId(1L);
+        notification.setTitle("Assessment due");
+        notification.setCreatedAt(LocalDateTime.now());
+        return notification;
+    }
+}
@@ -0,0 +1,107 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Repository.PointsLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PointsLedgerServiceTest {
+
+    @Mock
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @Mock
+    private UserProgressService userProgressService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PointsLedgerService pointsLedgerService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pointsLedgerService, "batchSize", 500);
+        ReflectionTestUtils.setField(pointsLedgerService, "settleSeconds", 2);
+        ReflectionTestUtils.setField(pointsLedgerService, "compactionUsers", 1000);
+        pointsLedgerService.init();
+    }
+
+    @Test
+    void compactStopsBelowFirstUnsettledEntry() {
+        // Entry 7 is still inside the settle window although entries up to 10 are older
+        when(pointsLedgerRepository.findLastEntryIdBefore(eq(0L), any(LocalDateTime.class))).thenReturn(10L);
+        when(pointsLedgerRepository.findFirstEntryIdSince(eq(0L), any(LocalDateTime.class))).thenReturn(7L);
+        when(pointsLedgerRepository.findCompactableTotals(6L, 1000)).thenReturn(
+            Collections.singletonList(new Object[] {1L, 30L, 0L}));
+
+        pointsLedgerService.compact();
+
+        verify(userProgressService).foldLedgerPoints(1L, 30, 0L, 6L);
+    }
+
+    @Test
+    void compactKeepsSettledBoundWhenNothingNewSettled() {
+        when(pointsLedgerRepository.findLastEntryIdBefore(eq(0L), any(LocalDateTime.class))).thenReturn(5L);
+        when(pointsLedgerRepository.findFirstEntryIdSince(eq(0L), any(LocalDateTime.class))).thenReturn(null);
+        when(pointsLedgerRepository.findCompactableTotals(5L, 1000)).thenReturn(List.of());
+        pointsLedgerService.compact();
+
+        // Users left over by the per-run limit are still folded up to the same bound
+        when(pointsLedgerRepository.findLastEntryIdBefore(eq(5L), any(LocalDateTime.class))).thenReturn(null);
+        when(pointsLedgerRepository.findCompactableTotals(5L, 1000)).thenReturn(
+            Collections.singletonList(new Object[] {2L, 10L, 3L}));
+        pointsLedgerService.compact();
+
+        verify(userProgressService).foldLedgerPoints(2L, 10, 3L, 5L);
+    }
+
+    @Test
+    void compactDoesNothingBeforeAnyEntrySettles() {
+        when(pointsLedgerRepository.findLastEntryIdBefore(eq(0L), any(LocalDateTime.class))).thenReturn(null);
+
+        pointsLedgerService.compact();
+
+        verify(pointsLedgerRepository, never()).findCompactableTotals(anyLong(), anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void appendFailsWhenTheAwardIsNotWritten() {
+        doThrow(new IllegalStateException("connection lost")).when(jdbcTemplate).batchUpdate(
+            anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+
+        assertThrows(IllegalStateException.class, () -> pointsLedgerService.append(1L, 10, "GRADE_ADDED"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Config.SqlCaptureInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueryPlanCheckServiceTest {
+
+    // Captured SQL of the hot queries, in check order, with the placeholder count of the repository queries
+    private static final String[] CAPTURED_SQL = {
+        "select a1_0.assessment_id from assessments a1_0 where a1_0.due_date<? and a1_0.status in ('UPCOMING','OVERDUE')",
+        "select a1_0.assessment_id from assessments a1_0 where a1_0.due_date between ? and ?",
+        "select c1_0.event_id from calendar_events c1_0 where c1_0.event_start between ? and ?",
+        "select u1_0.log_id from user_activity_log u1_0 where u1_0.user_id=? and u1_0.activity_type=?",
+        "select u1_0.analytics_id from user_analytics u1_0 where u1_0.user_id=? and u1_0.course_id=?",
+        "select r1_0.recommendation_id from recommendations r1_0 where r1_0.user_id=? and r1_0.created_at>=?"
+    };
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SqlCaptureInspector sqlCaptureInspector;
+
+    @InjectMocks
+    private QueryPlanCheckService queryPlanCheckService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(queryPlanCheckService, "verifyOnStartup", true);
+    }
+
+    @Test
+    void indexedPlansPass() {
+        captureHotQueries();
+        ReflectionTestUtils.setField(queryPlanCheckService, "failOnFullScan", true);
+        when(jdbcTemplate.queryForList(anyString(), any(Object[].class))).thenReturn(List.of(plan("ref")));
+
+        assertDoesNotThrow(() -> queryPlanCheckService.verifyOnStartup());
+    }
+
+    @Test
+    void fullScanFailsStartupWhenEnabled() {
+        captureHotQueries();
+        ReflectionTestUtils.setField(queryPlanCheckService, "failOnFullScan", true);
+        when(jdbcTemplate.queryForList(anyString(), any(Object[].class))).thenReturn(List.of(plan("ALL")));
+
+        assertThrows(IllegalStateException.class, () -> queryPlanCheckService.verifyOnStartup());
+    }
+
+    @Test
+    void fullScanOnlyWarnsByDefault() {
+        captureHotQueries();
+        when(jdbcTemplate.queryForList(anyString(), any(Object[].class))).thenReturn(List.of(plan("ALL")));
+
+        assertDoesNotThrow(() -> queryPlanCheckService.verifyOnStartup());
+    }
+
+    @Test
+    void checkIsSkippedUnlessEnabled() {
+        ReflectionTestUtils.setField(queryPlanCheckService, "verifyOnStartup", false);
+
+        assertDoesNotThrow(() -> queryPlanCheckService.verifyOnStartup());
+        assertThrows(IllegalStateException.class, () -> queryPlanCheckService.checkQueryPlans());
+        verifyNoInteractions(jdbcTemplate, sqlCaptureInspector);
+    }
+
+    @Test
+    void changedRepositoryQueryIsReportedAsUncheckable() {
+        when(sqlCaptureInspector.capture(any(Runnable.class))).thenReturn("select a1_0.assessment_id from assessments a1_0");
+
+        List<Map<String, Object>> plans = queryPlanCheckService.checkQueryPlans();
+
+        assertEquals(6, plans.size());
+        assertTrue(plans.stream().allMatch(plan -> plan.containsKey("error")));
+    }
+
+    private void captureHotQueries() {
+        when(sqlCaptureInspector.capture(any(Runnable.class)))
+            .thenReturn(CAPTURED_SQL[0], CAPTURED_SQL[1], CAPTURED_SQL[2], CAPTURED_SQL[3], CAPTURED_SQL[4], CAPTURED_SQL[5]);
+    }
+
+    private Map<String, Object> plan(String type) {
+        return Map.of("table", "a1_0", "type", type, "key", "ALL".equals(type) ? "" : "idx_hot", "rows", 1L);
+    }
+}
@@ -0,0 +1,106 @@
+package com.project.gradegoal.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.gradegoal.Entity.Recommendation;
+import com.project.gradegoal.Repository.AIRecommendationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationServiceTest {
+
+    @Mock
+    private AIRecommendationRepository recommendationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RecommendationService recommendationService;
+
+    @BeforeEach
+    void setUp() {
+        recommendationService = new RecommendationService(recommendationRepository, new ObjectMapper(), eventPublisher);
+        when(recommendationRepository.findByUserIdAndCourseIdAndRecommendationTypeAndAiGeneratedTrue(
+                1L, 2L, Recommendation.RecommendationType.AI_ANALYSIS))
+            .thenReturn(Optional.empty());
+        when(recommendationRepository.save(any(Recommendation.class))).thenAnswer(invocation -> {
+            Recommendation recommendation = invocation.getArgument(0);
+            recommendation.setRecommendationId(10L);
+            return recommendation;
+        });
+    }
+
+    @Test
+    void regeneratedAnalysisWithSameContentIsUnchanged() {
+        recommendationService.saveAIAnalysisAsRecommendation(1L, 2L, analysis("2026-10-19T08:00:00Z", false), "model", 0.9);
+        when(recommendationRepository.existsByRecommendationIdAndAiPromptHash(eq(10L), anyString())).thenReturn(true);
+
+        // Same analysis generated later, with its keys in a different order
+        Map<String, Object> result = recommendationService.saveAIAnalysisAsRecommendation(
+            1L, 2L, analysis("2026-10-19T09:30:00Z", true), "model", 0.9);
+
+        assertTrue((Boolean) result.get("unchanged"));
+        assertEquals(10L, result.get("recommendationId"));
+        verify(recommendationRepository, times(1)).save(any(Recommendation.class));
+    }
+
+    @Test
+    void fingerprintOfDeletedRecommendationIsNotReused() {
+        recommendationService.saveAIAnalysisAsRecommendation(1L, 2L, analysis("2026-10-19T08:00:00Z", false), "model", 0.9);
+        // The expiry sweeper removed the row in the meantime
+        when(recommendationRepository.existsByRecommendationIdAndAiPromptHash(eq(10L), anyString())).thenReturn(false);
+
+        Map<String, Object> result = recommendationService.saveAIAnalysisAsRecommendation(
+            1L, 2L, analysis("2026-10-19T09:30:00Z", false), "model", 0.9);
+
+        assertFalse((Boolean) result.get("unchanged"));
+        verify(recommendationRepository, times(2)).save(any(Recommendation.class));
+    }
+
+    @Test
+    void analysisFromAnotherModelIsSaved() {
+        recommendationService.saveAIAnalysisAsRecommendation(1L, 2L, analysis("2026-10-19T08:00:00Z", false), "model", 0.9);
+
+        // Same content, but the stored model and confidence would be stale if it were skipped
+        Map<String, Object> result = recommendationService.saveAIAnalysisAsRecommendation(
+            1L, 2L, analysis("2026-10-19T09:30:00Z", false), "newer-model", 0.7);
+
+        assertFalse((Boolean) result.get("unchanged"));
+        verify(recommendationRepository, times(2)).save(any(Recommendation.class));
+    }
+
+    private Map<String, Object> analysis(String generatedAt, boolean reversed) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("currentStatus", "ON_TRACK");
+        Map<String, Object> analysis = new LinkedHashMap<>();
+        if (reversed) {
+            analysis.put("generatedAt", generatedAt);
+            analysis.put("topPriorityRecommendations", List.of(Map.of("title", "Review chapter 3")));
+            analysis.put("statusUpdate", status);
+        } else {
+            analysis.put("statusUpdate", status);
+            analysis.put("topPriorityRecommendations", List.of(Map.of("title", "Review chapter 3")));
+            analysis.put("generatedAt", generatedAt);
+        }
+        return analysis;
+    }
+}
@@ -0,0 +1,80 @@
+package com.project.gradegoal.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.gradegoal.DTO.KeysetPage;
+import com.project.gradegoal.DTO.RecommendationSummary;
+import com.project.gradegoal.Entity.Recommendation;
+import com.project.gradegoal.Entity.User;
+import com.project.gradegoal.Repository.AIRecommendationRepository;
+import com.project.gradegoal.Repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    // The migrations are MySQL scripts
+    "spring.flyway.enabled=false"
+})
+class RecommendationSummaryPageTest {
+
+    @Autowired
+    private AIRecommendationRepository recommendationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private RecommendationService recommendationService;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        recommendationService = new RecommendationService(recommendationRepository, new ObjectMapper(), event -> { });
+        User user = new User();
+        user.setEmail("student@example.com");
+        userId = userRepository.save(user).getUserId();
+    }
+
+    @Test
+    void pagesIncludeRecommendationsWithoutPriority() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Long unprioritizedOlder = save(null, now.minusDays(1));
+        Long unprioritizedNewer = save(null, now);
+        Long high = save(Recommendation.Priority.HIGH, now);
+        Long mediumNewer = save(Recommendation.Priority.MEDIUM, now);
+        Long mediumOlder = save(Recommendation.Priority.MEDIUM, now.minusDays(1));
+        // No LOW: H2 stores the priority as text, which sorts LOW before MEDIUM unlike the MySQL ENUM
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<RecommendationSummary> page =
+                recommendationService.getAIRecommendationSummaries(userId, null, cursor, 2);
+            page.getItems().forEach(summary -> seen.add(summary.getRecommendationId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(unprioritizedNewer, unprioritizedOlder, high, mediumNewer, mediumOlder), seen);
+    }
+
+    private Long save(Recommendation.Priority priority, LocalDateTime createdAt) {
+        Recommendation recommendation = new Recommendation();
+        recommendation.setUserId(userId);
+        recommendation.setRecommendationType(Recommendation.RecommendationType.AI_ANALYSIS);
+        recommendation.setTitle("Study plan");
+        recommendation.setContent("{}");
+        recommendation.setAiGenerated(true);
+        recommendation.setPriority(priority);
+        recommendation.setCreatedAt(createdAt);
+        return recommendationRepository.save(recommendation).getRecommendationId();
+    }
+}
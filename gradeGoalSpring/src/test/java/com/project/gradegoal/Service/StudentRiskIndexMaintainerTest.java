@@ -0,0 +1,69 @@
+package com.project.gradegoal.Service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+
+@SpringJUnitConfig(StudentRiskIndexMaintainerTest.Config.class)
+class StudentRiskIndexMaintainerTest {
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        StudentRiskIndexMaintainer studentRiskIndexMaintainer() {
+            return new StudentRiskIndexMaintainer();
+        }
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    /** Stands in for the listeners registered after the risk index one */
+    static class RecordingListener {
+        private final List<Long> users = new ArrayList<>();
+
+        @EventListener
+        public void onCourseGradesChanged(CourseGradesChangedEvent event) {
+            users.add(event.getUserId());
+        }
+    }
+
+    @MockitoBean
+    private StudentRiskIndexService riskIndexService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private RecordingListener recordingListener;
+
+    @Test
+    void refreshFailureDoesNotReachThePublisher() {
+        // Published outside a transaction, as DatabaseGradeController does, so the listener runs in the request
+        doThrow(new QueryTimeoutException("lock wait timeout")).when(riskIndexService).refresh(7L);
+
+        assertDoesNotThrow(() -> eventPublisher.publishEvent(new CourseGradesChangedEvent(7L, 3L)));
+
+        verify(riskIndexService).refresh(7L);
+        assertEquals(List.of(7L), recordingListener.users);
+    }
+}
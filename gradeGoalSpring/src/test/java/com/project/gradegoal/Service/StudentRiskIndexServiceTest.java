@@ -0,0 +1,85 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.User;
+import com.project.gradegoal.Repository.CourseRepository;
+import com.project.gradegoal.Repository.StudentRiskIndexRepository;
+import com.project.gradegoal.Repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StudentRiskIndexServiceTest {
+
+    @Mock
+    private StudentRiskIndexRepository riskIndexRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private GpaHistoryService gpaHistoryService;
+
+    @InjectMocks
+    private StudentRiskIndexService riskIndexService;
+
+    @Test
+    void refreshUpsertsRoundedAverageAndTrend() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(student("USER")));
+        when(courseRepository.getCourseGradeSummary(1L)).thenReturn(
+            Collections.singletonList(new Object[] {3L, 2L, 68.456}));
+        when(gpaHistoryService.getCumulativeGpaTrend(1L, 30)).thenReturn(-0.25);
+
+        riskIndexService.refresh(1L);
+
+        verify(riskIndexRepository).upsert(eq(1L), eq(3), eq(new BigDecimal("68.46")), eq(-0.25), any(LocalDateTime.class));
+    }
+
+    @Test
+    void refreshRemovesStudentWithoutGradedCourses() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(student("USER")));
+        when(courseRepository.getCourseGradeSummary(1L)).thenReturn(
+            Collections.singletonList(new Object[] {2L, 0L, null}));
+
+        riskIndexService.refresh(1L);
+
+        verify(riskIndexRepository).deleteById(1L);
+        verify(riskIndexRepository, never()).upsert(anyLong(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void refreshRemovesAdmins() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(student("ADMIN")));
+        when(courseRepository.getCourseGradeSummary(1L)).thenReturn(
+            Collections.singletonList(new Object[] {3L, 3L, 55.0}));
+
+        riskIndexService.refresh(1L);
+
+        verify(riskIndexRepository).deleteById(1L);
+    }
+
+    private User student(String role) {
+        User user = new User();
+        user.setUserId(1L);
+        user.setRole(role);
+        return user;
+    }
+}
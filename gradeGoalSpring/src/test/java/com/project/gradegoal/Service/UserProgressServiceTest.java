@@ -0,0 +1,87 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Entity.PointsLedgerEntry;
+import com.project.gradegoal.Entity.UserProgress;
+import com.project.gradegoal.Repository.PointsLedgerRepository;
+import com.project.gradegoal.Repository.UserProgressRepository;
+import com.project.gradegoal.Repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserProgressServiceTest {
+
+    @Mock
+    private UserProgressRepository userProgressRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PointsLedgerRepository pointsLedgerRepository;
+
+    @InjectMocks
+    private UserProgressService userProgressService;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userProgressRepository.findByUserId(1L)).thenReturn(new UserProgress(1L));
+    }
+
+    @Test
+    void foldRecordsLevelUpBonusInTheLedger() {
+        when(userProgressRepository.advanceLedgerWatermark(1L, 4L, 9L)).thenReturn(1);
+        when(userProgressRepository.findPointsAndLevel(1L)).thenReturn(
+            Collections.singletonList(new Object[] {260, 1}));
+
+        UserProgressService.LevelUpResult result = userProgressService.foldLedgerPoints(1L, 180, 4L, 9L);
+
+        assertTrue(result.isLeveledUp());
+        verify(userProgressRepository).incrementTotalPoints(1L, 180);
+        // 260 points reach level 2; the bonus is not added to the total directly
+        verify(userProgressRepository).updateLevel(1L, 2, 0, 400 - 260);
+        ArgumentCaptor<PointsLedgerEntry> bonus = ArgumentCaptor.forClass(PointsLedgerEntry.class);
+        verify(pointsLedgerRepository).save(bonus.capture());
+        assertEquals("LEVEL_UP_BONUS", bonus.getValue().getActivityType());
+        assertEquals(50, bonus.getValue().getPoints());
+    }
+
+    @Test
+    void foldWithoutLevelUpWritesNoBonus() {
+        when(userProgressRepository.advanceLedgerWatermark(1L, 4L, 9L)).thenReturn(1);
+        when(userProgressRepository.findPointsAndLevel(1L)).thenReturn(
+            Collections.singletonList(new Object[] {120, 1}));
+
+        UserProgressService.LevelUpResult result = userProgressService.foldLedgerPoints(1L, 20, 4L, 9L);
+
+        assertFalse(result.isLeveledUp());
+        verify(pointsLedgerRepository, never()).save(any());
+    }
+
+    @Test
+    void foldIsSkippedWhenWatermarkAlreadyMoved() {
+        when(userProgressRepository.advanceLedgerWatermark(1L, 4L, 9L)).thenReturn(0);
+
+        assertNull(userProgressService.foldLedgerPoints(1L, 180, 4L, 9L));
+        verify(userProgressRepository, never()).incrementTotalPoints(anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,244 @@
+package com.project.gradegoal.Service;
+
+import com.project.gradegoal.Config.NotificationConfig;
+import com.project.gradegoal.Entity.Assessment;
+import com.project.gradegoal.Entity.User;
+import com.project.gradegoal.Repository.UserRepository;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatVirtualThreadsWebServerFactoryCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Throughput and p99 latency of the two execution modes, platform threads and the virtual
+ * threads of the virtual-threads profile (spring.threads.virtual.enabled), at fixed pool sizes:
+ *
+ * - A blocking endpoint on embedded Tomcat, with its default 200 request threads or with
+ *   virtual threads as Spring Boot configures them. Each request blocks for 50 ms, about
+ *   the database and token check time of an API call; 400 clients send 8,000 requests.
+ * - The notification fan-out: one shard of 2,000 users through the notification executor
+ *   at pool sizes 8 (the default) and 64, with each email blocking for 40 ms and each push
+ *   for 20 ms. Latency is the time from the shard start until a user has been sent.
+ *
+ * Excluded from the normal build; run with JDK 21: mvn -Pvirtual-threads,load-test test
+ */
+@Tag("load-test")
+class VirtualThreadLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    private static final long ENDPOINT_BLOCKING_MS = 50;
+    private static final int ENDPOINT_CLIENTS = 400;
+    private static final int ENDPOINT_REQUESTS = 8_000;
+    private static final int ENDPOINT_WARMUP_REQUESTS = 2_000;
+
+    private static final long EMAIL_BLOCKING_MS = 40;
+    private static final long PUSH_BLOCKING_MS = 20;
+    private static final int SHARD_USERS = 2_000;
+    private static final int[] FANOUT_POOL_SIZES = {8, 64};
+
+    private record Result(String scenario, int completed, long elapsedMs, long[] latenciesMs) {
+        double throughput() {
+            return completed * 1000.0 / elapsedMs;
+        }
+
+        long percentile(double p) {
+            long[] sorted = latenciesMs.clone();
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(p * sorted.length) - 1];
+        }
+    }
+
+    @Test
+    void compareExecutionModes() throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[] {false, true}) {
+            results.add(runBlockingEndpoint(virtualThreads));
+        }
+        for (int poolSize : FANOUT_POOL_SIZES) {
+            for (boolean virtualThreads : new boolean[] {false, true}) {
+                results.add(runNotificationFanOut(poolSize, virtualThreads));
+            }
+        }
+
+        StringBuilder report = new StringBuilder(String.format("%n%-44s %12s %8s %8s%n", "scenario", "per second", "p50 ms", "p99 ms"));
+        for (Result result : results) {
+            report.append(String.format("%-44s %12.0f %8d %8d%n",
+                result.scenario(), result.throughput(), result.percentile(0.50), result.percentile(0.99)));
+        }
+        logger.info("📊 Execution mode comparison:{}", report);
+    }
+
+    private Result runBlockingEndpoint(boolean virtualThreads) throws Exception {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        factory.addInitializers(servletContext -> servletContext
+            .addServlet("blocking", new HttpServlet() {
+                @Override
+                protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                    sleep(ENDPOINT_BLOCKING_MS);
+                    response.getWriter().write("ok");
+                }
+            })
+            .addMapping("/blocking"));
+        if (virtualThreads) {
+            new TomcatVirtualThreadsWebServerFactoryCustomizer().customize(factory);
+        }
+        WebServer server = factory.getWebServer();
+        server.start();
+        // Client threads are plain platform threads in both modes so only the server side differs
+        ExecutorService clients = Executors.newFixedThreadPool(ENDPOINT_CLIENTS);
+        try {
+            URL url = URI.create("http://localhost:" + server.getPort() + "/blocking").toURL();
+
+            sendRequests(clients, url, ENDPOINT_WARMUP_REQUESTS);
+            long started = System.nanoTime();
+            long[] latencies = sendRequests(clients, url, ENDPOINT_REQUESTS);
+            long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+            return new Result("endpoint, " + (virtualThreads ? "virtual threads" : "200 platform threads"),
+                ENDPOINT_REQUESTS, elapsedMs, latencies);
+        } finally {
+            clients.shutdown();
+            server.stop();
+        }
+    }
+
+    private long[] sendRequests(ExecutorService clients, URL url, int requests) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int client = 0; client < ENDPOINT_CLIENTS; client++) {
+            workers.add(clients.submit(() -> {
+                for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                    long sent = System.nanoTime();
+                    HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                    assertEquals(200, connection.getResponseCode());
+                    try (InputStream body = connection.getInputStream()) {
+                        body.readAllBytes();
+                    }
+                    latencies[i] = (System.nanoTime() - sent) / 1_000_000;
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        return latencies;
+    }
+
+    private Result runNotificationFanOut(int poolSize, boolean virtualThreads) {
+        NotificationConfig notificationConfig = new NotificationConfig();
+        ReflectionTestUtils.setField(notificationConfig, "poolSize", poolSize);
+        ReflectionTestUtils.setField(notificationConfig, "virtualThreads", virtualThreads);
+        ThreadPoolTaskExecutor executor = notificationConfig.notificationExecutor();
+
+        List<User> users = new ArrayList<>();
+        for (long userId = 1; userId <= SHARD_USERS; userId++) {
+            User user = new User();
+            user.setUserId(userId);
+            user.setEmail("student" + userId + "@example.com");
+            user.setEmailNotificationsEnabled(true);
+            user.setPushNotificationsEnabled(true);
+            users.add(user);
+        }
+        Assessment overdue = new Assessment(1L, "Problem set", null);
+        overdue.setCourseName("Calculus");
+        overdue.setDueDate(LocalDate.now().minusDays(1));
+        overdue.setStatus(Assessment.AssessmentStatus.UPCOMING);
+
+        // Stub-only mocks: the sends are not recorded, so the mocks add no contention of their own
+        UserRepository userRepository = mock(UserRepository.class, withSettings().stubOnly());
+        when(userRepository.findNotifiableUsersInRange(anyLong(), anyLong())).thenReturn(users);
+        AssessmentService assessmentService = mock(AssessmentService.class, withSettings().stubOnly());
+        when(assessmentService.getAssessmentsByUserId(anyLong())).thenReturn(List.of(overdue));
+        EmailNotificationService emailNotificationService = mock(EmailNotificationService.class, withSettings().stubOnly());
+        doAnswer(invocation -> {
+            sleep(EMAIL_BLOCKING_MS);
+            return null;
+        }).when(emailNotificationService).sendOverdueNotification(anyString(), any());
+
+        // Every user is claimed for the day once before being sent
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class, withSettings().stubOnly());
+        when(jdbcTemplate.update(anyString(), anyLong(), any(LocalDate.class))).thenReturn(1);
+
+        // The push is sent last, so its completion is the user's latency
+        AtomicLongArray latencies = new AtomicLongArray(SHARD_USERS);
+        AtomicInteger sent = new AtomicInteger();
+        long[] started = new long[1];
+        PushNotificationService pushNotificationService = mock(PushNotificationService.class, withSettings().stubOnly());
+        when(pushNotificationService.sendNotificationToUser(anyString(), anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            sleep(PUSH_BLOCKING_MS);
+            latencies.set(sent.getAndIncrement(), (System.nanoTime() - started[0]) / 1_000_000);
+            return true;
+        });
+
+        NotificationSchedulerService notificationSchedulerService = new NotificationSchedulerService();
+        ReflectionTestUtils.setField(notificationSchedulerService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(notificationSchedulerService, "assessmentService", assessmentService);
+        ReflectionTestUtils.setField(notificationSchedulerService, "emailNotificationService", emailNotificationService);
+        ReflectionTestUtils.setField(notificationSchedulerService, "pushNotificationService", pushNotificationService);
+        ReflectionTestUtils.setField(notificationSchedulerService, "notificationExecutor", executor);
+        ReflectionTestUtils.setField(notificationSchedulerService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(notificationSchedulerService, "overdueNotificationsEnabled", true);
+        ReflectionTestUtils.setField(notificationSchedulerService, "upcomingNotificationsEnabled", true);
+        ReflectionTestUtils.setField(notificationSchedulerService, "upcomingDaysBefore", 2);
+
+        try {
+            started[0] = System.nanoTime();
+            notificationSchedulerService.sendNotificationsForUserRange(1, SHARD_USERS);
+            long elapsedMs = (System.nanoTime() - started[0]) / 1_000_000;
+
+            assertEquals(SHARD_USERS, sent.get());
+            long[] latenciesMs = new long[SHARD_USERS];
+            for (int i = 0; i < SHARD_USERS; i++) {
+                latenciesMs[i] = latencies.get(i);
+            }
+            return new Result("fan-out pool " + poolSize + ", " + (virtualThreads ? "virtual threads" : "platform threads"),
+                SHARD_USERS, elapsedMs, latenciesMs);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}